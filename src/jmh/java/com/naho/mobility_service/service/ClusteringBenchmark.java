@@ -0,0 +1,58 @@
+package com.naho.mobility_service.service;
+
+import com.naho.mobility_service.domain.MatchingCandidate;
+import com.naho.mobility_service.domain.Region;
+import com.naho.mobility_service.domain.VirtualStopAssignment;
+import com.naho.mobility_service.util.SyntheticRequestGenerator;
+import com.naho.mobility_service.util.SyntheticRequestGenerator.Distribution;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 가상 정류장 클러스터링(GridDbscanClusterer) 벤치마크입니다.
+ * MatchingService.createVirtualStops와 같은 설정(반경 300m, minPoints 1)으로 한 권역의 좌표를 클러스터링합니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ClusteringBenchmark {
+
+    @Param({"100", "1000", "10000", "100000"})
+    private int requestsPerRegion;
+
+    @Param({"UNIFORM", "HOTSPOT", "MULTI_CITY"})
+    private Distribution distribution;
+
+    private final GridDbscanClusterer clusterer = new GridDbscanClusterer(300, 1);
+    private double[] lats;
+    private double[] lngs;
+
+    @Setup
+    public void setUp() {
+        List<MatchingCandidate> candidates = new SyntheticRequestGenerator(42)
+                .generate(Region.DONGTAN, requestsPerRegion, distribution, LocalDateTime.of(2030, 1, 1, 23, 0));
+        lats = candidates.stream().mapToDouble(MatchingCandidate::destLat).toArray();
+        lngs = candidates.stream().mapToDouble(MatchingCandidate::destLng).toArray();
+    }
+
+    @Benchmark
+    public VirtualStopAssignment assignVirtualStops() {
+        return clusterer.assignVirtualStops(lats, lngs, 0, lats.length);
+    }
+}
@@ -0,0 +1,54 @@
+package com.naho.mobility_service.service;
+
+import com.naho.mobility_service.domain.MatchingCandidate;
+import com.naho.mobility_service.domain.MatchingWindowSnapshot;
+import com.naho.mobility_service.domain.Region;
+import com.naho.mobility_service.util.SyntheticRequestGenerator;
+import com.naho.mobility_service.util.SyntheticRequestGenerator.Distribution;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 그룹의 최종 출발 시간 계산(MatchingService.calculateFinalDepartureTime) 벤치마크입니다.
+ * 출발 시간은 좌표와 무관하므로 분포는 균일 분포 하나만 사용합니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DepartureTimeBenchmark {
+
+    @Param({"100", "1000", "10000", "100000"})
+    private int requestsPerRegion;
+
+    private MatchingWindowSnapshot snapshot;
+
+    @Setup
+    public void setUp() {
+        List<MatchingCandidate> candidates = new SyntheticRequestGenerator(42)
+                .generate(Region.DONGTAN, requestsPerRegion, Distribution.UNIFORM, LocalDateTime.of(2030, 1, 1, 23, 0));
+        MatchingWindowSnapshot.Builder builder = MatchingWindowSnapshot.builder(candidates.size());
+        candidates.forEach(builder::add);
+        snapshot = builder.build();
+    }
+
+    @Benchmark
+    public LocalDateTime calculateFinalDepartureTime() {
+        return MatchingService.calculateFinalDepartureTime(snapshot, 0, snapshot.size());
+    }
+}
@@ -0,0 +1,108 @@
+package com.naho.mobility_service.service;
+
+import com.naho.mobility_service.MobilityServiceApplication;
+import com.naho.mobility_service.domain.MatchingCandidate;
+import com.naho.mobility_service.domain.Region;
+import com.naho.mobility_service.domain.RideRequest;
+import com.naho.mobility_service.dto.RegionMatchResult;
+import com.naho.mobility_service.repository.MatchedGroupRepository;
+import com.naho.mobility_service.repository.RideRequestRepository;
+import com.naho.mobility_service.util.SyntheticRequestGenerator;
+import com.naho.mobility_service.util.SyntheticRequestGenerator.Distribution;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 매칭 전체 흐름(runConsolidatedMatching) 벤치마크입니다.
+ * 인메모리 H2를 사용하는 애플리케이션 컨텍스트를 띄우고, 매 측정 전에 모든 권역에 합성 요청을 새로 저장합니다.
+ * 매칭은 요청을 소모하므로 한 번 실행을 한 번 측정하는 SingleShotTime 모드를 사용합니다. (데이터 준비 시간은 측정에서 제외)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class MatchingEndToEndBenchmark {
+
+    private static final int SAVE_CHUNK_SIZE = 5000;
+
+    @Param({"100", "1000", "10000", "100000"})
+    private int requestsPerRegion;
+
+    @Param({"UNIFORM", "HOTSPOT", "MULTI_CITY"})
+    private Distribution distribution;
+
+    private ConfigurableApplicationContext context;
+    private MatchingService matchingService;
+    private RideRequestRepository rideRequestRepository;
+    private MatchedGroupRepository matchedGroupRepository;
+    private PendingRequestIndex pendingRequestIndex;
+    private LocalDateTime centralTime;
+
+    @Setup(Level.Trial)
+    public void startContext() {
+        context = new SpringApplicationBuilder(MobilityServiceApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:matching-benchmark;DB_CLOSE_DELAY=-1",
+                        "spring.jpa.hibernate.ddl-auto=create-drop",
+                        "mobility-app.matching.cron=-", // 측정 중에 스케줄러가 끼어들지 않도록
+                        "logging.level.com.naho.mobility_service=WARN")
+                .run();
+        matchingService = context.getBean(MatchingService.class);
+        rideRequestRepository = context.getBean(RideRequestRepository.class);
+        matchedGroupRepository = context.getBean(MatchedGroupRepository.class);
+        pendingRequestIndex = context.getBean(PendingRequestIndex.class);
+    }
+
+    @Setup(Level.Iteration)
+    public void seed() {
+        // 1. 이전 측정 결과 정리 (요청이 그룹을 참조하므로 요청부터 삭제)
+        rideRequestRepository.deleteAllInBatch();
+        matchedGroupRepository.deleteAll();
+
+        // 2. 모든 권역에 같은 분포로 합성 요청 저장
+        centralTime = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS).plusHours(3);
+        SyntheticRequestGenerator generator = new SyntheticRequestGenerator(42);
+        for (Region region : Region.values()) {
+            List<MatchingCandidate> candidates = generator.generate(region, requestsPerRegion, distribution, centralTime);
+            List<RideRequest> requests = SyntheticRequestGenerator.toRideRequests(candidates);
+            for (int from = 0; from < requests.size(); from += SAVE_CHUNK_SIZE) {
+                rideRequestRepository.saveAll(requests.subList(from, Math.min(from + SAVE_CHUNK_SIZE, requests.size())));
+            }
+        }
+
+        // 3. 매칭 후보 인덱스를 DB와 맞춤
+        pendingRequestIndex.rebuild();
+    }
+
+    @Benchmark
+    public List<RegionMatchResult> runConsolidatedMatching() {
+        return matchingService.runConsolidatedMatching(centralTime);
+    }
+
+    @TearDown(Level.Trial)
+    public void closeContext() {
+        context.close();
+    }
+}
@@ -0,0 +1,57 @@
+package com.naho.mobility_service.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.naho.mobility_service.domain.RegionZone;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.ClassPathResource;
+
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 좌표 → 권역 조회(RegionResolver.locate) 벤치마크입니다.
+ * 서비스 영역(regions.geojson)을 덮는 사각형 안의 임의 좌표를 미리 만들어 두고 차례로 조회합니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.AverageTime, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RegionLookupBenchmark {
+
+    private static final int POINTS = 1 << 16;
+
+    private RegionResolver resolver;
+    private double[] lats;
+    private double[] lngs;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        resolver = new RegionResolver(new ClassPathResource("regions.geojson"), new ObjectMapper(), false, 0.01);
+        Random random = new Random(3);
+        lats = new double[POINTS];
+        lngs = new double[POINTS];
+        for (int i = 0; i < POINTS; i++) {
+            lats[i] = 37.0 + random.nextDouble() * 0.8;
+            lngs[i] = 126.5 + random.nextDouble() * 0.9;
+        }
+    }
+
+    @Benchmark
+    public Optional<RegionZone> locate() {
+        int i = next++ & (POINTS - 1);
+        return resolver.locate(lats[i], lngs[i]);
+    }
+}
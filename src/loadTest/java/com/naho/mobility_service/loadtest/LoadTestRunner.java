@@ -0,0 +1,163 @@
+package com.naho.mobility_service.loadtest;
+
+import com.naho.mobility_service.MobilityServiceApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * POST /api/requests 부하 테스트 실행기입니다. (./gradlew loadTest)
+ * 로컬 네이버 지오코딩 스텁과 애플리케이션을 함께 띄운 뒤, 동시 사용자 수만큼의 가상 스레드가 쉬지 않고 요청을 보냅니다.
+ * 워밍업 이후 구간의 응답 시간으로 p50/p90/p99와 초당 처리량(req/s)을 출력합니다.
+ *
+ * 설정 (Gradle 프로퍼티로 전달, 예: ./gradlew loadTest -Ploadtest.concurrency=128)
+ * - loadtest.concurrency: 동시 사용자 수 (기본 64)
+ * - loadtest.duration-seconds / loadtest.warmup-seconds: 측정 / 워밍업 시간 (기본 30 / 5)
+ * - loadtest.address-pool: 서로 다른 주소의 개수, 작을수록 지오코딩 캐시 적중률이 높아짐 (기본 5000)
+ * - loadtest.stub-latency-ms: 스텁 지오코딩 응답 지연 (기본 20)
+ * - loadtest.target: 이미 실행 중인 서버 주소 (지정하면 애플리케이션을 직접 띄우지 않음)
+ */
+public class LoadTestRunner {
+
+    public static void main(String[] args) throws Exception {
+        int concurrency = Integer.getInteger("loadtest.concurrency", 64);
+        long durationSeconds = Long.getLong("loadtest.duration-seconds", 30);
+        long warmupSeconds = Long.getLong("loadtest.warmup-seconds", 5);
+        int addressPool = Integer.getInteger("loadtest.address-pool", 5000);
+        long stubLatencyMillis = Long.getLong("loadtest.stub-latency-ms", 20);
+        String target = System.getProperty("loadtest.target", "");
+
+        try (NaverGeocodeStub stub = new NaverGeocodeStub(stubLatencyMillis)) {
+            ConfigurableApplicationContext context = null;
+            if (target.isBlank()) {
+                // 1. 스텁을 바라보는 애플리케이션을 임의 포트로 실행
+                context = new SpringApplicationBuilder(MobilityServiceApplication.class)
+                        .properties(
+                                "server.port=0",
+                                "naver.api.base-url=" + stub.baseUrl(),
+                                "mobility-app.matching.cron=-")
+                        .run();
+                target = "http://127.0.0.1:" + context.getEnvironment().getProperty("local.server.port");
+            }
+            try {
+                Result result = run(URI.create(target + "/api/requests"), concurrency, warmupSeconds, durationSeconds, addressPool);
+                result.print(concurrency, durationSeconds);
+            } finally {
+                if (context != null) {
+                    context.close();
+                }
+            }
+        }
+    }
+
+    private static Result run(URI uri, int concurrency, long warmupSeconds, long durationSeconds, int addressPool) throws InterruptedException {
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        LocalDateTime centralTime = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS).plusHours(3);
+
+        long startNanos = System.nanoTime();
+        long measureFromNanos = startNanos + TimeUnit.SECONDS.toNanos(warmupSeconds);
+        long endNanos = measureFromNanos + TimeUnit.SECONDS.toNanos(durationSeconds);
+        AtomicLong errors = new AtomicLong();
+        List<long[]> latencies = new ArrayList<>(concurrency);
+        List<Thread> workers = new ArrayList<>(concurrency);
+
+        // 2. 사용자마다 가상 스레드 하나: 응답을 받으면 바로 다음 요청 (closed-loop)
+        for (int i = 0; i < concurrency; i++) {
+            LatencyRecorder recorder = new LatencyRecorder();
+            workers.add(Thread.ofVirtual().name("loadtest-" + i).start(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                while (System.nanoTime() < endNanos) {
+                    HttpRequest request = HttpRequest.newBuilder(uri)
+                            .header("Content-Type", "application/json")
+                            .POST(HttpRequest.BodyPublishers.ofString(body(random, centralTime, addressPool)))
+                            .build();
+                    long sentNanos = System.nanoTime();
+                    boolean ok;
+                    try {
+                        ok = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 201;
+                    } catch (Exception e) {
+                        ok = false;
+                    }
+                    long receivedNanos = System.nanoTime();
+                    if (sentNanos < measureFromNanos || receivedNanos > endNanos) {
+                        continue; // 워밍업 중이거나 측정 구간을 넘어선 요청은 집계하지 않음
+                    }
+                    if (ok) {
+                        recorder.record(receivedNanos - sentNanos);
+                    } else {
+                        errors.incrementAndGet();
+                    }
+                }
+                synchronized (latencies) {
+                    latencies.add(recorder.toArray());
+                }
+            }));
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        // 3. 모든 사용자의 응답 시간을 합쳐 정렬
+        long[] all = latencies.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+        return new Result(all, errors.get());
+    }
+
+    // 스텁 좌표는 주소 해시로 정해지므로 권역은 보내지 않고 서버가 좌표로 결정하게 함
+    private static String body(ThreadLocalRandom random, LocalDateTime centralTime, int addressPool) {
+        LocalDateTime requestedTime = centralTime.plusMinutes(random.nextInt(-30, 31));
+        String address = "부하테스트로 " + random.nextInt(addressPool);
+        return "{\"destinationAddess\":\"" + address + "\",\"requestedTime\":\"" + requestedTime + "\"}";
+    }
+
+    // 사용자(스레드)별 응답 시간 기록 (스레드 간 공유하지 않으므로 동기화가 필요 없음)
+    private static final class LatencyRecorder {
+        private long[] values = new long[1024];
+        private int size;
+
+        void record(long nanos) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = nanos;
+        }
+
+        long[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+
+    private record Result(long[] sortedLatencies, long errors) {
+
+        void print(int concurrency, long durationSeconds) {
+            System.out.println("===== POST /api/requests 부하 테스트 결과 =====");
+            System.out.printf("동시 사용자: %d, 측정 시간: %ds%n", concurrency, durationSeconds);
+            System.out.printf("성공: %d건, 실패: %d건%n", sortedLatencies.length, errors);
+            System.out.printf("처리량: %.1f req/s%n", sortedLatencies.length / (double) durationSeconds);
+            if (sortedLatencies.length > 0) {
+                System.out.printf("p50: %.2fms, p90: %.2fms, p99: %.2fms, max: %.2fms%n",
+                        percentile(0.50), percentile(0.90), percentile(0.99), sortedLatencies[sortedLatencies.length - 1] / 1e6);
+            }
+        }
+
+        private double percentile(double p) {
+            int index = (int) Math.ceil(p * sortedLatencies.length) - 1;
+            return sortedLatencies[Math.max(0, index)] / 1e6;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.naho.mobility_service.loadtest;
+
+import com.naho.mobility_service.MobilityServiceApplication;
+import com.naho.mobility_service.dto.ReplayReport;
+import com.naho.mobility_service.service.MatchingReplayService;
+import com.naho.mobility_service.util.RideRequestEventLog;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 과거 수요 리플레이입니다. (./gradlew replay -Preplay.log=...)
+ * 설정(configuration)마다 replay 프로필로 애플리케이션 컨텍스트를 새로 띄우고(웹 서버 없음, 새 인메모리 DB),
+ * 같은 이벤트 로그를 시뮬레이션 시각으로 흘려보내 매칭 결과를 비교합니다.
+ *
+ * 설정 (Gradle 프로퍼티로 전달)
+ * - replay.log: 이벤트 로그 경로 (바이너리 또는 CSV, RideRequestEventLog 참고)
+ * - replay.configs: ';'로 구분한 설정 목록, 설정마다 ','로 구분한 key=value
+ *   (점이 없는 key는 mobility-app.matching. 아래 프로퍼티, 빈 설정은 기본값)
+ *   예) -Preplay.configs="minimum-passengers=6;minimum-passengers=4,cluster-epsilon-meters=200;window-width=90m"
+ * - replay.interval: 매칭 실행 간격 (기본 1h), replay.speed: 배속 (기본 0 = 최대한 빠르게)
+ * - replay.convert: 경로를 주면 리플레이 대신 replay.log(CSV)를 이 경로의 바이너리 로그로 변환
+ */
+public class MatchingReplayRunner {
+
+    private static final String MATCHING_PREFIX = "mobility-app.matching.";
+
+    public static void main(String[] args) {
+        Path logPath = Path.of(required("replay.log"));
+        String convert = System.getProperty("replay.convert");
+        if (convert != null && !convert.isBlank()) {
+            convert(logPath, Path.of(convert));
+            return;
+        }
+
+        List<String> configs = List.of(System.getProperty("replay.configs", "").split(";", -1));
+        List<ReplayReport> reports = new ArrayList<>(configs.size());
+        for (int i = 0; i < configs.size(); i++) {
+            reports.add(replay(logPath, i, configs.get(i).trim()));
+        }
+
+        System.out.printf("%n%-50s %9s %7s %8s %9s %8s %8s %7s %11s %10s%n", "configuration", "events", "match%",
+                "canceled", "unmatched", "vehicles", "stops", "pax/veh", "matching ms", "cand/s");
+        for (int i = 0; i < configs.size(); i++) {
+            ReplayReport report = reports.get(i);
+            System.out.printf("%-50s %9d %6.1f%% %8d %9d %8d %8d %7.1f %11d %10.0f%n",
+                    configs.get(i).isBlank() ? "(default)" : configs.get(i).trim(), report.events(),
+                    report.matchRate() * 100, report.canceled(), report.unmatched(), report.vehicles(), report.stops(),
+                    report.passengersPerVehicle(), report.matchingMillis(), report.candidatesPerSecond());
+        }
+    }
+
+    private static ReplayReport replay(Path logPath, int index, String config) {
+        List<String> arguments = new ArrayList<>();
+        // 명령행 인자는 환경 변수보다 우선하므로, 운영 DB 설정이 환경에 있어도 인메모리 DB를 사용
+        arguments.add("--spring.datasource.url=jdbc:h2:mem:replay-" + index + ";DB_CLOSE_DELAY=-1");
+        arguments.add("--mobility-app.replay.matching-interval=" + System.getProperty("replay.interval", "1h"));
+        arguments.add("--mobility-app.replay.speed=" + System.getProperty("replay.speed", "0"));
+        for (String entry : config.split(",")) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            int equals = entry.indexOf('=');
+            if (equals < 0) {
+                throw new IllegalArgumentException("설정은 key=value 형식이어야 합니다: " + entry);
+            }
+            String key = entry.substring(0, equals).trim();
+            arguments.add("--" + (key.contains(".") ? key : MATCHING_PREFIX + key) + "=" + entry.substring(equals + 1).trim());
+        }
+
+        System.out.printf("리플레이 시작 [%s]%n", config.isBlank() ? "(default)" : config);
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(MobilityServiceApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("replay")
+                .run(arguments.toArray(String[]::new))) {
+            ReplayReport report = context.getBean(MatchingReplayService.class).replay(logPath);
+            System.out.printf("리플레이 완료 [%s]: %s%n", config.isBlank() ? "(default)" : config, report);
+            return report;
+        }
+    }
+
+    private static void convert(Path csv, Path binary) {
+        long count = 0;
+        try (RideRequestEventLog in = RideRequestEventLog.open(csv);
+             RideRequestEventLog.Writer out = RideRequestEventLog.writer(binary)) {
+            while (in.hasNext()) {
+                out.append(in.next());
+                count++;
+            }
+        }
+        System.out.printf("이벤트 %d건을 바이너리 로그로 변환했습니다: %s%n", count, binary);
+    }
+
+    private static String required(String key) {
+        String value = System.getProperty(key);
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("시스템 프로퍼티가 필요합니다: " + key + " (./gradlew replay로 실행하세요)");
+        }
+        return value;
+    }
+}
@@ -0,0 +1,79 @@
+package com.naho.mobility_service.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 네이버 지오코딩 API(/map-geocode/v2/geocode)를 흉내 내는 로컬 스텁 서버입니다.
+ * 주소 문자열의 해시로 수도권 범위 안의 좌표를 항상 같게 돌려주고, 실제 API처럼 응답을 일정 시간 지연시킵니다.
+ */
+public class NaverGeocodeStub implements AutoCloseable {
+
+    private static final double BASE_LAT = 37.20;
+    private static final double BASE_LNG = 126.70;
+    private static final double SPAN_DEGREES = 0.50;
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final long latencyMillis;
+
+    public NaverGeocodeStub(long latencyMillis) throws IOException {
+        this.latencyMillis = latencyMillis;
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 1024);
+        this.server.createContext("/map-geocode/v2/geocode", this::handle);
+        this.server.setExecutor(executor);
+        this.server.start();
+    }
+
+    public String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String query = queryParam(exchange.getRequestURI().getRawQuery());
+            if (latencyMillis > 0) {
+                Thread.sleep(latencyMillis);
+            }
+            // 주소마다 고정된 좌표 (같은 주소는 항상 같은 결과)
+            int hash = query.hashCode();
+            double lat = BASE_LAT + ((hash & 0xFFFF) / 65535.0) * SPAN_DEGREES;
+            double lng = BASE_LNG + (((hash >>> 16) & 0xFFFF) / 65535.0) * SPAN_DEGREES;
+            byte[] body = ("{\"status\":\"OK\",\"addresses\":[{\"x\":\"" + lng + "\",\"y\":\"" + lat + "\"}]}")
+                    .getBytes(StandardCharsets.UTF_8);
+
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static String queryParam(String rawQuery) {
+        if (rawQuery != null) {
+            for (String pair : rawQuery.split("&")) {
+                if (pair.startsWith("query=")) {
+                    return URLDecoder.decode(pair.substring("query=".length()), StandardCharsets.UTF_8);
+                }
+            }
+        }
+        return "";
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
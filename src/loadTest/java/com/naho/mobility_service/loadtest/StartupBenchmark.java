@@ -0,0 +1,133 @@
+package com.naho.mobility_service.loadtest;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 시작 시간 벤치마크입니다. (./gradlew startupBenchmark)
+ * 실행 방식(mode)마다 bootJar를 새 JVM 프로세스로 여러 번 띄우고,
+ * 프로세스를 시작한 순간부터 첫 HTTP 요청에 응답할 때까지의 시간(time to first served request)을 잽니다.
+ *
+ * 실행 방식
+ * - default: 기본 설정 (샘플 데이터 적재, 모든 빈을 시작 시 생성)
+ * - fast-start: fast-start 프로필 (샘플 데이터 생략, 지연 생성, 백그라운드 워밍업)
+ * - fast-start-aot: fast-start + AOT 처리된 빈 정의 사용 (-Dspring.aot.enabled=true)
+ * - fast-start-cds: fast-start + CDS 아카이브 사용 (먼저 ./gradlew cdsArchive 실행 필요)
+ *
+ * 설정 (Gradle 프로퍼티로 전달, 예: ./gradlew startupBenchmark -Pstartup.iterations=10)
+ * - startup.modes: 쉼표로 구분한 실행 방식 (기본: 위 네 가지 모두)
+ * - startup.iterations: 방식마다 반복 횟수 (기본 5)
+ * - startup.path: 첫 요청 경로 (기본 /api/requests/0, 5xx가 아닌 응답이면 처리된 것으로 봄)
+ */
+public class StartupBenchmark {
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(2);
+    private static final long POLL_INTERVAL_MILLIS = 5;
+
+    public static void main(String[] args) throws Exception {
+        Path jar = Path.of(required("startup.jar"));
+        Path cdsDir = Path.of(required("startup.cds-dir"));
+        String java = System.getProperty("startup.java", Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        List<String> modes = Arrays.asList(System.getProperty("startup.modes", "default,fast-start,fast-start-aot,fast-start-cds").split(","));
+        int iterations = Integer.getInteger("startup.iterations", 5);
+        String path = System.getProperty("startup.path", "/api/requests/0");
+        Path logDir = Files.createDirectories(Path.of(System.getProperty("startup.log-dir", "build/reports/startup")));
+
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofMillis(200)).build();
+        System.out.printf("%-16s %8s %8s %8s  (time to first served request, ms)%n", "mode", "min", "median", "max");
+        for (String mode : modes) {
+            List<String> command = command(mode.trim(), java, jar, cdsDir);
+            if (command == null) {
+                continue;
+            }
+            long[] millis = new long[iterations];
+            for (int i = 0; i < iterations; i++) {
+                millis[i] = measure(client, command, path, logDir.resolve(mode.trim() + "-" + i + ".log"));
+            }
+            Arrays.sort(millis);
+            System.out.printf("%-16s %8d %8d %8d%n", mode.trim(), millis[0], millis[iterations / 2], millis[iterations - 1]);
+        }
+    }
+
+    // 실행 방식별 JVM 명령 (포트 등 공통 인자는 measure에서 덧붙임)
+    private static List<String> command(String mode, String java, Path jar, Path cdsDir) throws IOException {
+        List<String> command = new ArrayList<>(List.of(java));
+        switch (mode) {
+            case "default" -> command.addAll(List.of("-jar", jar.toString()));
+            case "fast-start" -> command.addAll(List.of("-jar", jar.toString(), "--spring.profiles.active=fast-start"));
+            case "fast-start-aot" -> command.addAll(List.of("-Dspring.aot.enabled=true", "-jar", jar.toString(),
+                    "--spring.profiles.active=fast-start"));
+            case "fast-start-cds" -> {
+                Path archive = cdsDir.resolve("application.jsa");
+                Path extractedJar = cdsDir.resolve(jar.getFileName());
+                if (!Files.exists(archive) || !Files.exists(extractedJar)) {
+                    System.out.printf("%-16s CDS 아카이브가 없습니다. 먼저 ./gradlew cdsArchive를 실행하세요. (%s)%n", mode, archive);
+                    return null;
+                }
+                command.addAll(List.of("-XX:SharedArchiveFile=" + archive, "-jar", extractedJar.toString(),
+                        "--spring.profiles.active=fast-start"));
+            }
+            default -> throw new IllegalArgumentException("알 수 없는 실행 방식입니다: " + mode);
+        }
+        return command;
+    }
+
+    private static long measure(HttpClient client, List<String> baseCommand, String path, Path log) throws Exception {
+        int port = freePort();
+        List<String> command = new ArrayList<>(baseCommand);
+        command.add("--server.port=" + port);
+        command.add("--mobility-app.matching.cron=-"); // 측정 중에 매칭이 끼어들지 않도록
+
+        URI uri = URI.create("http://127.0.0.1:" + port + path);
+        long startNanos = System.nanoTime();
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(log.toFile()).start();
+        try {
+            long deadline = startNanos + STARTUP_TIMEOUT.toNanos();
+            while (System.nanoTime() < deadline) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("애플리케이션이 시작 중에 종료되었습니다. 로그: " + log);
+                }
+                try {
+                    int status = client.send(HttpRequest.newBuilder(uri).GET().build(), HttpResponse.BodyHandlers.discarding()).statusCode();
+                    if (status < 500) {
+                        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+                    }
+                } catch (IOException e) {
+                    // 아직 포트가 열리지 않음
+                }
+                Thread.sleep(POLL_INTERVAL_MILLIS);
+            }
+            throw new IllegalStateException(STARTUP_TIMEOUT + " 안에 첫 요청에 응답하지 못했습니다. 로그: " + log);
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static String required(String key) {
+        String value = System.getProperty(key);
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("시스템 프로퍼티가 필요합니다: " + key + " (./gradlew startupBenchmark로 실행하세요)");
+        }
+        return value;
+    }
+}
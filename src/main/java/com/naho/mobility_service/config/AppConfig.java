@@ -1,13 +1,63 @@
 package com.naho.mobility_service.config;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.core.MethodIntrospector;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 @Configuration
 public class AppConfig {
+
+    /**
+     * 빠른 시작 프로필(spring.main.lazy-initialization=true)에서도 @Scheduled 메서드가 있는 빈은 시작 시 만듭니다.
+     * 지연 생성된 빈의 스케줄은 등록되지 않아서 매칭/하트비트가 실행되지 않기 때문입니다.
+     */
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public static LazyInitializationExcludeFilter scheduledBeansExcludeFilter() {
+        return (beanName, beanDefinition, beanType) -> beanType != null && !MethodIntrospector.selectMethods(beanType,
+                (MethodIntrospector.MetadataLookup<Scheduled>) method ->
+                        AnnotatedElementUtils.findMergedAnnotation(method, Scheduled.class)).isEmpty();
+    }
+
+    /**
+     * 권역별 매칭을 병렬로 실행하는 고정 크기 스레드 풀입니다.
+     * 클러스터링은 CPU 작업이므로 기본 크기는 CPU 코어 수로 제한합니다.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService matchingExecutor(@Value("${mobility-app.matching.parallelism:0}") int parallelism) {
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        return Executors.newFixedThreadPool(threads, Thread.ofPlatform().name("matching-", 0).factory());
+    }
+
+    /**
+     * 클러스터 모드에서 takeover-delay 뒤에 다른 노드의 권역을 넘겨받는 작업을 실행하는 가상 스레드 실행기입니다.
+     * 기다리는 동안 @Scheduled 스레드나 매칭 스레드 풀을 잡고 있지 않도록 넘겨받기는 여기서 처리합니다.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService takeoverExecutor() {
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("takeover-", 0).factory());
+    }
+
+    /**
+     * 지오코딩 API 호출(블로킹 I/O)을 실행하는 가상 스레드 실행기입니다.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService geocodeExecutor() {
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("geocode-", 0).factory());
+    }
+
+    /**
+     * 매칭 결과 알림(SSE 전송)을 실행하는 가상 스레드 실행기입니다.
+     * 느린 클라이언트에 쓰는 동안 매칭 스레드가 막히지 않도록 전송은 여기서 처리합니다.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService notificationExecutor() {
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("notification-", 0).factory());
     }
 }
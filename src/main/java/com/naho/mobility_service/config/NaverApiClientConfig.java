@@ -0,0 +1,133 @@
+package com.naho.mobility_service.config;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.core.IntervalFunction;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedRetryMetrics;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * 네이버 지오코딩 API 호출에 사용하는 HTTP 클라이언트와 장애 대응 설정입니다.
+ * - 커넥션 풀(keep-alive)을 사용하는 Apache HttpClient 5, 연결/풀 대기/응답 타임아웃
+ * - bulkhead: 동시에 API를 호출하는 수를 제한 (초과하면 max-wait 동안만 기다림)
+ * - retry: 네트워크 오류, 5xx, 429에만 지수 백오프 + 무작위 지연(jitter)으로 재시도
+ * - circuit breaker: 실패/느린 호출 비율이 임계값을 넘으면 일정 시간 호출하지 않고 바로 실패
+ */
+@Configuration
+public class NaverApiClientConfig {
+
+    // 재시도와 서킷 브레이커가 실패로 보는 오류: 연결/타임아웃 오류, 서버 오류, 호출 한도 초과
+    static final Predicate<Throwable> TRANSIENT_FAILURE = e -> e instanceof ResourceAccessException
+            || e instanceof HttpServerErrorException
+            || e instanceof HttpClientErrorException.TooManyRequests;
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient naverHttpClient(
+            @Value("${mobility-app.geocode.http.max-connections:64}") int maxConnections,
+            @Value("${mobility-app.geocode.http.connect-timeout:1s}") Duration connectTimeout,
+            @Value("${mobility-app.geocode.http.read-timeout:2s}") Duration readTimeout,
+            @Value("${mobility-app.geocode.http.pool-timeout:500ms}") Duration poolTimeout,
+            @Value("${mobility-app.geocode.http.idle-timeout:30s}") Duration idleTimeout) {
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxConnections) // 호출 대상이 네이버 한 곳뿐
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.of(connectTimeout))
+                        .setSocketTimeout(Timeout.of(readTimeout))
+                        .build())
+                .build();
+        return HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.of(poolTimeout)) // 풀에서 커넥션을 기다리는 최대 시간
+                        .setResponseTimeout(Timeout.of(readTimeout))
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.of(idleTimeout))
+                .disableAutomaticRetries() // 재시도는 아래 Retry에서만 (이중 재시도 방지)
+                .build();
+    }
+
+    @Bean
+    public RestTemplate restTemplate(CloseableHttpClient naverHttpClient) {
+        return new RestTemplate(new HttpComponentsClientHttpRequestFactory(naverHttpClient));
+    }
+
+    @Bean
+    public Bulkhead naverApiBulkhead(
+            MeterRegistry meterRegistry,
+            @Value("${mobility-app.geocode.bulkhead.max-concurrent-calls:32}") int maxConcurrentCalls,
+            @Value("${mobility-app.geocode.bulkhead.max-wait:100ms}") Duration maxWait) {
+        Bulkhead bulkhead = Bulkhead.of("naver-geocode", BulkheadConfig.custom()
+                .maxConcurrentCalls(maxConcurrentCalls)
+                .maxWaitDuration(maxWait)
+                .build());
+        TaggedBulkheadMetrics.ofIterable(List.of(bulkhead)).bindTo(meterRegistry);
+        return bulkhead;
+    }
+
+    @Bean
+    public Retry naverApiRetry(
+            MeterRegistry meterRegistry,
+            @Value("${mobility-app.geocode.retry.max-attempts:3}") int maxAttempts,
+            @Value("${mobility-app.geocode.retry.initial-backoff:100ms}") Duration initialBackoff,
+            @Value("${mobility-app.geocode.retry.multiplier:2.0}") double multiplier,
+            @Value("${mobility-app.geocode.retry.jitter:0.5}") double jitter) {
+        Retry retry = Retry.of("naver-geocode", RetryConfig.custom()
+                .maxAttempts(maxAttempts)
+                .intervalFunction(IntervalFunction.ofExponentialRandomBackoff(initialBackoff, multiplier, jitter))
+                .retryOnException(TRANSIENT_FAILURE) // 서킷이 열렸거나 bulkhead가 가득 찬 경우는 재시도하지 않음
+                .build());
+        TaggedRetryMetrics.ofIterable(List.of(retry)).bindTo(meterRegistry);
+        return retry;
+    }
+
+    @Bean
+    public CircuitBreaker naverApiCircuitBreaker(
+            MeterRegistry meterRegistry,
+            @Value("${mobility-app.geocode.circuit-breaker.failure-rate-threshold:50}") float failureRateThreshold,
+            @Value("${mobility-app.geocode.circuit-breaker.slow-call-threshold:1500ms}") Duration slowCallThreshold,
+            @Value("${mobility-app.geocode.circuit-breaker.sliding-window-size:50}") int slidingWindowSize,
+            @Value("${mobility-app.geocode.circuit-breaker.minimum-calls:20}") int minimumCalls,
+            @Value("${mobility-app.geocode.circuit-breaker.open-duration:10s}") Duration openDuration) {
+        CircuitBreaker circuitBreaker = CircuitBreaker.of("naver-geocode", CircuitBreakerConfig.custom()
+                .slidingWindowType(CircuitBreakerConfig.SlidingWindowType.COUNT_BASED)
+                .slidingWindowSize(slidingWindowSize)
+                .minimumNumberOfCalls(minimumCalls)
+                .failureRateThreshold(failureRateThreshold)
+                .slowCallRateThreshold(failureRateThreshold)
+                .slowCallDurationThreshold(slowCallThreshold)
+                .waitDurationInOpenState(openDuration)
+                .permittedNumberOfCallsInHalfOpenState(Math.max(1, minimumCalls / 4))
+                .recordException(TRANSIENT_FAILURE) // 4xx(잘못된 키/주소 등)는 네이버 장애가 아니므로 제외
+                .build());
+        TaggedCircuitBreakerMetrics.ofIterable(List.of(circuitBreaker)).bindTo(meterRegistry);
+        return circuitBreaker;
+    }
+}
@@ -0,0 +1,33 @@
+package com.naho.mobility_service.controller;
+
+import com.naho.mobility_service.dto.MatchedGroupDto;
+import com.naho.mobility_service.service.RideQueryService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/groups")
+@RequiredArgsConstructor
+public class MatchedGroupController {
+
+    private final RideQueryService rideQueryService;
+
+    /**
+     * 매칭된 그룹(차량 한 대)의 출발 시간, 방문 순서대로의 정류장, 정류장별 탑승 요청을 조회합니다.
+     * 응답에 ETag가 붙고, If-None-Match가 같으면 본문 없이 304 (Not Modified)를 반환합니다.
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<MatchedGroupDto> getGroup(@PathVariable Long id){
+        return rideQueryService.findGroup(id)
+                .map(group -> ResponseEntity.ok()
+                        .eTag(group.etag())
+                        .cacheControl(CacheControl.noCache()) // 저장은 하되 매번 ETag로 재검증
+                        .body(group))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+}
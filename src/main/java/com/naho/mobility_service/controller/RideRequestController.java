@@ -1,11 +1,25 @@
 package com.naho.mobility_service.controller;
 
+import com.naho.mobility_service.dto.BulkIngestionResultDto;
+import com.naho.mobility_service.dto.IngestionStatusDto;
 import com.naho.mobility_service.dto.RideRequestDto;
+import com.naho.mobility_service.dto.RideRequestStatusDto;
+import com.naho.mobility_service.service.MatchNotificationService;
+import com.naho.mobility_service.service.RideQueryService;
+import com.naho.mobility_service.service.RideRequestBatchService;
+import com.naho.mobility_service.service.RideRequestIngestionService;
 import com.naho.mobility_service.service.RideRequestService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.InputStream;
+import java.net.URI;
 
 @RestController
 @RequestMapping("/api/requests")
@@ -13,6 +27,10 @@ import org.springframework.web.bind.annotation.*;
 public class RideRequestController {
 
     private final RideRequestService rideRequestService;
+    private final RideRequestIngestionService ingestionService;
+    private final RideQueryService rideQueryService;
+    private final MatchNotificationService matchNotificationService;
+    private final RideRequestBatchService rideRequestBatchService;
 
     /**
      * 새로운 탑승 요청을 생성하는 API 엔드포인트입니다.
@@ -26,4 +44,66 @@ public class RideRequestController {
 
         return ResponseEntity.status(HttpStatus.CREATED).build();
     }
+
+    /**
+     * 탑승 요청을 비동기로 접수하는 API 엔드포인트입니다.
+     * 지오코딩과 저장은 백그라운드에서 처리되고, 바로 202 (Accepted)와 trackingId를 반환합니다.
+     * 접수 큐가 가득 차면 429 (Too Many Requests)를 반환하므로 잠시 후 다시 시도해야 합니다.
+     */
+    @PostMapping("/async")
+    public ResponseEntity<IngestionStatusDto> createRideRequestAsync(@RequestBody RideRequestDto requestDto){
+        return ingestionService.submit(requestDto)
+                .map(status -> ResponseEntity.accepted()
+                        .location(URI.create("/api/requests/ingestions/" + status.trackingId()))
+                        .body(status))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                        .header(HttpHeaders.RETRY_AFTER, "1")
+                        .build());
+    }
+
+    /**
+     * 제휴사의 대량 예약을 한 번에 접수하는 API 엔드포인트입니다.
+     * 본문은 RideRequestDto의 NDJSON(한 줄에 하나) 또는 JSON 배열이며, 전체를 메모리에 올리지 않고 읽으면서 처리합니다.
+     * 저장이 끝난 뒤 항목별 결과(저장된 ID 또는 실패 사유)를 본문의 순서대로 반환합니다.
+     */
+    @PostMapping(value = "/batch", consumes = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<BulkIngestionResultDto> createRideRequestBatch(InputStream body){
+        return ResponseEntity.ok(rideRequestBatchService.ingest(body));
+    }
+
+    /**
+     * 비동기 접수 요청의 처리 상태(대기/지오코딩 중/완료/실패)를 조회합니다.
+     */
+    @GetMapping("/ingestions/{trackingId}")
+    public ResponseEntity<IngestionStatusDto> getIngestionStatus(@PathVariable String trackingId){
+        return ingestionService.getStatus(trackingId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    /**
+     * 탑승 요청의 현재 상태(대기/매칭/취소)와 매칭된 그룹 ID를 조회합니다.
+     * 응답에 ETag가 붙고, If-None-Match가 같으면(상태가 그대로면) 본문 없이 304 (Not Modified)를 반환합니다.
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<RideRequestStatusDto> getRideRequest(@PathVariable Long id){
+        return rideQueryService.findRequest(id)
+                .map(request -> ResponseEntity.ok()
+                        .eTag(request.etag())
+                        .cacheControl(CacheControl.noCache()) // 저장은 하되 매번 ETag로 재검증
+                        .body(request))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    /**
+     * 탑승 요청의 매칭 결과를 Server-Sent Events로 구독합니다. (반복 조회 대신 결과가 커밋되는 즉시 전송)
+     * MATCHED(그룹, 출발 시간, 정류장) 또는 CANCELED_NO_CAPACITY 이벤트 하나를 보낸 뒤 연결을 닫습니다.
+     * 이미 결과가 나온 요청이면 바로 결과를 보냅니다.
+     */
+    @GetMapping(value = "/{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> subscribeMatchResult(@PathVariable Long id){
+        return matchNotificationService.subscribe(id)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
 }
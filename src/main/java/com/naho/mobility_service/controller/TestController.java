@@ -1,20 +1,35 @@
 package com.naho.mobility_service.controller;
 
+import com.naho.mobility_service.dto.GeocodeCacheStats;
+import com.naho.mobility_service.dto.RegionMatchResult;
+import com.naho.mobility_service.service.GeocodingService;
 import com.naho.mobility_service.service.MatchingService;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Slf4j
 @RestController
 @RequiredArgsConstructor
 public class TestController {
 
     private final MatchingService matchingService;
+    private final GeocodingService geocodingService;
 
     @GetMapping("/test-matching")
     public String testMatching(){
-        System.out.println("테스트 API 호출! 강제로 매칭 로직을 실행합니다.");
-        matchingService.runConsolidatedMatching();
-        return "매칭 로직 실행.";
+        log.info("테스트 API 호출! 강제로 매칭 로직을 실행합니다.");
+        List<RegionMatchResult> results = matchingService.runScheduledMatching(LocalDateTime.now());
+        return "매칭 로직 실행. " + results;
+    }
+
+    // 지오코딩 캐시의 적중/미스/축출 통계 확인용
+    @GetMapping("/test-geocode-cache")
+    public GeocodeCacheStats geocodeCacheStats(){
+        return geocodingService.stats();
     }
 }
@@ -0,0 +1,51 @@
+package com.naho.mobility_service.domain;
+
+import jakarta.persistence.CollectionTable;
+import jakarta.persistence.ElementCollection;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.OrderColumn;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 운행이 끝나고 보관 기간이 지나 matched_group에서 옮겨진 그룹입니다. (cold 테이블)
+ * 정류장도 matched_group_stop과 같은 구조의 보관 테이블로 함께 옮겨집니다.
+ */
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Entity
+@Table(name = "matched_group_archive", indexes = {
+        @Index(name = "idx_matched_group_archive_departure", columnList = "final_departure_time")
+})
+public class ArchivedMatchedGroup {
+
+    @Id
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    private Region region;
+
+    private LocalDateTime finalDepartureTime;
+
+    private int passengerCount;
+
+    private double routeDistanceMeters;
+
+    @ElementCollection
+    @CollectionTable(name = "matched_group_stop_archive", joinColumns = @JoinColumn(name = "matched_group_id"))
+    @OrderColumn(name = "stop_order")
+    private List<VirtualStop> virtualStops = new ArrayList<>();
+
+    private LocalDateTime archivedAt; //보관 테이블로 옮긴 시각
+}
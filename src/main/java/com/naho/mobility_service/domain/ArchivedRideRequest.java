@@ -0,0 +1,53 @@
+package com.naho.mobility_service.domain;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 매칭/취소가 끝나고 보관 기간이 지나 ride_request에서 옮겨진 요청입니다. (cold 테이블)
+ * ride_request와 같은 ID, 같은 값을 가지며, 행은 RideRequestArchiver가 INSERT ... SELECT로만 만듭니다.
+ * 그룹도 함께 보관 테이블로 옮겨지므로 그룹 ID는 외래 키 없이 값으로만 가지고 있습니다.
+ */
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Entity
+@Table(name = "ride_request_archive", indexes = {
+        @Index(name = "idx_ride_request_archive_matched_group", columnList = "matched_group_id"),
+        @Index(name = "idx_ride_request_archive_requested_time", columnList = "requested_time")
+})
+public class ArchivedRideRequest {
+
+    @Id
+    private Long id;
+
+    private long userId;
+
+    @Enumerated(EnumType.STRING)
+    private RequestStatus status;
+
+    @Enumerated(EnumType.STRING)
+    private Region region;
+
+    private String subRegion;
+
+    private LocalDateTime requestedTime;
+
+    private double destLat;
+
+    private double destLng;
+
+    private Long matchedGroupId;
+
+    private Integer virtualStopIndex;
+
+    private LocalDateTime archivedAt; //보관 테이블로 옮긴 시각
+}
@@ -0,0 +1,6 @@
+package com.naho.mobility_service.domain;
+
+// 지오코딩으로 얻은 위도/경도 좌표
+public record GeoPoint(double lat, double lng) {
+
+}
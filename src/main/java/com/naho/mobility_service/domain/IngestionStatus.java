@@ -0,0 +1,10 @@
+package com.naho.mobility_service.domain;
+
+public enum IngestionStatus {
+    QUEUED,           //접수되어 처리 대기 중
+    GEOCODING,        //주소 → 좌표 변환 중
+    COMPLETED,        //저장 완료 (rideRequestId 발급)
+    GEOCODING_FAILED, //주소를 좌표로 변환하지 못함
+    FAILED,           //저장 중 오류 발생
+    INVALID           //필수 값이 없거나 형식이 잘못됨, 목적지가 요청한 권역 밖에 있음
+}
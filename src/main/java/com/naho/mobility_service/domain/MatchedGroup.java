@@ -1,37 +1,64 @@
 package com.naho.mobility_service.domain;
 
+import jakarta.persistence.CollectionTable;
+import jakarta.persistence.ElementCollection;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.OrderColumn;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
 import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED) //JPA가 객체를 생성할 때 필요한 기본 생성자
 @Entity
+@Table(name = "matched_group", indexes = {
+        @Index(name = "idx_matched_group_departure_id", columnList = "final_departure_time, id") // 보관 대상 keyset 조회용
+})
 public class MatchedGroup {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "matched_group_seq")
+    @SequenceGenerator(name = "matched_group_seq", sequenceName = "matched_group_seq", allocationSize = 50)
     private Long id;
 
+    @Enumerated(EnumType.STRING)
+    private Region region; //운행 대권역
+
     private LocalDateTime finalDepartureTime; //확정된 최종 출발 시간
 
-    private String virtualStopJson; // 가상 정류장 목록(JSON 형태의 문자열로 저장)
+    private int passengerCount; //매칭된 승객 수 (차량 정원 이하)
+
+    private double routeDistanceMeters; //출발지에서 마지막 정류장까지의 운행 거리(직선 거리 기준)
 
-    private String rideRequestIds; //매칭된 요청들의 ID 목록
+    // 가상 정류장 목록(방문 순서): (그룹 ID, 정류장 순번)을 키로 하는 별도 테이블에 위도/경도 숫자 그대로 저장
+    // 그룹에 속한 요청 목록은 RideRequest.matchedGroup(외래 키)으로 조회합니다.
+    @ElementCollection
+    @CollectionTable(name = "matched_group_stop", joinColumns = @JoinColumn(name = "matched_group_id"))
+    @OrderColumn(name = "stop_order")
+    private List<VirtualStop> virtualStops = new ArrayList<>();
 
     // Builder 패턴: 객체를 생성할 때 실수를 줄이고 명확하게 값을 할당하기 위한 방법
     @Builder
-    public MatchedGroup(LocalDateTime finalDepartureTime, String virtualStopJson, String rideRequestIds){
+    public MatchedGroup(Region region, LocalDateTime finalDepartureTime, int passengerCount, double routeDistanceMeters, List<VirtualStop> virtualStops){
+        this.region = region;
         this.finalDepartureTime = finalDepartureTime;
-        this.virtualStopJson = virtualStopJson;
-        this.rideRequestIds = rideRequestIds;
+        this.passengerCount = passengerCount;
+        this.routeDistanceMeters = routeDistanceMeters;
+        this.virtualStops = new ArrayList<>(virtualStops);
     }
 
 
@@ -0,0 +1,21 @@
+package com.naho.mobility_service.domain;
+
+import java.time.LocalDateTime;
+
+/**
+ * 매칭에 필요한 필드만 담은 PENDING 요청의 요약본입니다.
+ * RideRequest 엔티티 전체를 불러오지 않고도 매칭 후보를 다룰 수 있게 합니다.
+ */
+public record MatchingCandidate(
+        long id,
+        Region region,
+        LocalDateTime requestedTime,
+        double destLat,
+        double destLng
+) {
+
+    public static MatchingCandidate from(RideRequest request) {
+        return new MatchingCandidate(request.getId(), request.getRegion(), request.getRequestedTime(),
+                request.getDestLat(), request.getDestLng());
+    }
+}
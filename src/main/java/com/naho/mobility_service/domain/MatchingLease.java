@@ -0,0 +1,54 @@
+package com.naho.mobility_service.domain;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+/**
+ * DB에 저장하는 임대(lease)입니다. 이름 하나에 대해 동시에 한 노드만 owner가 될 수 있습니다.
+ * - 처음 획득은 INSERT (같은 이름이 이미 있으면 PK 중복으로 실패)
+ * - 만료된 임대는 조건부 UPDATE로 다른 노드가 넘겨받을 수 있음
+ * - 작업을 끝낸 임대는 completed로 표시되어 더 이상 넘겨받을 수 없음
+ */
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Entity
+@Table(name = "matching_lease")
+public class MatchingLease implements Persistable<String> {
+
+    @Id
+    private String name;
+
+    private String owner;
+
+    private LocalDateTime expiresAt;
+
+    private boolean completed;
+
+    @Transient
+    private boolean newLease; // save()가 merge(SELECT 후 UPDATE) 대신 INSERT를 하도록
+
+    public MatchingLease(String name, String owner, LocalDateTime expiresAt) {
+        this.name = name;
+        this.owner = owner;
+        this.expiresAt = expiresAt;
+        this.newLease = true;
+    }
+
+    @Override
+    public String getId() {
+        return name;
+    }
+
+    @Override
+    public boolean isNew() {
+        return newLease;
+    }
+}
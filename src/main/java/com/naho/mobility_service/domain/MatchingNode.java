@@ -0,0 +1,32 @@
+package com.naho.mobility_service.domain;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 매칭에 참여하는 애플리케이션 인스턴스(노드)입니다.
+ * 각 노드는 주기적으로 lastHeartbeat를 갱신하고, 일정 시간 갱신이 없으면 죽은 노드로 간주됩니다.
+ */
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Entity
+@Table(name = "matching_node", indexes = @Index(name = "idx_matching_node_heartbeat", columnList = "last_heartbeat"))
+public class MatchingNode {
+
+    @Id
+    private String nodeId;
+
+    private LocalDateTime lastHeartbeat;
+
+    public MatchingNode(String nodeId, LocalDateTime lastHeartbeat) {
+        this.nodeId = nodeId;
+        this.lastHeartbeat = lastHeartbeat;
+    }
+}
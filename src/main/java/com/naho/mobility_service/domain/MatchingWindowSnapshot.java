@@ -0,0 +1,209 @@
+package com.naho.mobility_service.domain;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 한 번의 매칭 실행에서 다루는 매칭 창(window)의 후보들을 열(column) 단위 primitive 배열로 담은 스냅샷입니다.
+ * 요청 하나당 객체를 만들지 않고, i번째 후보의 값은 각 배열의 i번째 칸에 있습니다.
+ * - 후보들은 권역(ordinal) 순, 같은 권역 안에서는 ID 순으로 정렬되어 있어서
+ *   권역 하나는 [from(region), to(region)) 연속 구간이 됩니다.
+ * - 시간 평균, 클러스터링, 권역 나누기는 이 배열들을 직접 읽어서 처리합니다.
+ * 만든 뒤에는 바꾸지 않으므로 여러 스레드에서 동시에 읽어도 안전합니다.
+ */
+public final class MatchingWindowSnapshot {
+
+    private static final Region[] REGIONS = Region.values();
+
+    private final long[] ids;
+    private final long[] epochSeconds; // 희망 시간 (UTC 기준 epoch second)
+    private final double[] lats;
+    private final double[] lngs;
+    private final int[] regionOffsets; // 권역 r의 구간은 [regionOffsets[r], regionOffsets[r + 1])
+
+    private MatchingWindowSnapshot(long[] ids, long[] epochSeconds, double[] lats, double[] lngs, int[] regionOffsets) {
+        this.ids = ids;
+        this.epochSeconds = epochSeconds;
+        this.lats = lats;
+        this.lngs = lngs;
+        this.regionOffsets = regionOffsets;
+    }
+
+    public static Builder builder(int expectedSize) {
+        return new Builder(expectedSize);
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    public int from(Region region) {
+        return regionOffsets[region.ordinal()];
+    }
+
+    public int to(Region region) {
+        return regionOffsets[region.ordinal() + 1];
+    }
+
+    public int size(Region region) {
+        return to(region) - from(region);
+    }
+
+    /**
+     * 후보가 하나 이상 있는 권역 목록
+     */
+    public Set<Region> regions() {
+        Set<Region> regions = EnumSet.noneOf(Region.class);
+        for (Region region : REGIONS) {
+            if (size(region) > 0) {
+                regions.add(region);
+            }
+        }
+        return regions;
+    }
+
+    public long id(int index) {
+        return ids[index];
+    }
+
+    /**
+     * [from, to) 구간의 요청 ID 목록 (DB 쿼리 파라미터로 넘길 때만 박싱)
+     */
+    public List<Long> ids(int from, int to) {
+        List<Long> result = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            result.add(ids[i]);
+        }
+        return result;
+    }
+
+    /**
+     * [from, to) 구간 희망 시간의 평균(epoch second, 소수점 이하 버림)
+     */
+    public long averageEpochSecond(int from, int to) {
+        if (to <= from) {
+            return 0;
+        }
+        long sum = 0;
+        for (int i = from; i < to; i++) {
+            sum += epochSeconds[i];
+        }
+        return sum / (to - from);
+    }
+
+    // 클러스터러에 그대로 넘기는 좌표 열 (읽기 전용으로만 사용)
+    public double[] lats() {
+        return lats;
+    }
+
+    public double[] lngs() {
+        return lngs;
+    }
+
+    /**
+     * 권역 순서(ordinal)대로 후보를 추가해서 스냅샷을 만듭니다.
+     * 같은 권역 안의 순서는 상관없고, build()가 권역마다 ID 순으로 정렬합니다. (이미 정렬되어 있으면 그대로)
+     */
+    public static final class Builder {
+        private long[] ids;
+        private long[] epochSeconds;
+        private double[] lats;
+        private double[] lngs;
+        private final int[] regionOffsets = new int[REGIONS.length + 1];
+        private int size;
+        private int lastRegion;
+
+        private Builder(int expectedSize) {
+            int capacity = Math.max(expectedSize, 16);
+            ids = new long[capacity];
+            epochSeconds = new long[capacity];
+            lats = new double[capacity];
+            lngs = new double[capacity];
+        }
+
+        public Builder add(long id, Region region, LocalDateTime requestedTime, double lat, double lng) {
+            int ordinal = region.ordinal();
+            if (ordinal < lastRegion) {
+                throw new IllegalArgumentException("후보는 권역 순서대로 추가해야 합니다: " + region);
+            }
+            if (size == ids.length) {
+                grow();
+            }
+            // 앞에서 건너뛴 권역들의 구간은 빈 구간으로 마감
+            for (int r = lastRegion + 1; r <= ordinal; r++) {
+                regionOffsets[r] = size;
+            }
+            lastRegion = ordinal;
+
+            ids[size] = id;
+            epochSeconds[size] = requestedTime.toEpochSecond(ZoneOffset.UTC);
+            lats[size] = lat;
+            lngs[size] = lng;
+            size++;
+            return this;
+        }
+
+        public Builder add(MatchingCandidate candidate) {
+            return add(candidate.id(), candidate.region(), candidate.requestedTime(), candidate.destLat(), candidate.destLng());
+        }
+
+        public MatchingWindowSnapshot build() {
+            for (int r = lastRegion + 1; r <= REGIONS.length; r++) {
+                regionOffsets[r] = size;
+            }
+            for (int r = 0; r < REGIONS.length; r++) {
+                sortById(regionOffsets[r], regionOffsets[r + 1]);
+            }
+            return new MatchingWindowSnapshot(
+                    Arrays.copyOf(ids, size),
+                    Arrays.copyOf(epochSeconds, size),
+                    Arrays.copyOf(lats, size),
+                    Arrays.copyOf(lngs, size),
+                    regionOffsets.clone());
+        }
+
+        // [from, to) 구간을 ID 순으로 정렬: ID만 primitive 정렬한 뒤, 각 후보를 정렬된 ID의 위치(이진 탐색)로 옮김 (ID는 중복 없음)
+        private void sortById(int from, int to) {
+            if (isSortedById(from, to)) {
+                return;
+            }
+            long[] sortedIds = Arrays.copyOfRange(ids, from, to);
+            Arrays.sort(sortedIds);
+            long[] sortedEpochSeconds = new long[to - from];
+            double[] sortedLats = new double[to - from];
+            double[] sortedLngs = new double[to - from];
+            for (int i = from; i < to; i++) {
+                int rank = Arrays.binarySearch(sortedIds, ids[i]);
+                sortedEpochSeconds[rank] = epochSeconds[i];
+                sortedLats[rank] = lats[i];
+                sortedLngs[rank] = lngs[i];
+            }
+            System.arraycopy(sortedIds, 0, ids, from, to - from);
+            System.arraycopy(sortedEpochSeconds, 0, epochSeconds, from, to - from);
+            System.arraycopy(sortedLats, 0, lats, from, to - from);
+            System.arraycopy(sortedLngs, 0, lngs, from, to - from);
+        }
+
+        private boolean isSortedById(int from, int to) {
+            for (int i = from + 1; i < to; i++) {
+                if (ids[i - 1] > ids[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private void grow() {
+            int capacity = ids.length * 2;
+            ids = Arrays.copyOf(ids, capacity);
+            epochSeconds = Arrays.copyOf(epochSeconds, capacity);
+            lats = Arrays.copyOf(lats, capacity);
+            lngs = Arrays.copyOf(lngs, capacity);
+        }
+    }
+}
@@ -1,10 +1,19 @@
 package com.naho.mobility_service.domain;
 
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
 public enum Region {
-    DONGTAN,
-    ILSAN,
-    SUWON,
-    YOUNGIN,
-    BUNDANG,
-    INCHEON
+    DONGTAN(37.2005, 127.0970),
+    ILSAN(37.6584, 126.7700),
+    SUWON(37.2636, 127.0286),
+    YOUNGIN(37.2411, 127.1776),
+    BUNDANG(37.3827, 127.1189),
+    INCHEON(37.4563, 126.7052);
+
+    // 권역 중심 좌표 (합성 데이터 생성 등에 사용)
+    private final double centerLat;
+    private final double centerLng;
 }
@@ -0,0 +1,6 @@
+package com.naho.mobility_service.domain;
+
+// 좌표가 속한 대권역과 세부 권역 (세부 권역이 없는 경계 파일이거나 경계 밖이면 subRegion은 null)
+public record RegionZone(Region region, String subRegion) {
+
+}
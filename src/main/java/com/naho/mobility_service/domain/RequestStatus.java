@@ -1,7 +1,18 @@
 package com.naho.mobility_service.domain;
 
+import java.util.EnumSet;
+import java.util.Set;
+
 public enum RequestStatus {
     PENDING,   //매칭 대기 중
+    CLAIMED,   //매칭 실행 하나가 처리 중 (claimToken을 가진 실행만 결과를 쓸 수 있음, 실패하면 PENDING으로 돌아감)
     MATCHED,   //매칭 성공
-    CANCELED_NO_CAPACITY //인원 미달로 취소
+    CANCELED_NO_CAPACITY; //인원 미달로 취소
+
+    // 아직 결과가 나오지 않은 상태
+    public static final Set<RequestStatus> OPEN = EnumSet.of(PENDING, CLAIMED);
+
+    public boolean isFinished() {
+        return !OPEN.contains(this);
+    }
 }
@@ -9,10 +9,18 @@ import java.time.LocalDateTime;
 @Getter // 각 필드의 Getter 메서드를 자동으로 만들어 줌(Lombok)
 @NoArgsConstructor //기본 생성자를 자동으로 만들어 줌(Lombok)
 @Entity // 이 클래스가 데이터베이스 테이블임을 나타냄(JPA)
+// 매칭 후보/보관 대상 조회(status = ? and (requested_time, id) > (?, ?))를 위한 복합 인덱스 (정렬 키 id까지 포함)
+@Table(name = "ride_request", indexes = {
+        @Index(name = "idx_ride_request_status_time_id", columnList = "status, requested_time, id"), // 창 전체 후보/보관 대상 keyset 조회
+        @Index(name = "idx_ride_request_status_region_time_id", columnList = "status, region, requested_time, id"), // 권역별 후보 keyset 조회
+        @Index(name = "idx_ride_request_matched_group", columnList = "matched_group_id") // 그룹 → 탑승자 목록 조회용
+})
 public class RideRequest {
 
     @Id // 각 필드가 테이블의 PK임을 타나탬
-    @GeneratedValue(strategy = GenerationType.IDENTITY) //DB가 ID를 자동으로 생성하고 관리하도록 함
+    // 시퀀스에서 ID를 50개씩 미리 받아와 INSERT를 JDBC 배치로 묶을 수 있게 함 (IDENTITY는 배치 INSERT 불가)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "ride_request_seq")
+    @SequenceGenerator(name = "ride_request_seq", sequenceName = "ride_request_seq", allocationSize = 50)
     private Long id;
 
     private long userId; //요청한 사용자 ID
@@ -23,16 +31,26 @@ public class RideRequest {
     @Enumerated(EnumType.STRING)
     private Region region; //목적지 대권역
 
+    private String subRegion; //목적지 세부 권역 (권역 경계 파일에 세부 권역이 있을 때만)
+
     private LocalDateTime requestedTime; //사용자가 희망한 출발 시간
 
     private double destLat; //목적지 위도
 
     private double destLng; //목적지 경도
 
-    // 상태를 변경하는 메서드
-    public void updateStatus(RequestStatus status){
-        this.status = status;
-    }
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "matched_group_id")
+    private MatchedGroup matchedGroup; //매칭된 그룹 (매칭 전에는 null)
+
+    private Integer virtualStopIndex; //그룹의 가상 정류장 중 이 요청이 이용할 정류장 순번
+
+    private String claimToken; //이 요청을 CLAIMED로 가져간 매칭 실행의 토큰 (CLAIMED일 때만)
+
+    private LocalDateTime claimedAt; //CLAIMED로 바뀐 시각 (실행이 죽어서 남은 claim을 되돌릴 때 사용)
+
+    @Version
+    private Long version; //상태를 바꾸는 UPDATE마다 1씩 증가 (낙관적 잠금)
 
     // Test용 DataLoader에서 테스트 데이터를 만들 때 사용할 생성자
     public RideRequest(Region region, LocalDateTime requestedTime, double destLat, double destLng) {
@@ -43,4 +61,10 @@ public class RideRequest {
         this.destLng = destLng;
 
     }
+
+    // 좌표로 확인한 권역(RegionResolver)으로 요청을 만들 때 사용할 생성자
+    public RideRequest(RegionZone zone, LocalDateTime requestedTime, double destLat, double destLng) {
+        this(zone.region(), requestedTime, destLat, destLng);
+        this.subRegion = zone.subRegion();
+    }
 }
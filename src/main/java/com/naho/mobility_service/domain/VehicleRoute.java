@@ -0,0 +1,17 @@
+package com.naho.mobility_service.domain;
+
+/**
+ * 차량 한 대의 운행 경로입니다.
+ * stopOrder[k]는 k번째로 방문할 가상 정류장의 순번(클러스터링 결과의 인덱스)이고,
+ * dropOffs[k]는 그 정류장에서 내리는 이 차량의 승객 수입니다.
+ */
+public record VehicleRoute(int[] stopOrder, int[] dropOffs, double distanceMeters) {
+
+    public int passengerCount() {
+        int count = 0;
+        for (int dropOff : dropOffs) {
+            count += dropOff;
+        }
+        return count;
+    }
+}
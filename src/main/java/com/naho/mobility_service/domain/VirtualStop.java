@@ -1,5 +1,8 @@
 package com.naho.mobility_service.domain;
 
+import jakarta.persistence.Embeddable;
+
+@Embeddable // MatchedGroup의 정류장 테이블(matched_group_stop)에 lat, lng 컬럼으로 저장됨
 public record VirtualStop(double lat, double lng){
 
 }
@@ -0,0 +1,15 @@
+package com.naho.mobility_service.domain;
+
+import java.util.List;
+
+/**
+ * 클러스터링 결과: 생성된 가상 정류장 목록과, 입력 좌표 각각이 배정된 정류장의 순번입니다.
+ * stopIndexes[i]는 i번째 입력 좌표가 이용할 virtualStops의 인덱스입니다.
+ * 앞의 clusterCount개 정류장이 클러스터 중심점이고, 나머지는 Noise 포인트의 개별 정류장입니다.
+ */
+public record VirtualStopAssignment(List<VirtualStop> virtualStops, int[] stopIndexes, int clusterCount) {
+
+    public int noiseCount() {
+        return virtualStops.size() - clusterCount;
+    }
+}
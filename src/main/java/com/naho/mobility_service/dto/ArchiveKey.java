@@ -0,0 +1,10 @@
+package com.naho.mobility_service.dto;
+
+import java.time.LocalDateTime;
+
+// 보관 대상 keyset 페이징의 커서: 정렬 기준 시간(요청은 희망 시간, 그룹은 출발 시간)과 ID
+public record ArchiveKey(
+        long id,
+        LocalDateTime time
+) {
+}
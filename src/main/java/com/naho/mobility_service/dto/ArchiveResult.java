@@ -0,0 +1,16 @@
+package com.naho.mobility_service.dto;
+
+/**
+ * 보관(archive) 작업 한 번의 결과입니다.
+ */
+public record ArchiveResult(
+        int requests, // 보관 테이블로 옮긴 탑승 요청 수
+        int groups, // 보관 테이블로 옮긴 그룹 수
+        long elapsedMillis,
+        boolean skipped // 다른 노드가 이미 처리 중이거나 처리한 경우
+) {
+
+    public static ArchiveResult skipped() {
+        return new ArchiveResult(0, 0, 0, true);
+    }
+}
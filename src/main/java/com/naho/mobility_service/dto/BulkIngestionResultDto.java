@@ -0,0 +1,31 @@
+package com.naho.mobility_service.dto;
+
+import com.naho.mobility_service.domain.IngestionStatus;
+
+import java.util.List;
+
+// 일괄 접수 결과: 전체 건수 요약과 항목(본문에서의 순번)별 처리 결과
+public record BulkIngestionResultDto(
+        int received, // 읽은 항목 수
+        int created, // 저장된 항목 수
+        int failed, // 저장하지 못한 항목 수
+        String error, // 본문을 끝까지 읽지 못한 경우 그 사유 (정상이면 null)
+        List<Item> items
+) {
+
+    public record Item(
+            int index, // 본문에서의 순번 (0부터)
+            IngestionStatus status, // COMPLETED, INVALID, GEOCODING_FAILED, FAILED
+            Long rideRequestId, // 저장된 경우에만 존재
+            String message // 실패 사유
+    ) {
+
+        public static Item completed(int index, long rideRequestId) {
+            return new Item(index, IngestionStatus.COMPLETED, rideRequestId, null);
+        }
+
+        public static Item failed(int index, IngestionStatus status, String message) {
+            return new Item(index, status, null, message);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.naho.mobility_service.dto;
+
+// 지오코딩 캐시의 누적 통계 (적중/미스/축출/조회 실패 횟수)
+public record GeocodeCacheStats(
+        long size,
+        long hitCount,
+        long missCount,
+        long evictionCount,
+        long loadFailureCount,
+        double hitRate
+) {
+
+}
@@ -0,0 +1,24 @@
+package com.naho.mobility_service.dto;
+
+import com.naho.mobility_service.domain.IngestionStatus;
+
+// 비동기 접수 요청의 처리 상태 (trackingId로 조회)
+public record IngestionStatusDto(
+        String trackingId,
+        IngestionStatus status,
+        Long rideRequestId, // 저장이 완료된 경우에만 존재
+        String message // 실패 사유
+) {
+
+    public static IngestionStatusDto of(String trackingId, IngestionStatus status) {
+        return new IngestionStatusDto(trackingId, status, null, null);
+    }
+
+    public static IngestionStatusDto completed(String trackingId, long rideRequestId) {
+        return new IngestionStatusDto(trackingId, IngestionStatus.COMPLETED, rideRequestId, null);
+    }
+
+    public static IngestionStatusDto failed(String trackingId, IngestionStatus failedStatus, String reason) {
+        return new IngestionStatusDto(trackingId, failedStatus, null, reason);
+    }
+}
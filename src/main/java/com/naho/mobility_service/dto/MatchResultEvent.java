@@ -0,0 +1,27 @@
+package com.naho.mobility_service.dto;
+
+import com.naho.mobility_service.domain.RequestStatus;
+import com.naho.mobility_service.domain.VirtualStop;
+
+import java.time.LocalDateTime;
+
+// 매칭 결과 알림 (SSE로 탑승자에게 전송): 매칭되면 그룹/출발 시간/이용할 정류장, 취소되면 상태만
+public record MatchResultEvent(
+        Long rideRequestId,
+        RequestStatus status,
+        Long matchedGroupId,
+        LocalDateTime finalDepartureTime,
+        Integer virtualStopIndex,
+        VirtualStop virtualStop
+) {
+
+    public static MatchResultEvent matched(long rideRequestId, long matchedGroupId, LocalDateTime finalDepartureTime,
+                                           int virtualStopIndex, VirtualStop virtualStop) {
+        return new MatchResultEvent(rideRequestId, RequestStatus.MATCHED, matchedGroupId, finalDepartureTime,
+                virtualStopIndex, virtualStop);
+    }
+
+    public static MatchResultEvent canceled(long rideRequestId) {
+        return new MatchResultEvent(rideRequestId, RequestStatus.CANCELED_NO_CAPACITY, null, null, null, null);
+    }
+}
@@ -0,0 +1,31 @@
+package com.naho.mobility_service.dto;
+
+import com.naho.mobility_service.domain.Region;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// 매칭된 그룹(차량 한 대)의 상세 정보: 정류장은 방문 순서대로, 정류장마다 내리는 요청 ID 목록 포함
+public record MatchedGroupDto(
+        Long id,
+        Region region,
+        LocalDateTime finalDepartureTime,
+        int passengerCount,
+        double routeDistanceMeters,
+        List<Stop> stops
+) {
+
+    public record Stop(
+            double lat,
+            double lng,
+            List<Long> rideRequestIds
+    ) {
+    }
+
+    /**
+     * 응답의 ETag 값입니다. 그룹은 매칭 시점에 한 번 만들어진 뒤 바뀌지 않으므로 ID만으로 충분합니다.
+     */
+    public String etag() {
+        return "\"group-" + id + "\"";
+    }
+}
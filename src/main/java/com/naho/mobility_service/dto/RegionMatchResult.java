@@ -0,0 +1,48 @@
+package com.naho.mobility_service.dto;
+
+import com.naho.mobility_service.domain.Region;
+
+/**
+ * 권역 하나의 매칭 처리 결과입니다.
+ * 실패한 권역은 error에 사유가 담기고, 그 권역의 변경 사항은 롤백됩니다.
+ */
+public record RegionMatchResult(
+        Region region,
+        int candidates, // 매칭 대상 요청 수
+        int matched, // 매칭 성공 처리된 요청 수
+        int canceled, // 인원 미달로 취소된 요청 수
+        int vehicles, // 배차된 차량 수 (차량 정원에 맞춰 나눈 그룹 수)
+        int stops, // 만들어진 가상 정류장 수
+        long elapsedMillis, // 권역 처리에 걸린 시간
+        String error // 실패 사유 (성공 시 null)
+) {
+
+    public static RegionMatchResult matched(Region region, int candidates, int vehicles, int stops, long elapsedMillis) {
+        return new RegionMatchResult(region, candidates, candidates, 0, vehicles, stops, elapsedMillis, null);
+    }
+
+    public static RegionMatchResult canceled(Region region, int candidates, long elapsedMillis) {
+        return new RegionMatchResult(region, candidates, 0, candidates, 0, 0, elapsedMillis, null);
+    }
+
+    // 다른 매칭 실행이 같은 후보를 처리 중이라 이번 실행에서는 건드리지 않은 경우 (요청은 PENDING으로 남음)
+    public static RegionMatchResult deferred(Region region, int candidates, long elapsedMillis) {
+        return new RegionMatchResult(region, candidates, 0, 0, 0, 0, elapsedMillis, null);
+    }
+
+    public static RegionMatchResult failed(Region region, long elapsedMillis, Throwable cause) {
+        return new RegionMatchResult(region, 0, 0, 0, 0, 0, elapsedMillis, String.valueOf(cause));
+    }
+
+    public boolean isFailed() {
+        return error != null;
+    }
+
+    @Override
+    public String toString() {
+        if (isFailed()) {
+            return region + " 매칭 실패 (" + elapsedMillis + "ms): " + error;
+        }
+        return region + " 후보 " + candidates + "명, 매칭 " + matched + "명(차량 " + vehicles + "대, 정류장 " + stops + "개), 취소 " + canceled + "명 (" + elapsedMillis + "ms)";
+    }
+}
@@ -0,0 +1,45 @@
+package com.naho.mobility_service.dto;
+
+import java.time.Duration;
+
+/**
+ * 이벤트 로그 리플레이 한 번의 결과입니다. (설정 하나에 대한 매칭 품질과 처리량)
+ */
+public record ReplayReport(
+        long events, // 로그에서 읽은 이벤트 수
+        long rejected, // 좌표와 권역이 맞지 않아 접수하지 못한 이벤트 수
+        long matched, // 매칭된 요청 수
+        long canceled, // 인원 미달로 취소된 요청 수
+        long unmatched, // 어느 매칭 창에도 들지 못하고 희망 시간이 지난 요청 수
+        long vehicles, // 배차된 차량 수
+        long stops, // 만들어진 가상 정류장 수
+        int matchingRuns, // 실행한 매칭 횟수
+        int failedRegions, // 실패한 권역 매칭 수
+        Duration simulated, // 시뮬레이션한 시간 범위
+        long matchingMillis, // 매칭 실행에 걸린 시간의 합
+        long elapsedMillis // 리플레이 전체에 걸린 시간 (접수 포함)
+) {
+
+    // 접수된 요청 중 매칭된 비율
+    public double matchRate() {
+        long accepted = events - rejected;
+        return accepted == 0 ? 0 : matched / (double) accepted;
+    }
+
+    // 매칭 실행 시간 기준 초당 처리한 후보 수
+    public double candidatesPerSecond() {
+        return matchingMillis == 0 ? 0 : (matched + canceled) * 1000.0 / matchingMillis;
+    }
+
+    public double passengersPerVehicle() {
+        return vehicles == 0 ? 0 : matched / (double) vehicles;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("이벤트 %d건(거절 %d), 매칭 %d건(%.1f%%), 취소 %d건, 미매칭 %d건, 차량 %d대(평균 %.1f명), 정류장 %d개, "
+                        + "매칭 %d회(실패 권역 %d), 매칭 처리량 %.0f건/s, 시뮬레이션 %s, 소요 %dms",
+                events, rejected, matched, matchRate() * 100, canceled, unmatched, vehicles, passengersPerVehicle(), stops,
+                matchingRuns, failedRegions, candidatesPerSecond(), simulated, elapsedMillis);
+    }
+}
@@ -5,7 +5,7 @@ import com.naho.mobility_service.domain.Region;
 import java.time.LocalDateTime;
 
 public record RideRequestDto(
-        Region region, // 목적지 대권역
+        Region region, // 목적지 대권역 (생략하면 좌표로 결정, 보내면 좌표와 같은 권역인지 확인)
         String destinationAddess, //상세 목적지 주소
         LocalDateTime requestedTime //희망 출발 시간
 
@@ -0,0 +1,24 @@
+package com.naho.mobility_service.dto;
+
+import com.naho.mobility_service.domain.Region;
+import com.naho.mobility_service.domain.RequestStatus;
+
+import java.time.LocalDateTime;
+
+// 탑승 요청의 현재 상태 (매칭되면 그룹 ID와 이용할 정류장 순번이 채워짐)
+public record RideRequestStatusDto(
+        Long id,
+        RequestStatus status,
+        Region region,
+        LocalDateTime requestedTime,
+        Long matchedGroupId, // 매칭 전에는 null
+        Integer virtualStopIndex // 매칭 전에는 null
+) {
+
+    /**
+     * 응답의 ETag 값입니다. 요청에서 바뀔 수 있는 값은 상태와 배정 정보뿐이므로 이 값들로 만듭니다.
+     */
+    public String etag() {
+        return "\"request-" + id + "-" + status + "-" + matchedGroupId + "-" + virtualStopIndex + "\"";
+    }
+}
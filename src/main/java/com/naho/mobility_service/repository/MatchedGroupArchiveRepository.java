@@ -0,0 +1,31 @@
+package com.naho.mobility_service.repository;
+
+import com.naho.mobility_service.domain.ArchivedMatchedGroup;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.Optional;
+
+public interface MatchedGroupArchiveRepository extends JpaRepository<ArchivedMatchedGroup, Long> {
+
+    // matched_group의 행들을 INSERT ... SELECT로 보관 테이블에 복사
+    @Modifying(flushAutomatically = true)
+    @Query("insert into ArchivedMatchedGroup (id, region, finalDepartureTime, passengerCount, routeDistanceMeters, archivedAt) " +
+            "select g.id, g.region, g.finalDepartureTime, g.passengerCount, g.routeDistanceMeters, local datetime " +
+            "from MatchedGroup g where g.id in :ids")
+    int copyFromMatchedGroups(@Param("ids") Collection<Long> ids);
+
+    // 정류장은 컬렉션 테이블이라 JPQL로 지정할 수 없으므로 SQL로 복사
+    @Modifying
+    @Query(value = "insert into matched_group_stop_archive (matched_group_id, stop_order, lat, lng) " +
+            "select matched_group_id, stop_order, lat, lng from matched_group_stop where matched_group_id in (:ids)",
+            nativeQuery = true)
+    int copyStopsFromMatchedGroups(@Param("ids") Collection<Long> ids);
+
+    @EntityGraph(attributePaths = "virtualStops")
+    Optional<ArchivedMatchedGroup> findWithVirtualStopsById(Long id);
+}
@@ -1,7 +1,44 @@
 package com.naho.mobility_service.repository;
 
 import com.naho.mobility_service.domain.MatchedGroup;
+import com.naho.mobility_service.dto.ArchiveKey;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 public interface MatchedGroupRepository extends JpaRepository<MatchedGroup, Long> {
+
+    // 그룹과 가상 정류장 목록을 한 번에 조회
+    @EntityGraph(attributePaths = "virtualStops")
+    Optional<MatchedGroup> findWithVirtualStopsById(Long id);
+
+    /**
+     * 보관 대상 그룹: 출발 시간이 before 이전이고, 남아 있는 탑승 요청이 없는(모두 보관된) 그룹을
+     * (afterTime, afterId) 이후부터 (final_departure_time, id) 인덱스 순서 그대로 읽습니다.
+     */
+    @Query("select new com.naho.mobility_service.dto.ArchiveKey(g.id, g.finalDepartureTime) from MatchedGroup g " +
+            "where (g.finalDepartureTime, g.id) > (:afterTime, :afterId) and g.finalDepartureTime < :before " +
+            "and not exists (select r.id from RideRequest r where r.matchedGroup = g) " +
+            "order by g.finalDepartureTime, g.id")
+    List<ArchiveKey> findArchivableKeys(@Param("afterTime") LocalDateTime afterTime,
+                                        @Param("afterId") long afterId,
+                                        @Param("before") LocalDateTime before,
+                                        Pageable pageable);
+
+    // 정류장(컬렉션 테이블)을 먼저 지워야 그룹을 지울 수 있음
+    @Modifying
+    @Query(value = "delete from matched_group_stop where matched_group_id in (:ids)", nativeQuery = true)
+    int deleteStopsByGroupIds(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("delete from MatchedGroup g where g.id in :ids")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
 }
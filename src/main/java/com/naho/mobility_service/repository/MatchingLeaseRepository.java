@@ -0,0 +1,54 @@
+package com.naho.mobility_service.repository;
+
+import com.naho.mobility_service.domain.MatchingLease;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+public interface MatchingLeaseRepository extends JpaRepository<MatchingLease, String> {
+
+    /**
+     * 만료되었고 아직 완료되지 않은 임대를 넘겨받습니다. (자신이 가진 임대면 연장)
+     * 조건부 UPDATE 한 번으로 처리하므로 여러 노드가 동시에 시도해도 한 노드만 성공합니다.
+     * @return 넘겨받았으면 1, 아니면 0
+     */
+    @Transactional
+    @Modifying
+    @Query("update MatchingLease l set l.owner = :owner, l.expiresAt = :expiresAt " +
+            "where l.name = :name and l.completed = false and (l.expiresAt < :now or l.owner = :owner)")
+    int takeOver(@Param("name") String name,
+                 @Param("owner") String owner,
+                 @Param("now") LocalDateTime now,
+                 @Param("expiresAt") LocalDateTime expiresAt);
+
+    // 죽은 노드가 가지고 있던 임대를 넘겨받음 (그 사이 다른 노드가 먼저 넘겨받았으면 0)
+    @Transactional
+    @Modifying
+    @Query("update MatchingLease l set l.owner = :owner, l.expiresAt = :expiresAt " +
+            "where l.name = :name and l.completed = false and l.owner = :previousOwner")
+    int takeOverFrom(@Param("name") String name,
+                     @Param("previousOwner") String previousOwner,
+                     @Param("owner") String owner,
+                     @Param("expiresAt") LocalDateTime expiresAt);
+
+    // 작업을 끝낸 임대를 완료로 표시 (owner가 맞을 때만)
+    @Transactional
+    @Modifying
+    @Query("update MatchingLease l set l.completed = true where l.name = :name and l.owner = :owner")
+    int complete(@Param("name") String name, @Param("owner") String owner);
+
+    // 작업에 실패한 임대를 즉시 만료시켜 다른 노드가 다시 시도할 수 있게 함
+    @Transactional
+    @Modifying
+    @Query("update MatchingLease l set l.expiresAt = :now where l.name = :name and l.owner = :owner and l.completed = false")
+    int release(@Param("name") String name, @Param("owner") String owner, @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("delete from MatchingLease l where l.expiresAt < :before")
+    int deleteByExpiresAtBefore(@Param("before") LocalDateTime before);
+}
@@ -0,0 +1,29 @@
+package com.naho.mobility_service.repository;
+
+import com.naho.mobility_service.domain.MatchingNode;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface MatchingNodeRepository extends JpaRepository<MatchingNode, String> {
+
+    // 하트비트 갱신 (행이 없으면 0을 반환하므로 호출 측에서 INSERT)
+    @Transactional
+    @Modifying
+    @Query("update MatchingNode n set n.lastHeartbeat = :now where n.nodeId = :nodeId")
+    int touch(@Param("nodeId") String nodeId, @Param("now") LocalDateTime now);
+
+    // since 이후에 하트비트를 보낸 노드 ID 목록
+    @Query("select n.nodeId from MatchingNode n where n.lastHeartbeat > :since order by n.nodeId")
+    List<String> findLiveNodeIds(@Param("since") LocalDateTime since);
+
+    @Transactional
+    @Modifying
+    @Query("delete from MatchingNode n where n.lastHeartbeat < :before")
+    int deleteByLastHeartbeatBefore(@Param("before") LocalDateTime before);
+}
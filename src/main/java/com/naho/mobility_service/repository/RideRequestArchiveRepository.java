@@ -0,0 +1,36 @@
+package com.naho.mobility_service.repository;
+
+import com.naho.mobility_service.domain.ArchivedRideRequest;
+import com.naho.mobility_service.dto.RideRequestStatusDto;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface RideRequestArchiveRepository extends JpaRepository<ArchivedRideRequest, Long> {
+
+    /**
+     * ride_request의 행들을 엔티티로 불러오지 않고 INSERT ... SELECT 한 번으로 보관 테이블에 복사합니다.
+     * @return 복사한 행 수
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("insert into ArchivedRideRequest (id, userId, status, region, subRegion, requestedTime, destLat, destLng, " +
+            "matchedGroupId, virtualStopIndex, archivedAt) " +
+            "select r.id, r.userId, r.status, r.region, r.subRegion, r.requestedTime, r.destLat, r.destLng, " +
+            "g.id, r.virtualStopIndex, local datetime " +
+            "from RideRequest r left join r.matchedGroup g where r.id in :ids")
+    int copyFromRideRequests(@Param("ids") Collection<Long> ids);
+
+    // 상태 조회 API용 projection (ride_request에 없는 요청은 여기서 찾음)
+    @Query("select new com.naho.mobility_service.dto.RideRequestStatusDto(a.id, a.status, a.region, a.requestedTime, a.matchedGroupId, a.virtualStopIndex) " +
+            "from ArchivedRideRequest a where a.id = :id")
+    Optional<RideRequestStatusDto> findStatusById(@Param("id") Long id);
+
+    @Query("select new com.naho.mobility_service.dto.RideRequestStatusDto(a.id, a.status, a.region, a.requestedTime, a.matchedGroupId, a.virtualStopIndex) " +
+            "from ArchivedRideRequest a where a.matchedGroupId = :groupId order by a.virtualStopIndex, a.id")
+    List<RideRequestStatusDto> findStatusesByMatchedGroupId(@Param("groupId") Long groupId);
+}
@@ -0,0 +1,16 @@
+package com.naho.mobility_service.repository;
+
+/**
+ * 매칭 결과 배정용 리포지토리 조각(fragment)입니다. 요청마다 그룹과 정류장 순번이 달라서
+ * {@code @Query}로는 한 문장에 담을 수 없으므로, chunk마다 CASE 식을 만든 UPDATE 한 번으로 배정합니다.
+ */
+public interface RideRequestAssignmentRepository {
+
+    /**
+     * i번째 요청(ids[i])을 그룹 groupIds[i]의 stopIndexes[i]번째 정류장에 배정하고 상태를 MATCHED로 바꿉니다.
+     * 같은 토큰으로 CLAIMED인 행만 바뀌고, BULK_CHUNK_SIZE건마다 UPDATE 한 번을 실행합니다.
+     * 그룹 INSERT가 먼저 반영되어야 외래 키가 유효하므로 실행 전에 flush합니다.
+     * @return 실제로 변경된 행 수
+     */
+    int assignGroups(long[] ids, long[] groupIds, int[] stopIndexes, String claimToken);
+}
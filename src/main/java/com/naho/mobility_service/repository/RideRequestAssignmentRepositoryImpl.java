@@ -0,0 +1,63 @@
+package com.naho.mobility_service.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+class RideRequestAssignmentRepositoryImpl implements RideRequestAssignmentRepository {
+
+    private final EntityManager entityManager;
+
+    @Override
+    public int assignGroups(long[] ids, long[] groupIds, int[] stopIndexes, String claimToken) {
+        if (ids.length != groupIds.length || ids.length != stopIndexes.length) {
+            throw new IllegalArgumentException("요청, 그룹, 정류장 배열의 길이가 다릅니다.");
+        }
+        entityManager.flush();
+        int updated = 0;
+        for (int from = 0; from < ids.length; from += RideRequestRepository.BULK_CHUNK_SIZE) {
+            updated += assignChunk(ids, groupIds, stopIndexes, from,
+                    Math.min(from + RideRequestRepository.BULK_CHUNK_SIZE, ids.length), claimToken);
+        }
+        return updated;
+    }
+
+    // update ride_request set matched_group_id = case id when ? then ? ... end, virtual_stop_index = case id when ? then ? ... end, ...
+    //  where id in (?, ...) and claim_token = ? and status = 'CLAIMED'
+    private int assignChunk(long[] ids, long[] groupIds, int[] stopIndexes, int from, int to, String claimToken) {
+        int size = to - from;
+        StringBuilder sql = new StringBuilder(64 + size * 40)
+                .append("update ride_request set status = 'MATCHED', matched_group_id = case id");
+        appendWhenThen(sql, size);
+        sql.append(" end, virtual_stop_index = case id");
+        appendWhenThen(sql, size);
+        sql.append(" end, claim_token = null, claimed_at = null, version = version + 1 where id in (");
+        for (int i = 0; i < size; i++) {
+            sql.append(i == 0 ? "?" : ", ?");
+        }
+        sql.append(") and claim_token = ? and status = 'CLAIMED'");
+
+        Query query = entityManager.createNativeQuery(sql.toString());
+        int position = 1;
+        for (int i = from; i < to; i++) {
+            query.setParameter(position++, ids[i]);
+            query.setParameter(position++, groupIds[i]);
+        }
+        for (int i = from; i < to; i++) {
+            query.setParameter(position++, ids[i]);
+            query.setParameter(position++, stopIndexes[i]);
+        }
+        for (int i = from; i < to; i++) {
+            query.setParameter(position++, ids[i]);
+        }
+        query.setParameter(position, claimToken);
+        return query.executeUpdate();
+    }
+
+    private static void appendWhenThen(StringBuilder sql, int count) {
+        for (int i = 0; i < count; i++) {
+            sql.append(" when ? then ?");
+        }
+    }
+}
@@ -1,19 +1,210 @@
 package com.naho.mobility_service.repository;
 
+import com.naho.mobility_service.domain.MatchingCandidate;
+import com.naho.mobility_service.domain.Region;
 import com.naho.mobility_service.domain.RequestStatus;
 import com.naho.mobility_service.domain.RideRequest;
+import com.naho.mobility_service.dto.ArchiveKey;
+import com.naho.mobility_service.dto.RideRequestStatusDto;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
 
-public interface RideRequestRepository extends JpaRepository<RideRequest, Long> {
+public interface RideRequestRepository extends JpaRepository<RideRequest, Long>, RideRequestAssignmentRepository {
 
-    //Spring Data JPA가 메서드 이름을 보고 자동으로 쿼리를 만들어 줌
-    // "Status가 PENDING이고, requestedTime이 두 시간 사이인 모든 RideRequest를 찾아줘"
-    List<RideRequest> findAllByStatusAndRequestedTimeBetween(
-            RequestStatus status,
-            LocalDateTime startTime,
-            LocalDateTime endTime
-    );
+    // IN 절 하나에 넣을 최대 ID 개수 (DB의 파라미터 개수 제한을 넘지 않도록)
+    int BULK_CHUNK_SIZE = 1000;
+
+    // 커서가 없는 첫 페이지의 (requested_time, id) 커서: 모든 희망 시간보다 앞선 시각
+    LocalDateTime KEYSET_ORIGIN = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    /**
+     * 매칭 전용 조회 경로: 엔티티 대신 매칭에 필요한 5개 필드만 읽어 MatchingCandidate로 바로 만듭니다.
+     * (status, requested_time, id) 복합 인덱스의 순서 그대로 (afterTime, afterId) 이후를 chunk 크기만큼만 가져옵니다. (keyset 페이징)
+     * 정렬 키가 인덱스 순서와 같아서 chunk마다 창 전체를 다시 읽거나 정렬하지 않습니다.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("select new com.naho.mobility_service.domain.MatchingCandidate(r.id, r.region, r.requestedTime, r.destLat, r.destLng) " +
+            "from RideRequest r " +
+            "where r.status = :status and (r.requestedTime, r.id) > (:afterTime, :afterId) and r.requestedTime <= :endTime " +
+            "order by r.requestedTime, r.id")
+    List<MatchingCandidate> findCandidateChunk(@Param("status") RequestStatus status,
+                                            @Param("afterTime") LocalDateTime afterTime,
+                                            @Param("afterId") long afterId,
+                                            @Param("endTime") LocalDateTime endTime,
+                                               Pageable pageable);
+
+    // 권역 하나의 후보만 조회 (여러 노드가 권역을 나누어 매칭할 때 사용, (status, region, requested_time, id) 인덱스)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("select new com.naho.mobility_service.domain.MatchingCandidate(r.id, r.region, r.requestedTime, r.destLat, r.destLng) " +
+            "from RideRequest r " +
+            "where r.status = :status and r.region = :region and (r.requestedTime, r.id) > (:afterTime, :afterId) " +
+            "and r.requestedTime <= :endTime " +
+            "order by r.requestedTime, r.id")
+    List<MatchingCandidate> findCandidateChunkInRegion(@Param("status") RequestStatus status,
+                                                    @Param("region") Region region,
+                                                    @Param("afterTime") LocalDateTime afterTime,
+                                                    @Param("afterId") long afterId,
+                                                    @Param("endTime") LocalDateTime endTime,
+                                                       Pageable pageable);
+
+    /**
+     * 조건에 맞는 후보를 chunkSize 단위로 끊어서 consumer에 넘깁니다.
+     * 시간 창이 아무리 커도 한 번에 메모리에 올라가는 후보는 chunkSize개뿐입니다.
+     */
+    default void forEachCandidateChunk(RequestStatus status, LocalDateTime startTime, LocalDateTime endTime,
+                                       int chunkSize, Consumer<List<MatchingCandidate>> consumer) {
+        forEachChunk(startTime, (afterTime, afterId) -> findCandidateChunk(status, afterTime, afterId, endTime, PageRequest.of(0, chunkSize)),
+                chunkSize, consumer);
+    }
+
+    default void forEachCandidateChunk(RequestStatus status, Region region, LocalDateTime startTime, LocalDateTime endTime,
+                                       int chunkSize, Consumer<List<MatchingCandidate>> consumer) {
+        forEachChunk(startTime, (afterTime, afterId) -> findCandidateChunkInRegion(status, region, afterTime, afterId, endTime,
+                PageRequest.of(0, chunkSize)), chunkSize, consumer);
+    }
+
+    // keyset 페이징: 마지막으로 읽은 (희망 시간, ID) 이후를 chunk 크기만큼씩 반복 조회
+    // 첫 커서 (startTime, 0)은 "희망 시간 >= startTime"과 같음 (ID는 1부터)
+    private void forEachChunk(LocalDateTime startTime, BiFunction<LocalDateTime, Long, List<MatchingCandidate>> query,
+                              int chunkSize, Consumer<List<MatchingCandidate>> consumer) {
+        LocalDateTime afterTime = startTime;
+        long afterId = 0;
+        while (true) {
+            List<MatchingCandidate> chunk = query.apply(afterTime, afterId);
+            if (chunk.isEmpty()) {
+                return;
+            }
+            consumer.accept(chunk);
+            if (chunk.size() < chunkSize) {
+                return;
+            }
+            MatchingCandidate last = chunk.get(chunk.size() - 1);
+            afterTime = last.requestedTime();
+            afterId = last.id();
+        }
+    }
+
+    // 주어진 ID 중 아직 statuses 중 하나인 요청의 ID만 조회
+    @Query("select r.id from RideRequest r where r.id in :ids and r.status in :statuses")
+    List<Long> findIdsByIdInAndStatusIn(@Param("ids") Collection<Long> ids, @Param("statuses") Collection<RequestStatus> statuses);
+
+    /*
+     * 매칭의 claim 프로토콜
+     * 1. claim: 매칭 실행이 후보들을 짧은 트랜잭션에서 PENDING → CLAIMED로 바꾸고 자신의 토큰을 적음 (조건부 UPDATE)
+     *    이미 다른 실행이 가져갔거나 결과가 나온 요청은 조건에 맞지 않아 바뀌지 않으므로, 실행은 자신이 가져간 행만 처리합니다.
+     * 2. complete: 결과(MATCHED/CANCELED_NO_CAPACITY)는 같은 토큰으로 CLAIMED인 행에만 씀
+     * 3. release: 실패하면 토큰의 행을 PENDING으로 되돌림 (실행이 죽어서 남은 claim은 claim-timeout 이후 되돌림)
+     * 모든 상태 변경 UPDATE는 version을 1 올리므로, 그 사이 엔티티를 읽어 둔 쪽의 변경은 낙관적 잠금으로 실패합니다.
+     * 행 잠금은 각 UPDATE 문이 속한 짧은 트랜잭션 동안만 잡히므로, 새 요청 접수(INSERT)는 매칭을 기다리지 않습니다.
+     */
+
+    @Modifying(flushAutomatically = true)
+    @Query("update RideRequest r set r.status = com.naho.mobility_service.domain.RequestStatus.CLAIMED, " +
+            "r.claimToken = :claimToken, r.claimedAt = :claimedAt, r.version = r.version + 1 " +
+            "where r.id in :ids and r.status = com.naho.mobility_service.domain.RequestStatus.PENDING")
+    int claimByIds(@Param("ids") Collection<Long> ids,
+                   @Param("claimToken") String claimToken,
+                   @Param("claimedAt") LocalDateTime claimedAt);
+
+    /**
+     * ID 목록 중 PENDING인 요청을 BULK_CHUNK_SIZE 단위로 claim합니다.
+     * @return claim한 행 수
+     */
+    default int claim(List<Long> ids, String claimToken, LocalDateTime claimedAt) {
+        int claimed = 0;
+        for (int from = 0; from < ids.size(); from += BULK_CHUNK_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(from + BULK_CHUNK_SIZE, ids.size()));
+            claimed += claimByIds(chunk, claimToken, claimedAt);
+        }
+        return claimed;
+    }
+
+    /**
+     * claim한 요청들의 상태를 결과(newStatus)로 바꿉니다. 같은 토큰으로 CLAIMED인 행만 바뀝니다.
+     * @return 실제로 변경된 행 수
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("update RideRequest r set r.status = :newStatus, r.claimToken = null, r.claimedAt = null, r.version = r.version + 1 " +
+            "where r.id in :ids and r.claimToken = :claimToken " +
+            "and r.status = com.naho.mobility_service.domain.RequestStatus.CLAIMED")
+    int completeClaimByIds(@Param("ids") Collection<Long> ids,
+                           @Param("claimToken") String claimToken,
+                           @Param("newStatus") RequestStatus newStatus);
+
+    /**
+     * claim한 요청들을 BULK_CHUNK_SIZE 단위로 나누어 결과 상태로 일괄 변경합니다.
+     * 요청 수가 N이면 UPDATE 문은 N번이 아니라 N / BULK_CHUNK_SIZE 번만 실행됩니다.
+     * @return 실제로 변경된 행 수
+     */
+    default int completeClaim(List<Long> ids, String claimToken, RequestStatus newStatus) {
+        int updated = 0;
+        for (int from = 0; from < ids.size(); from += BULK_CHUNK_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(from + BULK_CHUNK_SIZE, ids.size()));
+            updated += completeClaimByIds(chunk, claimToken, newStatus);
+        }
+        return updated;
+    }
+
+    // 실패한 매칭 실행의 claim을 되돌림
+    @Modifying(flushAutomatically = true)
+    @Query("update RideRequest r set r.status = com.naho.mobility_service.domain.RequestStatus.PENDING, " +
+            "r.claimToken = null, r.claimedAt = null, r.version = r.version + 1 " +
+            "where r.claimToken = :claimToken and r.status = com.naho.mobility_service.domain.RequestStatus.CLAIMED")
+    int releaseClaim(@Param("claimToken") String claimToken);
+
+    // claimedBefore 이전에 claim된 채 남아 있는 요청 (실행 도중 노드가 죽은 경우)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("select new com.naho.mobility_service.domain.MatchingCandidate(r.id, r.region, r.requestedTime, r.destLat, r.destLng) " +
+            "from RideRequest r where r.status = com.naho.mobility_service.domain.RequestStatus.CLAIMED " +
+            "and r.claimedAt < :claimedBefore order by r.id")
+    List<MatchingCandidate> findStaleClaims(@Param("claimedBefore") LocalDateTime claimedBefore, Pageable pageable);
+
+    @Modifying(flushAutomatically = true)
+    @Query("update RideRequest r set r.status = com.naho.mobility_service.domain.RequestStatus.PENDING, " +
+            "r.claimToken = null, r.claimedAt = null, r.version = r.version + 1 " +
+            "where r.id in :ids and r.status = com.naho.mobility_service.domain.RequestStatus.CLAIMED " +
+            "and r.claimedAt < :claimedBefore")
+    int releaseStaleClaimsByIds(@Param("ids") Collection<Long> ids, @Param("claimedBefore") LocalDateTime claimedBefore);
+
+    /**
+     * 보관 대상 요청: 상태가 status이고 희망 시간이 before 이전인 요청을 (afterTime, afterId) 이후부터 (희망 시간, ID) 순으로
+     * (status, requested_time, id) 복합 인덱스 순서 그대로 읽습니다. (첫 페이지는 KEYSET_ORIGIN, 0)
+     */
+    @Query("select new com.naho.mobility_service.dto.ArchiveKey(r.id, r.requestedTime) from RideRequest r " +
+            "where r.status = :status and (r.requestedTime, r.id) > (:afterTime, :afterId) and r.requestedTime < :before " +
+            "order by r.requestedTime, r.id")
+    List<ArchiveKey> findArchivableKeys(@Param("status") RequestStatus status,
+                                         @Param("afterTime") LocalDateTime afterTime,
+                                         @Param("afterId") long afterId,
+                                         @Param("before") LocalDateTime before,
+                                            Pageable pageable);
+
+    // 보관 테이블로 복사한 요청을 지움 (엔티티를 불러오지 않는 DELETE 한 번)
+    @Modifying
+    @Query("delete from RideRequest r where r.id in :ids")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
+
+    // 상태 조회 API용 projection (매칭 전 요청도 조회되도록 left join)
+    @Query("select new com.naho.mobility_service.dto.RideRequestStatusDto(r.id, r.status, r.region, r.requestedTime, g.id, r.virtualStopIndex) " +
+            "from RideRequest r left join r.matchedGroup g where r.id = :id")
+    Optional<RideRequestStatusDto> findStatusById(@Param("id") Long id);
+
+    // 그룹 상세 조회 API용: 그룹의 요청들을 정류장 순서, ID 순으로
+    @Query("select new com.naho.mobility_service.dto.RideRequestStatusDto(r.id, r.status, r.region, r.requestedTime, g.id, r.virtualStopIndex) " +
+            "from RideRequest r join r.matchedGroup g where g.id = :groupId order by r.virtualStopIndex, r.id")
+    List<RideRequestStatusDto> findStatusesByMatchedGroupId(@Param("groupId") Long groupId);
 }
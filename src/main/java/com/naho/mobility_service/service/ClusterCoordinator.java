@@ -0,0 +1,234 @@
+package com.naho.mobility_service.service;
+
+import com.naho.mobility_service.domain.MatchingLease;
+import com.naho.mobility_service.domain.MatchingNode;
+import com.naho.mobility_service.domain.Region;
+import com.naho.mobility_service.repository.MatchingLeaseRepository;
+import com.naho.mobility_service.repository.MatchingNodeRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 여러 인스턴스가 같은 DB를 공유할 때 매칭 작업을 권역(shard) 단위로 나누어 맡도록 조율합니다.
+ * - 각 노드는 matching_node 테이블에 주기적으로 하트비트를 남기고, node-ttl 동안 소식이 없으면 죽은 노드로 봅니다.
+ * - 권역마다 살아 있는 노드 중 한 노드가 rendezvous hashing으로 우선 담당자가 됩니다. (노드가 추가/제거되어도 그 노드의 권역만 옮겨감)
+ * - 실제로 권역을 처리할 권리는 matching_lease 테이블의 임대로 보장합니다. 같은 매칭 창의 같은 권역은 한 노드만 처리합니다.
+ * - 하트비트는 @Scheduled 스레드가 아닌 전용 스레드에서 보냅니다. 매칭이나 보관 작업이 스케줄러 스레드를 오래 잡고 있어도
+ *   하트비트가 밀려서 살아 있는 노드가 죽은 노드로 보이는(권역을 빼앗기는) 일이 없게 하기 위함입니다.
+ * 클러스터 모드가 꺼져 있으면(기본값) 하트비트를 보내지 않고, 매칭은 기존처럼 이 인스턴스 혼자 처리합니다.
+ */
+@Slf4j
+@Component
+public class ClusterCoordinator {
+
+    private static final Duration RECORD_RETENTION = Duration.ofDays(1); // 이보다 오래된 노드/임대 행은 정리
+
+    private final MatchingNodeRepository nodeRepository;
+    private final MatchingLeaseRepository leaseRepository;
+    private final boolean enabled;
+    private final String nodeId;
+    private final Duration nodeTtl;
+    private final Duration leaseTtl;
+    private final Duration takeoverDelay;
+    private final long heartbeatIntervalMs;
+    private ScheduledExecutorService heartbeatScheduler;
+
+    public ClusterCoordinator(MatchingNodeRepository nodeRepository,
+                              MatchingLeaseRepository leaseRepository,
+                              @Value("${mobility-app.cluster.enabled:false}") boolean enabled,
+                              @Value("${mobility-app.cluster.node-id:}") String nodeId,
+                              @Value("${mobility-app.cluster.node-ttl:30s}") Duration nodeTtl,
+                              @Value("${mobility-app.cluster.lease-ttl:5m}") Duration leaseTtl,
+                              @Value("${mobility-app.cluster.takeover-delay:30s}") Duration takeoverDelay,
+                              @Value("${mobility-app.cluster.heartbeat-interval-ms:10000}") long heartbeatIntervalMs) {
+        this.nodeRepository = nodeRepository;
+        this.leaseRepository = leaseRepository;
+        this.enabled = enabled;
+        this.nodeId = nodeId.isBlank() ? UUID.randomUUID().toString() : nodeId;
+        this.nodeTtl = nodeTtl;
+        this.leaseTtl = leaseTtl;
+        this.takeoverDelay = takeoverDelay;
+        this.heartbeatIntervalMs = heartbeatIntervalMs;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public Duration getTakeoverDelay() {
+        return takeoverDelay;
+    }
+
+    /**
+     * 첫 하트비트를 남기고, heartbeat-interval-ms마다 하트비트를 보내는 전용 스레드를 시작합니다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void join() {
+        if (!enabled || heartbeatScheduler != null) {
+            return;
+        }
+        heartbeat();
+        heartbeatScheduler = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("cluster-heartbeat").daemon().factory());
+        heartbeatScheduler.scheduleWithFixedDelay(this::heartbeatQuietly,
+                heartbeatIntervalMs, heartbeatIntervalMs, TimeUnit.MILLISECONDS);
+        log.info("매칭 클러스터 참여: node={}, 살아 있는 노드={}", nodeId, liveNodes());
+    }
+
+    // 예외가 나면 scheduleWithFixedDelay가 이후 실행을 멈추므로, 실패는 기록만 하고 다음 주기에 다시 시도
+    private void heartbeatQuietly() {
+        try {
+            heartbeat();
+        } catch (RuntimeException e) {
+            log.warn("하트비트 기록 실패 (다음 주기에 다시 시도): {}", e.toString());
+        }
+    }
+
+    /**
+     * 하트비트를 갱신하고, 오래전에 사라진 노드와 지난 임대 기록을 정리합니다.
+     */
+    public void heartbeat() {
+        if (!enabled) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        if (nodeRepository.touch(nodeId, now) == 0) {
+            nodeRepository.save(new MatchingNode(nodeId, now));
+        }
+        LocalDateTime retention = now.minus(RECORD_RETENTION);
+        nodeRepository.deleteByLastHeartbeatBefore(retention);
+        leaseRepository.deleteByExpiresAtBefore(retention);
+    }
+
+    /**
+     * 정상 종료 시 노드 행을 지워서 다른 노드가 바로 이 노드의 권역을 넘겨받을 수 있게 합니다.
+     */
+    @PreDestroy
+    public synchronized void leave() {
+        if (!enabled) {
+            return;
+        }
+        if (heartbeatScheduler != null) {
+            heartbeatScheduler.shutdownNow();
+            heartbeatScheduler = null;
+        }
+        try {
+            nodeRepository.deleteById(nodeId);
+        } catch (RuntimeException e) {
+            log.warn("매칭 클러스터 탈퇴 기록 실패 (node-ttl 이후 죽은 노드로 처리됨): {}", e.toString());
+        }
+    }
+
+    /**
+     * node-ttl 안에 하트비트를 보낸 노드 ID 목록 (자기 자신은 항상 포함)
+     */
+    public List<String> liveNodes() {
+        List<String> nodes = new ArrayList<>(nodeRepository.findLiveNodeIds(LocalDateTime.now().minus(nodeTtl)));
+        if (!nodes.contains(nodeId)) {
+            nodes.add(nodeId);
+        }
+        return nodes;
+    }
+
+    /**
+     * 살아 있는 노드들 중 이 노드가 해당 권역의 우선 담당자인지 확인합니다.
+     * 노드마다 (노드 ID, 권역)의 해시를 구해 가장 큰 값을 가진 노드가 담당자가 됩니다. (rendezvous hashing)
+     */
+    public boolean isPreferredOwner(Region region, Collection<String> liveNodes) {
+        return nodeId.equals(preferredOwner(region, liveNodes));
+    }
+
+    static String preferredOwner(Region region, Collection<String> nodes) {
+        String owner = null;
+        long best = 0;
+        for (String node : nodes) {
+            long score = fnv1a64(node + "#" + region.name());
+            // 부호 없는 비교로 가장 큰 해시를 고르고, 같으면 ID가 작은 노드를 선택
+            if (owner == null || Long.compareUnsigned(score, best) > 0
+                    || (score == best && node.compareTo(owner) < 0)) {
+                owner = node;
+                best = score;
+            }
+        }
+        return owner;
+    }
+
+    /**
+     * 임대를 얻으려고 시도합니다. 다음 중 하나면 성공합니다.
+     * 1. 아직 아무도 시도하지 않은 작업 (INSERT)
+     * 2. 만료되었거나 이미 내가 가진 임대
+     * 3. 완료되지 않은 채 owner가 죽은 임대
+     * 이미 완료된 작업이나 살아 있는 다른 노드가 가진 임대는 얻을 수 없습니다.
+     */
+    public boolean tryAcquire(String name, Collection<String> liveNodes) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime expiresAt = now.plus(leaseTtl);
+
+        if (leaseRepository.takeOver(name, nodeId, now, expiresAt) == 1) {
+            return true;
+        }
+        Optional<MatchingLease> existing = leaseRepository.findById(name);
+        if (existing.isPresent()) {
+            MatchingLease lease = existing.get();
+            if (lease.isCompleted() || liveNodes.contains(lease.getOwner())) {
+                return false;
+            }
+            boolean acquired = leaseRepository.takeOverFrom(name, lease.getOwner(), nodeId, expiresAt) == 1;
+            if (acquired) {
+                log.info("죽은 노드 {}의 작업 {}을(를) 넘겨받았습니다.", lease.getOwner(), name);
+            }
+            return acquired;
+        }
+        try {
+            leaseRepository.saveAndFlush(new MatchingLease(name, nodeId, expiresAt));
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            // 같은 순간 다른 노드가 먼저 INSERT함
+            return false;
+        }
+    }
+
+    /**
+     * 작업이 커밋된 뒤 호출합니다. 완료된 임대는 다른 노드가 다시 가져갈 수 없습니다.
+     */
+    public void complete(String name) {
+        leaseRepository.complete(name, nodeId);
+    }
+
+    /**
+     * 작업이 실패했을 때 호출합니다. 임대를 즉시 만료시켜 다른 노드(또는 다음 시도)가 다시 처리할 수 있게 합니다.
+     */
+    public void release(String name) {
+        leaseRepository.release(name, nodeId, LocalDateTime.now());
+    }
+
+    private static long fnv1a64(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= (b & 0xff);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+}
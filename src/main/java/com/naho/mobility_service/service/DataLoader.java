@@ -5,14 +5,20 @@ import com.naho.mobility_service.domain.Region;
 import com.naho.mobility_service.domain.RideRequest;
 import com.naho.mobility_service.repository.RideRequestRepository;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
 
+@Slf4j
 @Component
+@Profile("!loadgen") // 대량 합성 데이터를 넣을 때는 SyntheticDataLoader를 사용
+@ConditionalOnProperty(name = "mobility-app.dataloader.enabled", havingValue = "true", matchIfMissing = true) // 여러 인스턴스가 DB를 공유할 때는 끔
 @RequiredArgsConstructor
 public class DataLoader implements CommandLineRunner {
 
@@ -46,7 +52,7 @@ public class DataLoader implements CommandLineRunner {
                 dongtan1, dongtan2, dongtan3, dongtan4, dongtan5, dongtan6,
                 ilsan1, ilsan2
         ));
-        System.out.println("✅ 테스트 데이터가 성공적으로 로드되었습니다. (동탄 6명, 일산 2명)");
+        log.info("✅ 테스트 데이터가 성공적으로 로드되었습니다. (동탄 6명, 일산 2명)");
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,246 @@
+package com.naho.mobility_service.service;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.naho.mobility_service.domain.GeoPoint;
+import com.naho.mobility_service.dto.GeocodeCacheStats;
+import com.naho.mobility_service.dto.NaverGeocodeDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.text.Normalizer;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * NaverApiService 앞단에서 주소 → 좌표 변환 결과를 캐싱하는 서비스입니다.
+ * - 정규화한 주소를 키로 사용하고, 최대 개수와 TTL을 넘으면 축출합니다. (API에는 정규화 전의 주소를 그대로 보냄)
+ * - 같은 주소에 대한 동시 조회는 하나의 API 호출을 함께 기다립니다. (single-flight)
+ * - persist-path가 설정되면 캐시를 디스크에 저장해 두었다가 재시작 시 다시 읽어옵니다.
+ * - 캐시 통계(cache.*{cache=geocode}, geocode.cache.hit.ratio)와 실제 API 호출의 지연 시간/오류(geocode.api*)를 지표로 남깁니다.
+ */
+@Slf4j
+@Service
+public class GeocodingService {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final NaverApiService naverApiService;
+    private final AsyncCache<String, CachedGeocode> cache;
+    private final Duration ttl;
+    private final Path persistPath; // null이면 디스크 저장을 하지 않음
+    private final MeterRegistry meterRegistry;
+    private final Timer apiSuccessTimer;
+    private final Timer apiNotFoundTimer;
+
+    public GeocodingService(@Lazy NaverApiService naverApiService, // 첫 API 호출 때 생성 (시작 시간 단축)
+                            ExecutorService geocodeExecutor,
+                            MeterRegistry meterRegistry,
+                            @Value("${mobility-app.geocode.cache.max-size}") long maxSize,
+                            @Value("${mobility-app.geocode.cache.ttl}") Duration ttl,
+                            @Value("${mobility-app.geocode.cache.persist-path:}") String persistPath) {
+        this.naverApiService = naverApiService;
+        this.ttl = ttl;
+        this.persistPath = persistPath.isBlank() ? null : Path.of(persistPath);
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new GeocodeExpiry(ttl.toNanos()))
+                .executor(geocodeExecutor) // 블로킹 HTTP 호출은 공용 ForkJoinPool 대신 전용 실행기에서
+                .recordStats()
+                .buildAsync();
+
+        this.meterRegistry = meterRegistry;
+        this.apiSuccessTimer = apiTimer("success");
+        this.apiNotFoundTimer = apiTimer("not-found");
+        // 조회/적중/미스/축출/로드 횟수와 크기: cache.gets, cache.evictions, cache.size ... {cache=geocode}
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "geocode");
+        Gauge.builder("geocode.cache.hit.ratio", cache, c -> c.synchronous().stats().hitRate())
+                .description("지오코딩 캐시 적중률 (시작 이후 누적)")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 주소를 좌표로 변환합니다. 캐시에 있으면 API를 호출하지 않습니다.
+     * @throws IllegalArgumentException 주소를 찾을 수 없는 경우 (실패 결과는 캐싱하지 않음)
+     */
+    public GeoPoint geocode(String address) {
+        try {
+            // 같은 키의 동시 조회는 처음 요청한 주소로 한 번만 API를 호출함
+            return cache.get(normalize(address), key -> lookup(address)).join().point();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    public GeocodeCacheStats stats() {
+        CacheStats stats = cache.synchronous().stats();
+        return new GeocodeCacheStats(
+                cache.synchronous().estimatedSize(),
+                stats.hitCount(),
+                stats.missCount(),
+                stats.evictionCount(),
+                stats.loadFailureCount(),
+                stats.hitRate());
+    }
+
+    /**
+     * 캐시 키용 주소 정규화: 유니코드 NFC 정규화, 앞뒤 공백 제거, 연속 공백을 하나로, 소문자 변환
+     * 키로만 사용하고 API에는 보내지 않습니다.
+     */
+    static String normalize(String address) {
+        if (address == null || address.isBlank()) {
+            throw new IllegalArgumentException("주소가 비어 있습니다.");
+        }
+        String nfc = Normalizer.normalize(address, Normalizer.Form.NFC).trim();
+        return WHITESPACE.matcher(nfc).replaceAll(" ").toLowerCase(Locale.ROOT);
+    }
+
+    // 캐시 미스일 때 실제로 네이버 API를 호출합니다. (요청에 들어온 주소 그대로)
+    private CachedGeocode lookup(String address) {
+        long startNanos = System.nanoTime();
+        NaverGeocodeDto geocodeResult;
+        try {
+            geocodeResult = naverApiService.geocode(address);
+        } catch (RuntimeException e) {
+            // 네트워크/HTTP 오류: 오류 종류별로 지연 시간과 횟수를 기록
+            apiTimer("error").record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+            Counter.builder("geocode.api.errors")
+                    .description("네이버 지오코딩 API 호출 오류 횟수")
+                    .tag("exception", e.getClass().getSimpleName())
+                    .register(meterRegistry)
+                    .increment();
+            log.warn("지오코딩 API 호출 실패: {} ({})", address, e.toString());
+            throw e;
+        }
+
+        // 네이버가 주소를 못 찾아서 결과를 안 줬을 경우를 대비한 안전장치
+        if (geocodeResult == null || geocodeResult.addresses() == null || geocodeResult.addresses().isEmpty()) {
+            apiNotFoundTimer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+            throw new IllegalArgumentException("유효하지 않은 주소이거나, 좌표를 찾을 수 없습니다.");
+        }
+        apiSuccessTimer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+
+        // 검색 결과 목록에서 첫 번째 주소 정보를 꺼낸다. (네이버는 경도(x), 위도(y)를 문자열로 줌)
+        NaverGeocodeDto.Address firstAddress = geocodeResult.addresses().get(0);
+        GeoPoint point = new GeoPoint(Double.parseDouble(firstAddress.y()), Double.parseDouble(firstAddress.x()));
+        return new CachedGeocode(point, System.currentTimeMillis());
+    }
+
+    // 실제 API 호출 지연 시간 (결과별로 구분, 캐시 적중은 포함하지 않음)
+    private Timer apiTimer(String outcome) {
+        return Timer.builder("geocode.api")
+                .description("네이버 지오코딩 API 호출 지연 시간")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 디스크에 저장된 캐시를 읽어옵니다. TTL이 지난 항목은 건너뜁니다. (시작 시 StartupWarmup이 호출)
+     */
+    public void loadFromDisk() {
+        if (persistPath == null || !Files.exists(persistPath)) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        int loaded = 0;
+        try (BufferedReader reader = Files.newBufferedReader(persistPath, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                // 형식: 주소 \t 위도 \t 경도 \t 캐싱 시각(epoch ms)
+                String[] columns = line.split("\t");
+                if (columns.length != 4) {
+                    continue;
+                }
+                long cachedAt = Long.parseLong(columns[3]);
+                if (now - cachedAt >= ttl.toMillis()) {
+                    continue;
+                }
+                GeoPoint point = new GeoPoint(Double.parseDouble(columns[1]), Double.parseDouble(columns[2]));
+                cache.synchronous().put(columns[0], new CachedGeocode(point, cachedAt));
+                loaded++;
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("지오코딩 캐시 파일을 읽지 못했습니다: {}", persistPath, e);
+            return;
+        }
+        log.info("지오코딩 캐시 {}건을 디스크에서 불러왔습니다.", loaded);
+    }
+
+    /**
+     * 캐시를 디스크에 저장합니다. 임시 파일에 쓴 뒤 교체하므로 저장 도중 종료되어도 기존 파일은 깨지지 않습니다.
+     */
+    @PreDestroy
+    @Scheduled(fixedDelayString = "${mobility-app.geocode.cache.flush-interval-ms:600000}",
+            initialDelayString = "${mobility-app.geocode.cache.flush-interval-ms:600000}")
+    public void saveToDisk() {
+        if (persistPath == null) {
+            return;
+        }
+        try {
+            Path parent = persistPath.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            Path temp = Files.createTempFile(parent, "geocode-cache", ".tmp");
+            try (BufferedWriter writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                for (Map.Entry<String, CachedGeocode> entry : cache.synchronous().asMap().entrySet()) {
+                    CachedGeocode value = entry.getValue();
+                    writer.write(entry.getKey() + "\t" + value.point().lat() + "\t" + value.point().lng() + "\t" + value.cachedAtMillis());
+                    writer.newLine();
+                }
+            }
+            Files.move(temp, persistPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("지오코딩 캐시를 저장하지 못했습니다: " + persistPath, e);
+        }
+    }
+
+    // 캐시 값: 좌표와 최초로 조회한 시각 (디스크에서 복원해도 원래 시각 기준으로 만료되도록)
+    private record CachedGeocode(GeoPoint point, long cachedAtMillis) {
+    }
+
+    // 최초 조회 시각으로부터 TTL이 지나면 만료시키는 정책
+    private record GeocodeExpiry(long ttlNanos) implements Expiry<String, CachedGeocode> {
+
+        @Override
+        public long expireAfterCreate(String key, CachedGeocode value, long currentTime) {
+            long ageNanos = Duration.ofMillis(System.currentTimeMillis() - value.cachedAtMillis()).toNanos();
+            return Math.max(0, ttlNanos - ageNanos);
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, CachedGeocode value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, CachedGeocode value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
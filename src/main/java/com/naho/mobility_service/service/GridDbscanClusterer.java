@@ -0,0 +1,411 @@
+package com.naho.mobility_service.service;
+
+import com.naho.mobility_service.domain.VirtualStop;
+import com.naho.mobility_service.domain.VirtualStopAssignment;
+import com.naho.mobility_service.util.GeoUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 격자(Grid) 인덱스를 사용하는 DBSCAN 클러스터러입니다.
+ * 좌표를 primitive 배열로 다루고, epsilon 크기의 격자 칸으로 이웃 후보를 좁혀서
+ * 모든 점을 서로 비교하던 O(n²) 탐색을 주변 9칸 탐색으로 줄입니다.
+ * 거리는 위경도 차이가 아닌 haversine 미터 거리로 계산합니다.
+ * 좌표 수가 근사 모드 기준 이상이면 좌표를 작은 격자 칸으로 먼저 모아서(칸마다 가중치 = 좌표 수)
+ * 칸 단위로 클러스터링한 뒤 각 좌표를 자기 칸의 클러스터에 배정합니다. (근사 모드)
+ */
+@Component
+public class GridDbscanClusterer {
+
+    public static final int NOISE = -1;
+    private static final int UNCLASSIFIED = -2;
+
+    // 격자 칸 크기에 주는 여유값 (위경도 근사 오차로 이웃을 놓치지 않도록)
+    private static final double CELL_MARGIN = 1.001;
+
+    private final double epsilonMeters;
+    private final int minPoints;
+    private final double maxHaversine; // epsilon을 haversine 중간값으로 바꾼 임계값
+    private final int approximateThreshold;
+    private final double approximateCellMeters;
+
+    /**
+     * 항상 정확한(좌표 단위) 클러스터링만 사용합니다.
+     */
+    public GridDbscanClusterer(double epsilonMeters, int minPoints) {
+        this(epsilonMeters, minPoints, Integer.MAX_VALUE, epsilonMeters / 10);
+    }
+
+    /**
+     * @param epsilonMeters         같은 정류장으로 묶을 최대 거리(미터)
+     * @param minPoints             자신을 제외하고 epsilon 안에 있어야 하는 최소 이웃 수 (commons-math DBSCAN과 같은 의미)
+     * @param approximateThreshold  좌표 수가 이 값 이상이면 근사 모드로 클러스터링
+     * @param approximateCellMeters 근사 모드에서 좌표를 모으는 격자 칸 크기(미터, epsilon보다 작아야 함)
+     */
+    @Autowired
+    public GridDbscanClusterer(@Value("${mobility-app.matching.cluster-epsilon-meters}") double epsilonMeters,
+                               @Value("${mobility-app.matching.cluster-min-points}") int minPoints,
+                               @Value("${mobility-app.matching.approximate-cluster-threshold:20000}") int approximateThreshold,
+                               @Value("${mobility-app.matching.approximate-cell-meters:30}") double approximateCellMeters) {
+        if (epsilonMeters <= 0) {
+            throw new IllegalArgumentException("epsilon은 0보다 커야 합니다: " + epsilonMeters);
+        }
+        if (minPoints < 1) {
+            throw new IllegalArgumentException("minPoints는 1 이상이어야 합니다: " + minPoints);
+        }
+        if (approximateCellMeters <= 0 || approximateCellMeters >= epsilonMeters) {
+            throw new IllegalArgumentException("근사 모드 격자 칸 크기는 0보다 크고 epsilon보다 작아야 합니다: " + approximateCellMeters);
+        }
+        this.epsilonMeters = epsilonMeters;
+        this.minPoints = minPoints;
+        this.maxHaversine = GeoUtils.haversineThreshold(epsilonMeters);
+        this.approximateThreshold = approximateThreshold;
+        this.approximateCellMeters = approximateCellMeters;
+    }
+
+    /**
+     * [from, to) 구간의 좌표로 가상 정류장을 만듭니다.
+     * 클러스터의 중심점이 발견 순서대로 먼저 오고, 그 뒤에 Noise 포인트가 입력 순서대로 개별 정류장으로 붙습니다.
+     */
+    public List<VirtualStop> createVirtualStops(double[] lat, double[] lng, int from, int to) {
+        return assignVirtualStops(lat, lng, from, to).virtualStops();
+    }
+
+    /**
+     * 가상 정류장을 만들고, 각 좌표가 어느 정류장에 배정되었는지도 함께 반환합니다.
+     * 정류장 순서는 {@link #createVirtualStops}와 같습니다.
+     * 좌표 수가 근사 모드 기준 이상이면 {@link #assignApproximateVirtualStops}를 사용합니다.
+     */
+    public VirtualStopAssignment assignVirtualStops(double[] lat, double[] lng, int from, int to) {
+        if (isApproximate(to - from)) {
+            return assignApproximateVirtualStops(lat, lng, from, to);
+        }
+        int[] labels = new int[to - from];
+        int clusterCount = cluster(lat, lng, from, to, null, labels);
+        return toVirtualStops(lat, lng, from, to, labels, clusterCount);
+    }
+
+    public boolean isApproximate(int size) {
+        return size >= approximateThreshold;
+    }
+
+    /**
+     * 근사 모드: 좌표를 격자 칸으로 모은 뒤 칸 단위로 클러스터링합니다.
+     * 1. 같은 칸의 좌표들은 서로 이웃으로 보고, 칸의 위치는 칸에 들어간 좌표들의 평균 위치로 합니다.
+     * 2. 칸은 (칸 안의 다른 좌표 수 + epsilon 안 이웃 칸들의 좌표 수)가 minPoints 이상이면 핵심 칸이 됩니다.
+     * 3. 각 좌표는 자기 칸의 클러스터에 배정되고, 정류장 위치는 배정된 원래 좌표들의 평균입니다.
+     *    Noise 칸의 좌표는 정확한 모드와 같이 각각 개별 정류장이 됩니다.
+     * 칸 크기만큼 이웃 판정이 달라질 수 있어서 정확한 결과와 조금 다를 수 있습니다.
+     */
+    public VirtualStopAssignment assignApproximateVirtualStops(double[] lat, double[] lng, int from, int to) {
+        CellAggregation cells = new CellAggregation(lat, lng, from, to);
+        int[] cellLabels = new int[cells.count];
+        int clusterCount = cluster(cells.lats, cells.lngs, 0, cells.count, cells.weights, cellLabels);
+
+        int[] labels = new int[to - from];
+        for (int i = 0; i < labels.length; i++) {
+            labels[i] = cellLabels[cells.cellOf[i]];
+        }
+        return toVirtualStops(lat, lng, from, to, labels, clusterCount);
+    }
+
+    /**
+     * [from, to) 구간을 클러스터링하고 각 점의 클러스터 번호를 labels[i - from]에 기록합니다.
+     * 어느 클러스터에도 속하지 않는 점은 {@link #NOISE}로 표시됩니다.
+     * @return 찾은 클러스터의 개수
+     */
+    public int cluster(double[] lat, double[] lng, int from, int to, int[] labels) {
+        return cluster(lat, lng, from, to, null, labels);
+    }
+
+    // weights가 있으면 i번째 점이 weights[i]개의 좌표를 대표합니다. (null이면 모두 1)
+    private int cluster(double[] lat, double[] lng, int from, int to, int[] weights, int[] labels) {
+        int size = to - from;
+        Arrays.fill(labels, 0, size, UNCLASSIFIED);
+        if (size == 0) {
+            return 0;
+        }
+
+        GridIndex grid = new GridIndex(lat, lng, from, to);
+        int[] queue = new int[size]; // 각 점은 최대 한 번만 큐에 들어감
+        int clusterId = 0;
+
+        for (int p = 0; p < size; p++) {
+            if (labels[p] != UNCLASSIFIED) {
+                continue;
+            }
+            int count = grid.collectNeighbours(p);
+            if (density(grid, p, count, weights) < minPoints) {
+                labels[p] = NOISE; // 나중에 다른 클러스터의 경계점이 될 수 있음
+                continue;
+            }
+
+            labels[p] = clusterId;
+            int tail = expand(grid, count, clusterId, labels, queue, 0);
+            for (int head = 0; head < tail; head++) {
+                int q = queue[head];
+                int qCount = grid.collectNeighbours(q);
+                if (density(grid, q, qCount, weights) >= minPoints) {
+                    tail = expand(grid, qCount, clusterId, labels, queue, tail);
+                }
+            }
+            clusterId++;
+        }
+        return clusterId;
+    }
+
+    // p를 제외하고 epsilon 안에 있는 좌표 수 (가중치가 있으면 p 자신의 칸에 모인 다른 좌표도 포함)
+    private static int density(GridIndex grid, int p, int count, int[] weights) {
+        if (weights == null) {
+            return count;
+        }
+        int density = weights[p] - 1;
+        for (int i = 0; i < count; i++) {
+            density += weights[grid.neighbours[i]];
+        }
+        return density;
+    }
+
+    // 방금 찾은 이웃들을 클러스터에 넣고, 처음 방문하는 점만 확장 대기열에 추가합니다.
+    private int expand(GridIndex grid, int count, int clusterId, int[] labels, int[] queue, int tail) {
+        int[] neighbours = grid.neighbours;
+        for (int i = 0; i < count; i++) {
+            int q = neighbours[i];
+            if (labels[q] == UNCLASSIFIED) {
+                labels[q] = clusterId;
+                queue[tail++] = q;
+            } else if (labels[q] == NOISE) {
+                labels[q] = clusterId; // 경계점: 클러스터에는 포함하지만 확장하지 않음
+            }
+        }
+        return tail;
+    }
+
+    // labels 배열을 정류장 순번으로 바꿔 씁니다. (클러스터 c → c, Noise → 클러스터 개수 + Noise 순번)
+    private VirtualStopAssignment toVirtualStops(double[] lat, double[] lng, int from, int to, int[] labels, int clusterCount) {
+        int size = to - from;
+        double[] sumLat = new double[clusterCount];
+        double[] sumLng = new double[clusterCount];
+        int[] counts = new int[clusterCount];
+        int noiseCount = 0;
+
+        for (int i = 0; i < size; i++) {
+            int label = labels[i];
+            if (label == NOISE) {
+                noiseCount++;
+                continue;
+            }
+            sumLat[label] += lat[from + i];
+            sumLng[label] += lng[from + i];
+            counts[label]++;
+        }
+
+        List<VirtualStop> virtualStops = new ArrayList<>(clusterCount + noiseCount);
+        // 1. 각 클러스터의 중심점(가상 정류장)
+        for (int c = 0; c < clusterCount; c++) {
+            virtualStops.add(new VirtualStop(sumLat[c] / counts[c], sumLng[c] / counts[c]));
+        }
+        // 2. 'Noise' 포인트는 각각 독립적인 가상 정류장
+        for (int i = 0; i < size; i++) {
+            if (labels[i] == NOISE) {
+                labels[i] = virtualStops.size();
+                virtualStops.add(new VirtualStop(lat[from + i], lng[from + i]));
+            }
+        }
+        return new VirtualStopAssignment(virtualStops, labels, clusterCount);
+    }
+
+    /**
+     * 근사 모드에서 좌표를 approximateCellMeters 크기의 칸으로 모은 결과입니다.
+     * 칸 i의 위치는 (lats[i], lngs[i])이고 가중치는 칸에 들어간 좌표 수입니다.
+     * cellOf[i]는 i번째 입력 좌표(from 기준)가 들어간 칸의 번호입니다. (칸 번호는 처음 나온 순서)
+     */
+    private final class CellAggregation {
+        private final int[] cellOf;
+        private final double[] lats;
+        private final double[] lngs;
+        private final int[] weights;
+        private final int count;
+
+        CellAggregation(double[] lat, double[] lng, int from, int to) {
+            int size = to - from;
+            cellOf = new int[size];
+
+            // 1. 격자의 원점과 칸 크기 계산 (GridIndex와 같은 방식)
+            double minLat = Double.MAX_VALUE;
+            double minLng = Double.MAX_VALUE;
+            double maxAbsLat = 0;
+            for (int i = from; i < to; i++) {
+                minLat = Math.min(minLat, lat[i]);
+                minLng = Math.min(minLng, lng[i]);
+                maxAbsLat = Math.max(maxAbsLat, Math.abs(lat[i]));
+            }
+            double cellLat = approximateCellMeters / GeoUtils.METERS_PER_DEGREE_LAT;
+            double cosMax = Math.max(Math.cos(Math.toRadians(maxAbsLat)), 1e-6);
+            double cellLng = approximateCellMeters / (GeoUtils.METERS_PER_DEGREE_LAT * cosMax);
+
+            // 2. 칸 키 → 칸 번호 해시 테이블 (open addressing)
+            int capacity = Integer.highestOneBit(Math.max(16, size * 2 - 1)) << 1;
+            long[] tableKeys = new long[capacity];
+            int[] tableCells = new int[capacity];
+            Arrays.fill(tableCells, -1);
+            int mask = capacity - 1;
+
+            // 3. 좌표마다 칸을 찾고(없으면 새 칸), 칸별 좌표 합과 개수를 누적
+            double[] sumLat = new double[Math.min(size, 1024)];
+            double[] sumLng = new double[sumLat.length];
+            int[] counts = new int[sumLat.length];
+            int cells = 0;
+            for (int i = 0; i < size; i++) {
+                double pointLat = lat[from + i];
+                double pointLng = lng[from + i];
+                int x = (int) Math.floor((pointLat - minLat) / cellLat);
+                int y = (int) Math.floor((pointLng - minLng) / cellLng);
+                long key = ((long) x << 32) | (y & 0xFFFFFFFFL);
+
+                long hash = key * 0x9E3779B97F4A7C15L;
+                int slot = (int) (hash ^ (hash >>> 32)) & mask;
+                while (tableCells[slot] != -1 && tableKeys[slot] != key) {
+                    slot = (slot + 1) & mask;
+                }
+                int cell = tableCells[slot];
+                if (cell == -1) {
+                    cell = cells++;
+                    tableKeys[slot] = key;
+                    tableCells[slot] = cell;
+                    if (cell == counts.length) {
+                        sumLat = Arrays.copyOf(sumLat, cell * 2);
+                        sumLng = Arrays.copyOf(sumLng, cell * 2);
+                        counts = Arrays.copyOf(counts, cell * 2);
+                    }
+                }
+                cellOf[i] = cell;
+                sumLat[cell] += pointLat;
+                sumLng[cell] += pointLng;
+                counts[cell]++;
+            }
+
+            // 4. 칸의 위치는 칸에 들어간 좌표들의 평균
+            count = cells;
+            lats = new double[cells];
+            lngs = new double[cells];
+            for (int c = 0; c < cells; c++) {
+                lats[c] = sumLat[c] / counts[c];
+                lngs[c] = sumLng[c] / counts[c];
+            }
+            weights = Arrays.copyOf(counts, cells);
+        }
+    }
+
+    /**
+     * epsilon 크기의 칸으로 나눈 균일 격자입니다.
+     * 칸 좌표를 long 키로 만들어 open addressing 해시 테이블에 넣고,
+     * 같은 칸의 점들은 next[] 배열로 연결 리스트처럼 이어 둡니다. (점마다 객체를 만들지 않음)
+     */
+    private final class GridIndex {
+        private final double[] latRad;
+        private final double[] lngRad;
+        private final double[] cosLat;
+        private final int[] cellX;
+        private final int[] cellY;
+        private final int[] next;
+
+        private final long[] tableKeys;
+        private final int[] tableHeads;
+        private final int mask;
+
+        int[] neighbours;
+
+        GridIndex(double[] lat, double[] lng, int from, int to) {
+            int size = to - from;
+            latRad = new double[size];
+            lngRad = new double[size];
+            cosLat = new double[size];
+            cellX = new int[size];
+            cellY = new int[size];
+            next = new int[size];
+            neighbours = new int[Math.min(size, 64)];
+
+            // 1. 격자의 원점과 칸 크기 계산 (경도 칸은 가장 높은 위도 기준으로 넉넉하게)
+            double minLat = Double.MAX_VALUE;
+            double minLng = Double.MAX_VALUE;
+            double maxAbsLat = 0;
+            for (int i = from; i < to; i++) {
+                minLat = Math.min(minLat, lat[i]);
+                minLng = Math.min(minLng, lng[i]);
+                maxAbsLat = Math.max(maxAbsLat, Math.abs(lat[i]));
+            }
+            double cellLat = epsilonMeters / GeoUtils.METERS_PER_DEGREE_LAT * CELL_MARGIN;
+            double cosMax = Math.max(Math.cos(Math.toRadians(maxAbsLat)), 1e-6);
+            double cellLng = epsilonMeters / (GeoUtils.METERS_PER_DEGREE_LAT * cosMax) * CELL_MARGIN;
+
+            // 2. 해시 테이블 초기화 (점 개수의 2배 이상인 2의 거듭제곱 크기)
+            int capacity = Integer.highestOneBit(Math.max(16, size * 2 - 1)) << 1;
+            tableKeys = new long[capacity];
+            tableHeads = new int[capacity];
+            Arrays.fill(tableHeads, -1);
+            mask = capacity - 1;
+
+            // 3. 각 점을 자신의 칸에 등록
+            for (int i = 0; i < size; i++) {
+                double pointLat = lat[from + i];
+                double pointLng = lng[from + i];
+                latRad[i] = Math.toRadians(pointLat);
+                lngRad[i] = Math.toRadians(pointLng);
+                cosLat[i] = Math.cos(latRad[i]);
+                cellX[i] = (int) Math.floor((pointLat - minLat) / cellLat);
+                cellY[i] = (int) Math.floor((pointLng - minLng) / cellLng);
+
+                long key = key(cellX[i], cellY[i]);
+                int slot = findSlot(key);
+                tableKeys[slot] = key;
+                next[i] = tableHeads[slot];
+                tableHeads[slot] = i;
+            }
+        }
+
+        /**
+         * p의 epsilon 이내 이웃(자기 자신 제외)을 neighbours 버퍼에 채우고 개수를 반환합니다.
+         */
+        int collectNeighbours(int p) {
+            int count = 0;
+            for (int dx = -1; dx <= 1; dx++) {
+                for (int dy = -1; dy <= 1; dy++) {
+                    int slot = findSlot(key(cellX[p] + dx, cellY[p] + dy));
+                    for (int q = tableHeads[slot]; q != -1; q = next[q]) {
+                        if (q == p) {
+                            continue;
+                        }
+                        double a = GeoUtils.haversine(latRad[p], lngRad[p], cosLat[p], latRad[q], lngRad[q], cosLat[q]);
+                        if (a <= maxHaversine) {
+                            if (count == neighbours.length) {
+                                neighbours = Arrays.copyOf(neighbours, count * 2);
+                            }
+                            neighbours[count++] = q;
+                        }
+                    }
+                }
+            }
+            return count;
+        }
+
+        // 키가 있는 슬롯, 없으면 비어 있는 슬롯(head == -1)을 반환합니다.
+        private int findSlot(long key) {
+            long hash = key * 0x9E3779B97F4A7C15L;
+            int slot = (int) (hash ^ (hash >>> 32)) & mask;
+            while (tableHeads[slot] != -1 && tableKeys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+
+        private long key(int x, int y) {
+            return ((long) x << 32) | (y & 0xFFFFFFFFL);
+        }
+    }
+}
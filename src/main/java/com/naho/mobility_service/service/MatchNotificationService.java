@@ -0,0 +1,206 @@
+package com.naho.mobility_service.service;
+
+import com.naho.mobility_service.domain.RequestStatus;
+import com.naho.mobility_service.domain.VirtualStop;
+import com.naho.mobility_service.dto.MatchResultEvent;
+import com.naho.mobility_service.dto.MatchedGroupDto;
+import com.naho.mobility_service.dto.RideRequestStatusDto;
+import com.naho.mobility_service.repository.RideRequestRepository;
+import com.naho.mobility_service.util.AfterCommit;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.function.IntFunction;
+
+/**
+ * 탑승 요청의 매칭 결과를 Server-Sent Events로 밀어 주는 서비스입니다.
+ * - 구독(SseEmitter)은 요청 ID별로 보관하고, 결과(MATCHED/CANCELED_NO_CAPACITY)를 한 번 보내면 연결을 닫습니다.
+ * - 대기 중인 연결은 서블릿 비동기 요청이라 스레드를 차지하지 않으며, 전송은 가상 스레드 실행기에서 처리합니다.
+ * - MatchingService가 커밋한 직후 구독 중인 요청에만 이벤트를 만들어 보냅니다.
+ * - 주기적으로 keep-alive 주석을 보내 끊긴 연결을 정리하고, 다른 인스턴스가 처리한 요청도 DB에서 확인해 보냅니다.
+ */
+@Slf4j
+@Service
+public class MatchNotificationService {
+
+    private final RideQueryService rideQueryService;
+    private final RideRequestRepository rideRequestRepository;
+    private final ExecutorService notificationExecutor;
+    private final long timeoutMillis;
+
+    // 요청 ID → 구독 중인 연결들 (결과를 보낼 때 remove로 꺼내므로 같은 결과가 두 번 전송되지 않음)
+    private final ConcurrentHashMap<Long, List<SseEmitter>> subscribers = new ConcurrentHashMap<>();
+
+    public MatchNotificationService(RideQueryService rideQueryService,
+                                    RideRequestRepository rideRequestRepository,
+                                    ExecutorService notificationExecutor,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${mobility-app.notification.sse-timeout:3h}") Duration timeout) {
+        this.rideQueryService = rideQueryService;
+        this.rideRequestRepository = rideRequestRepository;
+        this.notificationExecutor = notificationExecutor;
+        this.timeoutMillis = timeout.toMillis();
+        meterRegistry.gaugeMapSize("notification.sse.subscriptions", List.of(), subscribers);
+    }
+
+    /**
+     * 요청의 매칭 결과를 구독합니다. 요청이 없으면 empty를 반환합니다.
+     * 이미 결과가 나온 요청이면 바로 결과를 보내고 연결을 닫습니다.
+     */
+    public Optional<SseEmitter> subscribe(long requestId) {
+        Optional<RideRequestStatusDto> current = rideQueryService.findRequest(requestId);
+        if (current.isEmpty()) {
+            return Optional.empty();
+        }
+
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        // 1. 먼저 등록한 뒤 상태를 확인해야, 그 사이 커밋된 결과를 놓치지 않음
+        subscribers.compute(requestId, (id, emitters) -> {
+            List<SseEmitter> list = emitters == null ? new CopyOnWriteArrayList<>() : emitters;
+            list.add(emitter);
+            return list;
+        });
+        emitter.onCompletion(() -> unsubscribe(requestId, emitter));
+        emitter.onTimeout(() -> unsubscribe(requestId, emitter));
+        emitter.onError(e -> unsubscribe(requestId, emitter));
+
+        // 2. 이미 결과가 나왔으면 (등록을 직접 해제한 경우에만) 바로 전송 → 알림 쪽과 중복 전송하지 않음
+        RideRequestStatusDto status = rideQueryService.findRequest(requestId).orElse(current.get());
+        if (status.status().isFinished() && unsubscribe(requestId, emitter)) {
+            send(List.of(emitter), toEvent(status));
+        }
+        return Optional.of(emitter);
+    }
+
+    /**
+     * 현재 트랜잭션이 커밋된 뒤, ids 중 구독 중인 요청에 결과를 보냅니다.
+     * 이벤트는 구독자가 있는 요청에 대해서만 eventAt(ids의 순번)으로 만듭니다.
+     */
+    public void publishAfterCommit(List<Long> ids, IntFunction<MatchResultEvent> eventAt) {
+        AfterCommit.run(() -> {
+            if (subscribers.isEmpty()) {
+                return;
+            }
+            for (int i = 0; i < ids.size(); i++) {
+                List<SseEmitter> emitters = subscribers.remove(ids.get(i));
+                if (emitters != null) {
+                    send(emitters, eventAt.apply(i));
+                }
+            }
+        });
+    }
+
+    /**
+     * 모든 연결에 keep-alive 주석을 보내고(프록시의 유휴 연결 종료 방지, 끊긴 연결 정리),
+     * 알림을 받지 못한 채 결과가 나온 요청(다른 인스턴스가 매칭한 요청 등)을 DB에서 찾아 결과를 보냅니다.
+     */
+    @Scheduled(fixedDelayString = "${mobility-app.notification.heartbeat-interval-ms:30000}")
+    public void heartbeat() {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        subscribers.forEach((id, emitters) -> emitters.forEach(emitter -> notificationExecutor.execute(() -> {
+            try {
+                emitter.send(SseEmitter.event().comment("keep-alive"));
+            } catch (IOException | IllegalStateException e) {
+                emitter.completeWithError(e);
+            }
+        })));
+
+        // 구독 중인 요청 중 결과가 나온(PENDING/CLAIMED가 아닌) 요청을 찾아 결과 전송
+        List<Long> ids = new ArrayList<>(subscribers.keySet());
+        for (int from = 0; from < ids.size(); from += RideRequestRepository.BULK_CHUNK_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(from + RideRequestRepository.BULK_CHUNK_SIZE, ids.size()));
+            Set<Long> stillOpen = new HashSet<>(rideRequestRepository.findIdsByIdInAndStatusIn(chunk, RequestStatus.OPEN));
+            List<Long> finished = chunk.stream().filter(id -> !stillOpen.contains(id)).toList();
+            rideQueryService.evictRequests(finished); // 다른 인스턴스가 바꾼 상태일 수 있으므로 캐시를 비우고 다시 읽음
+            for (Long id : finished) {
+                Optional<RideRequestStatusDto> status = rideQueryService.findRequest(id);
+                List<SseEmitter> emitters = subscribers.remove(id);
+                if (emitters == null) {
+                    continue;
+                }
+                if (status.isPresent()) {
+                    send(emitters, toEvent(status.get()));
+                } else {
+                    // 요청이 사라짐 (보관 테이블에도 없음): 보낼 결과가 없으므로 연결만 닫아 클라이언트가 다시 조회하게 함
+                    complete(emitters);
+                }
+            }
+        }
+    }
+
+    public int subscriptionCount() {
+        return subscribers.size();
+    }
+
+    // 해당 연결의 구독을 해제하고, 이 호출이 실제로 해제했는지 반환
+    private boolean unsubscribe(long requestId, SseEmitter emitter) {
+        boolean[] removed = new boolean[1];
+        subscribers.computeIfPresent(requestId, (id, emitters) -> {
+            removed[0] = emitters.remove(emitter);
+            return emitters.isEmpty() ? null : emitters;
+        });
+        return removed[0];
+    }
+
+    private void send(List<SseEmitter> emitters, MatchResultEvent event) {
+        for (SseEmitter emitter : emitters) {
+            notificationExecutor.execute(() -> {
+                try {
+                    emitter.send(SseEmitter.event()
+                            .id(String.valueOf(event.rideRequestId()))
+                            .name(event.status().name())
+                            .data(event, MediaType.APPLICATION_JSON));
+                    emitter.complete();
+                } catch (IOException | IllegalStateException e) {
+                    // 클라이언트가 이미 연결을 끊음 (다시 구독하면 현재 상태를 바로 받음)
+                    log.debug("매칭 결과 전송 실패: request={}, {}", event.rideRequestId(), e.toString());
+                    emitter.completeWithError(e);
+                }
+            });
+        }
+    }
+
+    private void complete(List<SseEmitter> emitters) {
+        for (SseEmitter emitter : emitters) {
+            notificationExecutor.execute(emitter::complete);
+        }
+    }
+
+    // 조회 결과로 알림 이벤트를 만듦 (매칭된 경우 그룹에서 출발 시간과 정류장을 찾음)
+    private MatchResultEvent toEvent(RideRequestStatusDto status) {
+        return switch (status.status()) {
+            case MATCHED -> toMatchedEvent(status);
+            case CANCELED_NO_CAPACITY -> MatchResultEvent.canceled(status.id());
+            case PENDING, CLAIMED -> throw new IllegalStateException(
+                    "아직 결과가 나오지 않은 요청입니다: " + status.id() + " (" + status.status() + ")");
+        };
+    }
+
+    private MatchResultEvent toMatchedEvent(RideRequestStatusDto status) {
+        if (status.matchedGroupId() == null || status.virtualStopIndex() == null) {
+            throw new IllegalStateException("매칭된 요청에 배정 정보가 없습니다: " + status.id());
+        }
+        MatchedGroupDto group = rideQueryService.findGroup(status.matchedGroupId()).orElseThrow(
+                () -> new IllegalStateException("매칭된 그룹을 찾을 수 없습니다: " + status.matchedGroupId()));
+        MatchedGroupDto.Stop stop = group.stops().get(status.virtualStopIndex());
+        return MatchResultEvent.matched(status.id(), group.id(), group.finalDepartureTime(),
+                status.virtualStopIndex(), new VirtualStop(stop.lat(), stop.lng()));
+    }
+}
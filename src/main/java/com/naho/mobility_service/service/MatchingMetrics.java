@@ -0,0 +1,130 @@
+package com.naho.mobility_service.service;
+
+import com.naho.mobility_service.domain.Region;
+import com.naho.mobility_service.domain.VirtualStopAssignment;
+import com.naho.mobility_service.dto.RegionMatchResult;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * 매칭 과정의 Micrometer 지표를 모아 둔 컴포넌트입니다. (/actuator/metrics, /actuator/prometheus)
+ * - matching.phase: 단계(fetch/group/cluster/sequence/persist/status-update)별 소요 시간
+ * - matching.requests: 권역별 후보/매칭/취소 인원
+ * - matching.cluster.count, matching.noise.ratio: 그룹마다 클러스터 개수와 Noise 비율 분포
+ * 권역 × 단계 조합은 고정되어 있으므로 미리 만들어 두고, 매칭 중에는 조회만 합니다.
+ */
+@Component
+public class MatchingMetrics {
+
+    public enum Phase {
+        FETCH("fetch"),                  // 인덱스에서 권역의 후보 조회
+        CLAIM("claim"),                  // 후보를 CLAIMED로 가져오기
+        GROUP("group"),                  // 후보가 있는 권역 목록 계산
+        CLUSTER("cluster"),              // 가상 정류장 클러스터링
+        SEQUENCE("sequence"),            // 차량 배분 및 정류장 방문 순서 결정
+        PERSIST("persist"),              // MatchedGroup 저장
+        STATUS_UPDATE("status-update");  // 요청 상태 일괄 변경 (매칭/취소)
+
+        private final String tag;
+
+        Phase(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    private static final String ALL_REGIONS = "all";
+
+    private final Map<Phase, Timer> allRegionTimers = new EnumMap<>(Phase.class);
+    private final Map<Region, Map<Phase, Timer>> phaseTimers = new EnumMap<>(Region.class);
+    private final Map<Region, RegionMeters> regionMeters = new EnumMap<>(Region.class);
+
+    public MatchingMetrics(MeterRegistry registry) {
+        for (Phase phase : Phase.values()) {
+            allRegionTimers.put(phase, phaseTimer(registry, phase, ALL_REGIONS));
+        }
+        for (Region region : Region.values()) {
+            Map<Phase, Timer> timers = new EnumMap<>(Phase.class);
+            for (Phase phase : Phase.values()) {
+                timers.put(phase, phaseTimer(registry, phase, region.name()));
+            }
+            phaseTimers.put(region, timers);
+            regionMeters.put(region, new RegionMeters(registry, region.name()));
+        }
+    }
+
+    /**
+     * 권역 하나의 단계 실행 시간을 기록합니다.
+     */
+    public <T> T time(Region region, Phase phase, Supplier<T> action) {
+        return phaseTimers.get(region).get(phase).record(action);
+    }
+
+    public void time(Region region, Phase phase, Runnable action) {
+        phaseTimers.get(region).get(phase).record(action);
+    }
+
+    /**
+     * 권역 구분이 없는 단계(예: 권역 목록 계산)의 실행 시간을 기록합니다.
+     */
+    public <T> T time(Phase phase, Supplier<T> action) {
+        return allRegionTimers.get(phase).record(action);
+    }
+
+    public void recordResult(RegionMatchResult result) {
+        RegionMeters meters = regionMeters.get(result.region());
+        meters.candidates.increment(result.candidates());
+        meters.matched.increment(result.matched());
+        meters.canceled.increment(result.canceled());
+    }
+
+    public void recordClusters(Region region, int groupSize, VirtualStopAssignment assignment) {
+        RegionMeters meters = regionMeters.get(region);
+        meters.clusterCount.record(assignment.clusterCount());
+        meters.noiseRatio.record(groupSize == 0 ? 0 : assignment.noiseCount() / (double) groupSize);
+    }
+
+    private static Timer phaseTimer(MeterRegistry registry, Phase phase, String region) {
+        return Timer.builder("matching.phase")
+                .description("매칭 단계별 소요 시간")
+                .tag("phase", phase.tag)
+                .tag("region", region)
+                .register(registry);
+    }
+
+    private static final class RegionMeters {
+        private final Counter candidates;
+        private final Counter matched;
+        private final Counter canceled;
+        private final DistributionSummary clusterCount;
+        private final DistributionSummary noiseRatio;
+
+        RegionMeters(MeterRegistry registry, String region) {
+            candidates = requestCounter(registry, region, "candidate");
+            matched = requestCounter(registry, region, "matched");
+            canceled = requestCounter(registry, region, "canceled");
+            clusterCount = DistributionSummary.builder("matching.cluster.count")
+                    .description("매칭된 그룹의 클러스터(가상 정류장 중 중심점) 개수")
+                    .tag("region", region)
+                    .register(registry);
+            noiseRatio = DistributionSummary.builder("matching.noise.ratio")
+                    .description("매칭된 그룹에서 어느 클러스터에도 속하지 않은 요청의 비율")
+                    .tag("region", region)
+                    .register(registry);
+        }
+
+        private static Counter requestCounter(MeterRegistry registry, String region, String outcome) {
+            return Counter.builder("matching.requests")
+                    .description("권역별 매칭 후보/매칭/취소 인원")
+                    .tag("region", region)
+                    .tag("outcome", outcome)
+                    .register(registry);
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package com.naho.mobility_service.service;
+
+import com.naho.mobility_service.domain.GeoPoint;
+import com.naho.mobility_service.domain.MatchingCandidate;
+import com.naho.mobility_service.domain.RegionZone;
+import com.naho.mobility_service.domain.RideRequest;
+import com.naho.mobility_service.dto.RegionMatchResult;
+import com.naho.mobility_service.dto.ReplayReport;
+import com.naho.mobility_service.repository.RideRequestRepository;
+import com.naho.mobility_service.util.RideRequestEventLog;
+import com.naho.mobility_service.util.RideRequestEventLog.Event;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 과거 수요(이벤트 로그)를 시뮬레이션 시각으로 빠르게 흘려보내며 매칭 엔진을 실행합니다. (replay 프로필 전용)
+ * 1. 시뮬레이션 시각을 로그의 첫 접수 시각(정각)부터 matching-interval씩 진행
+ * 2. 그 시각까지 접수된 이벤트를 운영과 같은 규칙(RegionResolver)으로 요청으로 만들어 저장하고 PENDING 인덱스에 추가
+ * 3. 스케줄 매칭과 같은 규칙으로 MatchingService로 매칭 (MatchingService#runScheduledMatching)
+ * 로그를 다 읽고 마지막 희망 시간이 지나면 끝나고, 매칭/취소/미매칭 인원과 차량/정류장 수, 매칭 처리량을 보고합니다.
+ * replay 프로필은 인메모리 DB를 사용하므로 운영 DB에는 아무것도 쓰지 않습니다.
+ */
+@Slf4j
+@Component
+@Profile("replay")
+public class MatchingReplayService {
+
+    private final RideRequestRepository rideRequestRepository;
+    private final PendingRequestIndex pendingRequestIndex;
+    private final MatchingService matchingService;
+    private final RegionResolver regionResolver;
+    private final Duration matchingInterval;
+    private final double speed;
+    private final int ingestChunkSize;
+
+    /**
+     * @param matchingInterval 매칭 실행 간격 (시뮬레이션 시각 기준, 운영의 cron 주기에 해당)
+     * @param speed            배속 (시뮬레이션 초 / 실제 초, 0이면 기다리지 않음)
+     */
+    public MatchingReplayService(RideRequestRepository rideRequestRepository,
+                                 PendingRequestIndex pendingRequestIndex,
+                                 MatchingService matchingService,
+                                 RegionResolver regionResolver,
+                                 @Value("${mobility-app.replay.matching-interval:1h}") Duration matchingInterval,
+                                 @Value("${mobility-app.replay.speed:0}") double speed,
+                                 @Value("${mobility-app.replay.ingest-chunk-size:5000}") int ingestChunkSize) {
+        if (matchingInterval.isNegative() || matchingInterval.isZero()) {
+            throw new IllegalArgumentException("replay.matching-interval은 0보다 커야 합니다: " + matchingInterval);
+        }
+        if (speed < 0 || ingestChunkSize < 1) {
+            throw new IllegalArgumentException("replay.speed는 0 이상, ingest-chunk-size는 1 이상이어야 합니다.");
+        }
+        this.rideRequestRepository = rideRequestRepository;
+        this.pendingRequestIndex = pendingRequestIndex;
+        this.matchingService = matchingService;
+        this.regionResolver = regionResolver;
+        this.matchingInterval = matchingInterval;
+        this.speed = speed;
+        this.ingestChunkSize = ingestChunkSize;
+    }
+
+    public ReplayReport replay(Path logPath) {
+        long startNanos = System.nanoTime();
+        try (RideRequestEventLog eventLog = RideRequestEventLog.open(logPath)) {
+            Event first = eventLog.peek();
+            if (first == null) {
+                throw new IllegalArgumentException("이벤트 로그가 비어 있습니다: " + logPath);
+            }
+            LocalDateTime start = first.submittedAt().truncatedTo(ChronoUnit.HOURS);
+            LocalDateTime lastRequestedTime = first.requestedTime();
+            Totals totals = new Totals();
+
+            LocalDateTime clock = start;
+            while (true) {
+                // 1. 시뮬레이션 시각까지 접수된 이벤트를 chunk 단위로 저장
+                List<RideRequest> chunk = new ArrayList<>(ingestChunkSize);
+                while (eventLog.hasNext() && !eventLog.peek().submittedAt().isAfter(clock)) {
+                    Event event = eventLog.next();
+                    totals.events++;
+                    RideRequest request = toRideRequest(event);
+                    if (request == null) {
+                        totals.rejected++;
+                        continue;
+                    }
+                    if (event.requestedTime().isAfter(lastRequestedTime)) {
+                        lastRequestedTime = event.requestedTime();
+                    }
+                    chunk.add(request);
+                    if (chunk.size() == ingestChunkSize) {
+                        save(chunk);
+                        chunk = new ArrayList<>(ingestChunkSize);
+                    }
+                }
+                save(chunk);
+
+                // 2. 스케줄 매칭과 같은 규칙으로 매칭 (희망 시간이 지난 후보 정리, 이미 매칭한 창의 늦은 접수 포함)
+                long matchingStartNanos = System.nanoTime();
+                List<RegionMatchResult> results = matchingService.runScheduledMatching(clock);
+                totals.add(results, System.nanoTime() - matchingStartNanos);
+
+                // 3. 로그를 다 읽었고 시각이 마지막 희망 시간을 지나면, 이후 매칭 창에는 더 이상 후보가 없음
+                if (!eventLog.hasNext() && clock.isAfter(lastRequestedTime)) {
+                    break;
+                }
+                clock = clock.plus(matchingInterval);
+                pace(start, clock, startNanos);
+            }
+
+            ReplayReport report = totals.toReport(Duration.between(start, clock),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+            log.info("리플레이 완료 ({}): {}", logPath, report);
+            return report;
+        }
+    }
+
+    // 운영 접수와 같이 좌표로 권역을 확인 (맞지 않으면 null)
+    private RideRequest toRideRequest(Event event) {
+        try {
+            RegionZone zone = regionResolver.resolve(event.region(), new GeoPoint(event.lat(), event.lng()));
+            return new RideRequest(zone, event.requestedTime(), event.lat(), event.lng());
+        } catch (IllegalArgumentException e) {
+            log.debug("리플레이 이벤트 거절: {} ({})", event, e.getMessage());
+            return null;
+        }
+    }
+
+    private void save(List<RideRequest> chunk) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        // saveAll의 트랜잭션이 커밋된 뒤에 인덱스에 추가됨
+        rideRequestRepository.saveAll(chunk).forEach(request -> pendingRequestIndex.add(MatchingCandidate.from(request)));
+    }
+
+    // 배속에 맞춰 시뮬레이션 시각이 실제 경과 시간을 앞서지 않도록 기다림
+    private void pace(LocalDateTime start, LocalDateTime clock, long startNanos) {
+        if (speed == 0) {
+            return;
+        }
+        long targetNanos = (long) (Duration.between(start, clock).toNanos() / speed);
+        long waitNanos = targetNanos - (System.nanoTime() - startNanos);
+        if (waitNanos > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(waitNanos);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("리플레이가 중단되었습니다.", e);
+            }
+        }
+    }
+
+    private static final class Totals {
+        private long events;
+        private long rejected;
+        private long matched;
+        private long canceled;
+        private long vehicles;
+        private long stops;
+        private int matchingRuns;
+        private int failedRegions;
+        private long matchingNanos;
+
+        void add(List<RegionMatchResult> results, long elapsedNanos) {
+            matchingRuns++;
+            matchingNanos += elapsedNanos;
+            for (RegionMatchResult result : results) {
+                if (result.isFailed()) {
+                    failedRegions++;
+                    continue;
+                }
+                matched += result.matched();
+                canceled += result.canceled();
+                vehicles += result.vehicles();
+                stops += result.stops();
+            }
+        }
+
+        ReplayReport toReport(Duration simulated, long elapsedMillis) {
+            long unmatched = events - rejected - matched - canceled;
+            return new ReplayReport(events, rejected, matched, canceled, unmatched, vehicles, stops, matchingRuns,
+                    failedRegions, simulated, TimeUnit.NANOSECONDS.toMillis(matchingNanos), elapsedMillis);
+        }
+    }
+}
@@ -1,29 +1,37 @@
 package com.naho.mobility_service.service;
 
 import com.naho.mobility_service.domain.*;
+import com.naho.mobility_service.dto.MatchResultEvent;
+import com.naho.mobility_service.dto.RegionMatchResult;
 import com.naho.mobility_service.repository.MatchedGroupRepository;
 import com.naho.mobility_service.repository.RideRequestRepository;
-import org.apache.commons.math3.ml.distance.EuclideanDistance;
-import org.springframework.transaction.annotation.Transactional;
+import com.naho.mobility_service.service.MatchingMetrics.Phase;
 import lombok.RequiredArgsConstructor;
-import org.apache.commons.math3.ml.clustering.Cluster;
-import org.apache.commons.math3.ml.clustering.DBSCANClusterer;
-import org.apache.commons.math3.ml.clustering.DoublePoint;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
-
-import com.naho.mobility_service.domain.VirtualStop;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 
+@Slf4j
 @Service //이 클래스가 비즈니스 로직을 담당하는 서비스 계층임을 나타냄
 @RequiredArgsConstructor // final 필드에 대한 생성자를 자동으로 만들어 줌(Lombok)
 public class MatchingService {
@@ -32,115 +40,559 @@ public class MatchingService {
     @Value("${mobility-app.matching.minimum-passengers}")
     private int MINIMUM_PASSENGERS;
 
+    //매칭 대상 창(Window)의 폭 (중심 시간 기준 앞뒤로 절반씩)
+    @Value("${mobility-app.matching.window-width:60m}")
+    private Duration windowWidth;
+
+    //이 시간이 지나도록 CLAIMED로 남은 요청은 실행이 죽은 것으로 보고 PENDING으로 되돌림
+    @Value("${mobility-app.matching.claim-timeout:10m}")
+    private Duration claimTimeout;
+
+    //이미 매칭한 창에 늦게 접수된 요청을 다시 매칭할 때, 출발까지 최소한 남아 있어야 하는 시간
+    @Value("${mobility-app.matching.late-booking-lead:60m}")
+    private Duration lateBookingLead;
+
     //DB에 접근하기 위한 리포지토리를 주입받음
     private final RideRequestRepository rideRequestRepository;
     private final MatchedGroupRepository matchedGroupRepository;
 
+    //PENDING 요청을 권역/시간 슬롯별로 보관하는 메모리 인덱스 (매칭 후보를 여기서 읽음)
+    private final PendingRequestIndex pendingRequestIndex;
+
+    //가상 정류장 생성을 담당하는 클러스터러와, 차량 배분/방문 순서를 정하는 시퀀서
+    private final GridDbscanClusterer clusterer;
+    private final RouteSequencer routeSequencer;
+
+    //권역별 매칭을 병렬로 실행할 스레드 풀과, 권역마다 트랜잭션을 따로 열기 위한 템플릿
+    private final ExecutorService matchingExecutor;
+    private final TransactionTemplate transactionTemplate;
+
+    //클러스터 모드에서 takeover-delay 뒤에 다른 노드의 권역을 넘겨받는 작업을 실행할 스레드 (스케줄러 스레드를 잡지 않음)
+    private final ExecutorService takeoverExecutor;
+
+    //단계별 소요 시간, 권역별 인원, 클러스터 분포 지표
+    private final MatchingMetrics matchingMetrics;
+
+    //상태 조회 API의 캐시 (요청 상태를 바꾸면 커밋 후 무효화)
+    private final RideQueryService rideQueryService;
+
+    //매칭 결과를 기다리는 탑승자에게 SSE로 알림
+    private final MatchNotificationService matchNotificationService;
+
+    //여러 인스턴스가 권역을 나누어 매칭할 때 담당 권역과 임대(lease)를 관리
+    private final ClusterCoordinator clusterCoordinator;
+
+    //클러스터 모드에서 DB로부터 권역 후보를 읽어올 때의 chunk 크기
+    private static final int FETCH_CHUNK_SIZE = 5000;
+
+    //시작 직후 인덱스 재구성을 기다리는 최대 시간
+    private static final Duration INDEX_REBUILD_TIMEOUT = Duration.ofMinutes(5);
+
 
     /**
      * 매 시간 정각에 실행되어 매칭 로직을 시작
+     * 클러스터 모드에서 다른 노드의 권역을 넘겨받는 작업은 takeover-delay 뒤에 takeoverExecutor에서 끝나므로,
+     * 스케줄러 스레드는 그 결과를 기다리지 않고 바로 다음 스케줄 작업(SSE keep-alive, 보관 등)에 쓰입니다.
      */
-    @Transactional // 이 메서드의 모든 DB 작업을 하나의 트랜잭션으로 묶는다
-    @Scheduled(cron = "0 0 * * * *") //매시간 0분 0초에 실행
-    public void runConsolidatedMatching(){
-        // 1. 매칭의 기준이 될 '중심 시간'을 설정 (예: 20시에 실행된다면, 23:00가 중심 시간)
-        LocalDateTime centralTime = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS).plusHours(3);
-
-        // 2. 중심 시간 기준 ±30분 범위(총 1시간)를 매칭 대상 창(Window)으로 설정
-        LocalDateTime windowStart = centralTime.minusMinutes(30);
-        LocalDateTime windowEnd = centralTime.plusMinutes(30);
-
-        System.out.println(
-                "[" + LocalDateTime.now() + "] 통합 매칭 시스템 실행: " + windowStart + " ~ " + windowEnd + "사이의 모든 요청을 처리합니다."
-        );
-
-        // 3. 해당 시간 범위 내의 모든 PENDING 요청을 DB에서 불러옴
-        List<RideRequest> candidate = rideRequestRepository.findAllByStatusAndRequestedTimeBetween(
-                RequestStatus.PENDING, windowStart, windowEnd);
-
-        if(candidate.isEmpty()){
-            System.out.println("처리할 예약 요청이 없습니다.");
-            return;
+    @Scheduled(cron = "${mobility-app.matching.cron}") //기본값: 매시간 0분 0초에 실행
+    public void startScheduledMatching(){
+        runScheduledMatchingAsync(LocalDateTime.now()).whenComplete((results, e) -> {
+            if (e != null) {
+                log.error("스케줄 매칭 실패", e);
+            }
+        });
+    }
+
+    /**
+     * 스케줄 실행 한 번에 해당하는 매칭을 끝까지 기다립니다. (리플레이도 시뮬레이션 시각으로 이 메서드를 호출)
+     */
+    public List<RegionMatchResult> runScheduledMatching(LocalDateTime now){
+        return runScheduledMatchingAsync(now).join();
+    }
+
+    /**
+     * 스케줄 실행 한 번에 해당하는 매칭입니다.
+     * 1. 희망 시간이 이미 지난 요청은 더 이상 매칭 대상이 아니므로 인덱스에서 정리
+     * 2. 이번 중심 시간의 창을 매칭
+     * 3. 이전 실행들이 이미 매칭한 창에 그 뒤로 접수된 요청을 매칭 (matchLateBookings)
+     * 클러스터 모드에서는 창마다 넘겨받기 작업이 따로 예약되어 동시에 기다리므로, 창이 여러 개여도 기다림은 한 번입니다.
+     */
+    public CompletableFuture<List<RegionMatchResult>> runScheduledMatchingAsync(LocalDateTime now){
+        pendingRequestIndex.evictBefore(now);
+
+        LocalDateTime centralTime = centralTimeAt(now);
+        List<CompletableFuture<List<RegionMatchResult>>> windows = new ArrayList<>();
+        windows.add(matchCentralWindow(centralTime));
+        windows.addAll(matchLateBookings(now, centralTime));
+        return CompletableFuture.allOf(windows.toArray(CompletableFuture[]::new))
+                .thenApply(done -> windows.stream().flatMap(window -> window.join().stream()).toList());
+    }
+
+    /**
+     * 1. 매칭의 기준이 될 '중심 시간'을 설정 (예: 20시에 실행된다면, 23:00가 중심 시간)
+     * 리플레이처럼 시뮬레이션 시각으로 매칭을 실행할 때도 같은 규칙을 사용합니다.
+     */
+    public static LocalDateTime centralTimeAt(LocalDateTime now){
+        return now.truncatedTo(ChronoUnit.HOURS).plusHours(3);
+    }
+
+    /**
+     * 중심 시간 기준 ±(window-width / 2) 창의 요청을 권역(Region)별로 나누어 병렬로 매칭합니다.
+     * 권역마다 별도의 짧은 트랜잭션(claim, 결과 저장)을 사용하므로, 한 권역이 느리거나 실패해도 다른 권역의 결과는 그대로 커밋됩니다.
+     * 후보는 claim한 실행만 처리하므로, 스케줄 실행과 수동 실행이 겹쳐도 같은 요청이 두 번 매칭되지 않습니다.
+     * @return 권역별 처리 결과(후보/매칭/취소 인원, 소요 시간, 실패 사유)
+     */
+    public List<RegionMatchResult> runConsolidatedMatching(LocalDateTime centralTime){
+        return matchCentralWindow(centralTime).join();
+    }
+
+    private CompletableFuture<List<RegionMatchResult>> matchCentralWindow(LocalDateTime centralTime){
+        // 2. 중심 시간 기준 ±30분 범위(기본값 총 1시간)를 매칭 대상 창(Window)으로 설정
+        Duration halfWindow = windowWidth.dividedBy(2);
+        LocalDateTime windowStart = centralTime.minus(halfWindow);
+        LocalDateTime windowEnd = centralTime.plus(halfWindow);
+
+        log.info("통합 매칭 시스템 실행: {} ~ {} 사이의 모든 요청을 처리합니다.", windowStart, windowEnd);
+
+        // 이전 실행이 죽어서 남긴 claim이 있으면 먼저 되돌려서 이번 실행의 후보에 포함
+        releaseStaleClaims();
+
+        return matchWindow(centralTime.toString(), windowStart, windowEnd);
+    }
+
+    /**
+     * 이전 실행들이 이미 매칭한 창(이번 창보다 앞쪽)에 그 뒤로 접수된 PENDING 요청을, 원래의 창 단위로 다시 매칭합니다.
+     * 매칭 주기와 창의 폭이 같다고 보고(기본값 1시간) 이번 중심 시간에서 window-width씩 앞으로 가며 창을 만들고,
+     * 출발까지 late-booking-lead보다 적게 남은 요청은 배차할 시간이 없으므로 제외합니다.
+     * (그런 요청은 희망 시간이 지나면 인덱스에서 정리되고, 끝까지 PENDING으로 남습니다.)
+     */
+    private List<CompletableFuture<List<RegionMatchResult>>> matchLateBookings(LocalDateTime now, LocalDateTime centralTime){
+        Duration halfWindow = windowWidth.dividedBy(2);
+        LocalDateTime earliest = now.plus(lateBookingLead);
+        List<CompletableFuture<List<RegionMatchResult>>> results = new ArrayList<>();
+        for (LocalDateTime previous = centralTime.minus(windowWidth);
+             !previous.plus(halfWindow).isBefore(earliest);
+             previous = previous.minus(windowWidth)) {
+            LocalDateTime windowStart = previous.minus(halfWindow).isBefore(earliest) ? earliest : previous.minus(halfWindow);
+            LocalDateTime windowEnd = previous.plus(halfWindow);
+            log.info("늦은 접수 매칭: {} ~ {} 사이에 남아 있는 요청을 처리합니다.", windowStart, windowEnd);
+            // 같은 창을 여러 번 다시 매칭하므로, 클러스터 모드의 임대 이름에 실행 시각을 포함
+            results.add(matchWindow("late:" + previous + "@" + now.truncatedTo(ChronoUnit.MINUTES), windowStart, windowEnd));
+        }
+        return results;
+    }
+
+    // [windowStart, windowEnd] 창의 후보를 권역별로 병렬 매칭 (leaseKey는 클러스터 모드에서 권역 임대 이름에 사용)
+    // 클러스터 모드가 아니면 반환할 때 이미 끝난 future를 돌려줌
+    private CompletableFuture<List<RegionMatchResult>> matchWindow(String leaseKey, LocalDateTime windowStart, LocalDateTime windowEnd){
+        if(clusterCoordinator.isEnabled()){
+            return runShardedMatching(leaseKey, windowStart, windowEnd);
         }
+        return CompletableFuture.completedFuture(matchLocalWindow(windowStart, windowEnd));
+    }
 
-        // 4. 대권역(region)별로 그룸핑
-        Map<Region, List<RideRequest>> requestsByRegion = candidate.stream()
-                .collect(Collectors.groupingBy(RideRequest::getRegion));
+    private List<RegionMatchResult> matchLocalWindow(LocalDateTime windowStart, LocalDateTime windowEnd){
+        // 빠른 시작 모드에서는 인덱스를 백그라운드에서 재구성하므로, 끝날 때까지 기다린 뒤 읽음
+        pendingRequestIndex.awaitRebuilt(INDEX_REBUILD_TIMEOUT);
 
-        // 5. 각 그룹별로 매칭 시도
-        requestsByRegion.forEach((region, group) -> {
-            System.out.println(region + "행 그룹에 " + group.size() + "명의 후보가 있습니다.");
-            if(group.size() < MINIMUM_PASSENGERS){
-                //최소 인원 미달 시, 그룹 내 모든 요청 취소 처리
-                cancelRequests(group);
+        // 3. 메모리 인덱스에서 해당 시간 범위의 후보를 열(column) 단위 스냅샷으로 한 번에 꺼내고,
+        //    PENDING 요청이 있는 대권역(region) 목록만 추림 (스냅샷은 권역별 연속 구간으로 정렬되어 있음)
+        MatchingWindowSnapshot snapshot = matchingMetrics.time(Phase.FETCH,
+                () -> pendingRequestIndex.snapshot(windowStart, windowEnd));
+        List<Region> regions = matchingMetrics.time(Phase.GROUP, () -> List.copyOf(snapshot.regions()));
+
+        if(regions.isEmpty()){
+            log.info("처리할 예약 요청이 없습니다.");
+            return List.of();
+        }
+
+        // 4. 각 권역을 매칭 전용 스레드 풀에서 동시에 처리
+        long startNanos = System.nanoTime();
+        List<Future<RegionMatchResult>> futures = regions.stream()
+                .map(region -> matchingExecutor.submit(() -> matchRegion(snapshot, region)))
+                .toList();
+
+        // 5. 모든 권역이 끝날 때까지 기다린 뒤 결과를 모아서 보고
+        List<RegionMatchResult> results = awaitResults(regions, futures);
+        report(results, startNanos);
+        return results;
+    }
+
+    /**
+     * 여러 인스턴스가 같은 DB를 공유할 때의 매칭입니다. 권역이 샤드(shard) 단위가 됩니다.
+     * 1. 살아 있는 노드 중 이 노드가 우선 담당자인 권역을 먼저 처리
+     * 2. takeover-delay만큼 기다린 뒤, 나머지 권역 중 아무도 처리하지 않았거나 담당 노드가 죽은 권역을 넘겨받아 처리
+     *    기다리는 동안 호출한 스레드(스케줄러 스레드)를 잡지 않도록 넘겨받기는 takeoverExecutor에 예약하고, 그 결과까지 합친 future를 반환
+     * 권역마다 "매칭 창 + 권역" 이름의 임대를 얻은 노드만 처리하므로, 같은 권역이 두 노드에서 동시에 매칭되지 않습니다.
+     * 노드마다 메모리 인덱스의 내용이 다르므로 후보는 임대를 얻은 뒤 DB에서 직접 읽습니다.
+     */
+    private CompletableFuture<List<RegionMatchResult>> runShardedMatching(String leaseKey, LocalDateTime windowStart, LocalDateTime windowEnd){
+        long startNanos = System.nanoTime();
+        List<String> liveNodes = clusterCoordinator.liveNodes();
+
+        List<Region> preferred = new ArrayList<>();
+        List<Region> others = new ArrayList<>();
+        for (Region region : Region.values()) {
+            (clusterCoordinator.isPreferredOwner(region, liveNodes) ? preferred : others).add(region);
+        }
+        log.info("노드 {} 담당 권역: {} (살아 있는 노드 {}개)", clusterCoordinator.getNodeId(), preferred, liveNodes.size());
+
+        List<RegionMatchResult> results = new ArrayList<>(matchShards(preferred, leaseKey, windowStart, windowEnd, liveNodes));
+
+        if(others.isEmpty()){
+            report(results, startNanos);
+            return CompletableFuture.completedFuture(results);
+        }
+
+        // 담당 노드가 먼저 처리할 시간을 준 뒤, 남아 있는 권역만 넘겨받음
+        Executor delayed = CompletableFuture.delayedExecutor(
+                clusterCoordinator.getTakeoverDelay().toMillis(), TimeUnit.MILLISECONDS, takeoverExecutor);
+        return CompletableFuture
+                .supplyAsync(() -> matchShards(others, leaseKey, windowStart, windowEnd, clusterCoordinator.liveNodes()), delayed)
+                .exceptionally(e -> {
+                    // 넘겨받기를 시도하지 못한 권역은 실패로 기록 (임대를 얻지 않았으므로 다음 실행이나 다른 노드가 처리)
+                    Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                    return others.stream().map(region -> RegionMatchResult.failed(region, 0, cause)).toList();
+                })
+                .thenApply(takenOver -> {
+                    results.addAll(takenOver);
+                    report(results, startNanos);
+                    return results;
+                });
+    }
+
+    // 임대를 얻은 권역만 병렬로 매칭합니다. (후보가 없는 권역은 결과에서 제외)
+    private List<RegionMatchResult> matchShards(List<Region> regions, String leaseKey,
+                                                LocalDateTime windowStart, LocalDateTime windowEnd, List<String> liveNodes){
+        List<Region> acquired = new ArrayList<>();
+        List<Future<RegionMatchResult>> futures = new ArrayList<>();
+        for (Region region : regions) {
+            String leaseName = "match:" + region + ":" + leaseKey;
+            if (!clusterCoordinator.tryAcquire(leaseName, liveNodes)) {
+                continue;
+            }
+            acquired.add(region);
+            futures.add(matchingExecutor.submit(() -> matchShard(region, leaseName, windowStart, windowEnd)));
+        }
+        return awaitResults(acquired, futures).stream()
+                .filter(result -> result.isFailed() || result.candidates() > 0)
+                .toList();
+    }
+
+    // 임대를 가진 상태에서 권역 하나를 매칭하고, 커밋되면 임대를 완료로, 실패하면 즉시 반납
+    private RegionMatchResult matchShard(Region region, String leaseName, LocalDateTime windowStart, LocalDateTime windowEnd){
+        RegionMatchResult result;
+        try {
+            MatchingWindowSnapshot snapshot = matchingMetrics.time(region, Phase.FETCH,
+                    () -> loadRegionSnapshot(region, windowStart, windowEnd));
+            result = matchRegion(snapshot, region);
+        } catch (RuntimeException e) {
+            result = RegionMatchResult.failed(region, 0, e);
+        }
+        if (result.isFailed()) {
+            clusterCoordinator.release(leaseName);
+        } else {
+            clusterCoordinator.complete(leaseName);
+        }
+        return result;
+    }
+
+    // DB에서 권역 하나의 PENDING 후보를 (희망 시간, ID) 순으로 읽어 스냅샷으로 만듦 (권역 안의 ID 순 정렬은 build가 맞춤)
+    private MatchingWindowSnapshot loadRegionSnapshot(Region region, LocalDateTime windowStart, LocalDateTime windowEnd){
+        MatchingWindowSnapshot.Builder builder = MatchingWindowSnapshot.builder(FETCH_CHUNK_SIZE);
+        rideRequestRepository.forEachCandidateChunk(RequestStatus.PENDING, region, windowStart, windowEnd,
+                FETCH_CHUNK_SIZE, chunk -> chunk.forEach(builder::add));
+        return builder.build();
+    }
+
+    private List<RegionMatchResult> awaitResults(List<Region> regions, List<Future<RegionMatchResult>> futures){
+        List<RegionMatchResult> results = new ArrayList<>(futures.size());
+        for (int i = 0; i < futures.size(); i++) {
+            results.add(awaitResult(regions.get(i), futures.get(i)));
+        }
+        return results;
+    }
+
+    private void report(List<RegionMatchResult> results, long startNanos){
+        for (RegionMatchResult result : results) {
+            matchingMetrics.recordResult(result);
+            if (result.isFailed()) {
+                log.warn(">>> {}", result);
             } else {
-                // 매칭 성공! 그룹의 최종 출발 시간을 계산하고 매칭 처리
-                processConsolidatedMatch(group);
+                log.info(">>> {}", result);
             }
-        });
+        }
+        log.info("통합 매칭 종료: {}개 권역, 총 {}ms", results.size(), elapsedSince(startNanos));
+    }
+
+    /**
+     * 권역 하나를 claim → 계산 → 저장 순서로 매칭합니다. 예외는 이 권역의 실패로만 기록됩니다.
+     * 1. 짧은 트랜잭션에서 후보를 PENDING → CLAIMED로 가져옴
+     *    후보 중 일부만 가져왔다면 겹쳐 실행된 다른 매칭이 같은 창을 처리 중이거나 이미 처리한 것이므로,
+     *    가져온 일부만으로 인원 미달 취소를 하지 않도록 claim을 되돌리고 PENDING으로 남김
+     * 2. 트랜잭션 밖에서 출발 시간, 가상 정류장, 차량 경로를 계산
+     * 3. 짧은 트랜잭션에서 그룹을 저장하고, 이 실행이 claim한 요청만 MATCHED/CANCELED_NO_CAPACITY로 바꿈
+     * 계산하는 동안에는 DB 잠금을 잡지 않으므로 요청 접수가 매칭을 기다리지 않습니다.
+     */
+    private RegionMatchResult matchRegion(MatchingWindowSnapshot snapshot, Region region){
+        long startNanos = System.nanoTime();
+        // DB를 다시 조회하지 않고 스냅샷에서 이 권역의 구간 [from, to)만 사용
+        if(snapshot.size(region) == 0){
+            return RegionMatchResult.canceled(region, 0, elapsedSince(startNanos));
+        }
+
+        List<Long> ids = snapshot.ids(snapshot.from(region), snapshot.to(region));
+        int size = ids.size();
+        String claimToken = clusterCoordinator.getNodeId() + ":" + UUID.randomUUID();
+        try {
+            int claimed = matchingMetrics.time(region, Phase.CLAIM, () -> claim(ids, claimToken));
+            if(claimed < size){
+                log.info("{} 후보 {}명 중 {}명만 claim했습니다. 다른 매칭 실행이 같은 창을 처리 중이거나 이미 처리했으므로 이번에는 건너뜁니다.",
+                        region, size, claimed);
+                if(claimed > 0){
+                    releaseClaim(region, claimToken);
+                }
+                // 이미 결과가 나온 요청은 인덱스에서 제거 (남은 PENDING 요청은 늦은 접수 매칭이 처리)
+                pendingRequestIndex.refresh(ids);
+                return RegionMatchResult.deferred(region, size, elapsedSince(startNanos));
+            }
+        } catch (RuntimeException e) {
+            // claim은 커밋된 뒤에 실패했을 수 있으므로(인덱스 정리 등) 되돌린 뒤 실패로 기록
+            releaseClaim(region, claimToken);
+            return RegionMatchResult.failed(region, elapsedSince(startNanos), e);
+        }
+
+        try {
+            log.debug("{}행 그룹에 {}명의 후보가 있습니다.", region, size);
+            if(size < MINIMUM_PASSENGERS){
+                //최소 인원 미달 시, 그룹 내 모든 요청 취소 처리
+                transactionTemplate.executeWithoutResult(status -> cancelRequests(snapshot, region, claimToken));
+                return RegionMatchResult.canceled(region, size, elapsedSince(startNanos));
+            }
+            // 매칭 성공! 그룹의 최종 출발 시간과 정류장/경로를 계산한 뒤 결과만 짧은 트랜잭션에서 저장
+            MatchPlan plan = planConsolidatedMatch(snapshot, region);
+            transactionTemplate.executeWithoutResult(status -> persistConsolidatedMatch(snapshot, region, plan, claimToken));
+            return RegionMatchResult.matched(region, size, plan.routes().size(), plan.assignment().virtualStops().size(),
+                    elapsedSince(startNanos));
+        } catch (RuntimeException e) {
+            // 이 권역의 결과 저장만 롤백되고, 다른 권역은 영향을 받지 않음
+            // claim을 되돌려 다음 실행이 다시 처리할 수 있게 하고, 인덱스에서 이미 결과가 나온 요청을 정리
+            releaseClaim(region, claimToken);
+            pendingRequestIndex.refresh(ids);
+            return RegionMatchResult.failed(region, elapsedSince(startNanos), e);
+        }
     }
 
-    private void cancelRequests(List<RideRequest> group){
-        System.out.println(group.get(0).getRegion() + " 행 운행은 최소 인원 미달로 취소됩니다.");
+    // 권역의 후보를 짧은 트랜잭션에서 claim하고, claim한 행 수를 반환
+    private int claim(List<Long> ids, String claimToken){
+        Integer claimed = transactionTemplate.execute(status -> rideRequestRepository.claim(ids, claimToken, LocalDateTime.now()));
+        return claimed == null ? 0 : claimed;
+    }
 
-        //그룹 내 모든 요청에 대해 반복
-        for (RideRequest request : group) {
-            // 1. 상태를 CANCELED_NO_CAPACITY로 변경
-            request.updateStatus(RequestStatus.CANCELED_NO_CAPACITY);
+    private void releaseClaim(Region region, String claimToken){
+        try {
+            Integer released = transactionTemplate.execute(status -> rideRequestRepository.releaseClaim(claimToken));
+            log.info("{} claim {}건을 PENDING으로 되돌렸습니다.", region, released);
+        } catch (RuntimeException e) {
+            // 되돌리지 못한 claim은 claim-timeout 이후 다음 실행이 되돌림
+            log.warn("{} claim을 되돌리지 못했습니다. ({})", region, claimToken, e);
+        }
+    }
 
-            // 2. 변경된 상태를 DB에 저장 (JPA가 변경을 감지하고 저장해 줌)
-            //@Transactional 안에서는 save를 명시적으로 호출하지 않아도 변경이 감지되어 DB에 반영됨
-            //rideRequestRepository.save(request); // 명시적으로 호출해도 괜찮음
+    /**
+     * claim-timeout이 지나도록 CLAIMED로 남은 요청(실행 도중 노드가 죽은 경우)을 PENDING으로 되돌리고 인덱스에 다시 넣습니다.
+     * 한 번에 BULK_CHUNK_SIZE건씩 처리하고, 나머지는 다음 실행에서 처리합니다.
+     */
+    private void releaseStaleClaims(){
+        LocalDateTime claimedBefore = LocalDateTime.now().minus(claimTimeout);
+        List<MatchingCandidate> stale = rideRequestRepository.findStaleClaims(claimedBefore,
+                PageRequest.of(0, RideRequestRepository.BULK_CHUNK_SIZE));
+        if(stale.isEmpty()){
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            int released = rideRequestRepository.releaseStaleClaimsByIds(stale.stream().map(MatchingCandidate::id).toList(), claimedBefore);
+            pendingRequestIndex.addAfterCommit(stale);
+            log.warn("{} 이전에 claim된 채 남아 있던 요청 {}건을 PENDING으로 되돌렸습니다.", claimedBefore, released);
+        });
+    }
 
+    private RegionMatchResult awaitResult(Region region, Future<RegionMatchResult> future){
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return RegionMatchResult.failed(region, 0, e);
+        } catch (ExecutionException e) {
+            return RegionMatchResult.failed(region, 0, e.getCause());
         }
     }
 
-    private void processConsolidatedMatch(List<RideRequest> group){
+    private long elapsedSince(long startNanos){
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+
+    private void cancelRequests(MatchingWindowSnapshot snapshot, Region region, String claimToken){
+        log.info("{} 행 운행은 최소 인원 미달로 취소됩니다. ({}명)", region, snapshot.size(region));
+
+        // 그룹 내 모든 요청의 상태를 CLAIMED → CANCELED_NO_CAPACITY로 변경
+        List<Long> ids = snapshot.ids(snapshot.from(region), snapshot.to(region));
+        matchingMetrics.time(region, Phase.STATUS_UPDATE, () -> completeClaims(ids, claimToken, RequestStatus.CANCELED_NO_CAPACITY));
+        matchNotificationService.publishAfterCommit(ids, i -> MatchResultEvent.canceled(ids.get(i)));
+    }
+
+    // 트랜잭션 밖에서 실행되는 순수 계산: 출발 시간, 가상 정류장, 차량별 경로
+    private MatchPlan planConsolidatedMatch(MatchingWindowSnapshot snapshot, Region region){
+        int from = snapshot.from(region);
+        int to = snapshot.to(region);
+        int size = to - from;
+
         // 1. 그룹의 최종 출발 시간 계산
-        LocalDateTime finalDepartureTime = calculateFinalDepartureTime(group);
+        LocalDateTime finalDepartureTime = calculateFinalDepartureTime(snapshot, from, to);
+
+        // 2. 클러스터링으로 가상 정류장 생성 (각 요청이 어느 정류장에 배정되었는지 포함)
+        VirtualStopAssignment assignment = matchingMetrics.time(region, Phase.CLUSTER, () -> createVirtualStops(snapshot, from, to));
+        matchingMetrics.recordClusters(region, size, assignment);
+        List<VirtualStop> virtualStops = assignment.virtualStops();
 
-        // 2. 클러스터링으로 가상 정류장 생성
-        List<VirtualStop> virtualStops = createVirtualStops(group);
+        log.debug("{} 행 생성된 가상 정류장: {}", region, virtualStops);
 
-        System.out.println(group.get(0).getRegion() + " 행 매칭 성공! 최종 출발 시간: " + finalDepartureTime);
-        System.out.println("생성된 가상 정류장: " + virtualStops);
+        // 3. 차량 정원에 맞춰 정류장을 차량별로 나누고, 차량마다 정류장 방문 순서를 정함
+        int[] demands = new int[virtualStops.size()];
+        for (int stopIndex : assignment.stopIndexes()) {
+            demands[stopIndex]++;
+        }
+        List<VehicleRoute> routes = matchingMetrics.time(region, Phase.SEQUENCE, () -> routeSequencer.sequence(virtualStops, demands));
+        return new MatchPlan(finalDepartureTime, assignment, routes);
+    }
+
+    // 결과 저장: 트랜잭션 안에서 실행 (그룹 INSERT + claim한 요청 배정)
+    private void persistConsolidatedMatch(MatchingWindowSnapshot snapshot, Region region, MatchPlan plan, String claimToken){
+        int from = snapshot.from(region);
+        int size = snapshot.size(region);
+        LocalDateTime finalDepartureTime = plan.finalDepartureTime();
+        VirtualStopAssignment assignment = plan.assignment();
+        List<VirtualStop> virtualStops = assignment.virtualStops();
+        List<VehicleRoute> routes = plan.routes();
+
+        // 4. 매칭 결과를 데이터베이스에 저장
+        // 4-1. 차량 한 대를 MatchedGroup 하나로 만든다. (정류장은 방문 순서대로 별도 테이블에 구조화하여 저장)
+        List<MatchedGroup> newGroups = new ArrayList<>(routes.size());
+        for (VehicleRoute route : routes) {
+            List<VirtualStop> orderedStops = new ArrayList<>(route.stopOrder().length);
+            for (int stopIndex : route.stopOrder()) {
+                orderedStops.add(virtualStops.get(stopIndex));
+            }
+            newGroups.add(MatchedGroup.builder()
+                    .region(region)
+                    .finalDepartureTime(finalDepartureTime)
+                    .passengerCount(route.passengerCount())
+                    .routeDistanceMeters(route.distanceMeters())
+                    .virtualStops(orderedStops)
+                    .build());
+        }
+
+        // 4-2. MatchedGroupRepository를 통해 완성된 그룹 정보를 DB에 저장(INSERT)한다.
+        //     (INSERT는 flush 시점에 실행되므로 바로 flush하여 저장 시간을 이 단계에 포함)
+        matchingMetrics.time(region, Phase.PERSIST, () -> {
+            matchedGroupRepository.saveAll(newGroups);
+            matchedGroupRepository.flush();
+        });
+
+        // 5. 요청들을 차량/정류장에 배정하고 상태를 CLAIMED -> MATCHED로 변경 (차량의 정류장 단위 일괄 UPDATE)
+        matchingMetrics.time(region, Phase.STATUS_UPDATE, () -> assignMembers(snapshot, from, assignment, routes, newGroups, claimToken));
+
+        log.info("{} 행 매칭 성공! 인원: {}명, 차량: {}대, 가상 정류장: {}개, 최종 출발 시간: {}",
+                region, size, routes.size(), virtualStops.size(), finalDepartureTime);
+    }
+
+    private void assignMembers(MatchingWindowSnapshot snapshot, int from, VirtualStopAssignment assignment,
+                               List<VehicleRoute> routes, List<MatchedGroup> newGroups, String claimToken){
+        int[] stopIndexes = assignment.stopIndexes();
+        int stopCount = assignment.virtualStops().size();
 
-        // 3. 매칭 결과를 데이터베이스에 저장
-        // 3-1. 가상 정류장 객체 리스트를 DB에 저장하기 위해 문자열로 변환합니다.
-        String virtualStopJson = virtualStops.toString();
+        // 정류장 순번별로 스냅샷 위치를 모음 (counting sort: stopOffsets[s]부터 정류장 s의 요청들)
+        int[] stopOffsets = new int[stopCount + 1];
+        for (int stopIndex : stopIndexes) {
+            stopOffsets[stopIndex + 1]++;
+        }
+        for (int s = 0; s < stopCount; s++) {
+            stopOffsets[s + 1] += stopOffsets[s];
+        }
+        int[] positionsByStop = new int[stopIndexes.length];
+        int[] vehicleAt = new int[stopIndexes.length]; // 요청(구간 내 순번)별 배정된 차량과 그 차량의 정류장 방문 순번
+        int[] stopOrderAt = new int[stopIndexes.length];
+        int[] assignedByStop = Arrays.copyOf(stopOffsets, stopCount); // 정류장마다 다음에 배정할 위치
+        for (int i = 0; i < stopIndexes.length; i++) {
+            positionsByStop[assignedByStop[stopIndexes[i]]++] = from + i;
+        }
 
-        // 3-2. 이 그룹에 속한 RideRequest 객체들의 ID만 추출하여 "1,5,12" 형태의 문자열로 만듭니다.
-        String rideRequestIds = group.stream()
-                .map(req -> req.getId().toString()) // 각 요청(req)에서 ID를 가져와 문자열로 바꾸고,
-                .collect(Collectors.joining(",")); // 쉼표(,)로 이어붙인다.
+        // 차량의 k번째 방문 정류장에서 내리는 인원만큼 그 정류장의 요청을 앞에서부터 배정
+        // (한 정류장의 승객이 여러 차량에 나뉘어 타는 경우, 정류장마다 이미 배정한 위치를 기억)
+        System.arraycopy(stopOffsets, 0, assignedByStop, 0, stopCount);
+        for (int v = 0; v < routes.size(); v++) {
+            VehicleRoute route = routes.get(v);
+            for (int k = 0; k < route.stopOrder().length; k++) {
+                int stopIndex = route.stopOrder()[k];
+                for (int n = 0; n < route.dropOffs()[k]; n++) {
+                    int position = positionsByStop[assignedByStop[stopIndex]++];
+                    vehicleAt[position - from] = v;
+                    stopOrderAt[position - from] = k;
+                }
+            }
+        }
+
+        // 요청마다 그룹과 정류장 순번이 다르므로, 요청별 값을 배열로 모아 BULK_CHUNK_SIZE건마다 UPDATE 한 번으로 배정
+        // (정류장이나 차량마다 UPDATE를 실행하면 정류장이 작을 때 요청 1건당 문장 1개가 됨)
+        long[] ids = new long[stopIndexes.length];
+        long[] groupIds = new long[stopIndexes.length];
+        for (int i = 0; i < stopIndexes.length; i++) {
+            ids[i] = snapshot.id(from + i);
+            groupIds[i] = newGroups.get(vehicleAt[i]).getId();
+        }
+        int updated = rideRequestRepository.assignGroups(ids, groupIds, stopOrderAt, claimToken);
+        verifyUpdated(updated, stopIndexes.length);
+
+        // 커밋이 끝나면 더 이상 PENDING이 아니므로 인덱스와 조회 캐시에서 제거
+        List<Long> memberIds = snapshot.ids(from, from + stopIndexes.length);
+        afterStatusChange(memberIds);
+
+        // 커밋이 끝나면 결과를 기다리는 탑승자에게 차량/출발 시간/정류장을 알림 (구독 중인 요청만 이벤트를 만듦)
+        matchNotificationService.publishAfterCommit(memberIds, i -> {
+            MatchedGroup group = newGroups.get(vehicleAt[i]);
+            int stopOrder = stopOrderAt[i];
+            return MatchResultEvent.matched(memberIds.get(i), group.getId(), group.getFinalDepartureTime(),
+                    stopOrder, group.getVirtualStops().get(stopOrder));
+        });
+    }
 
-        // 3-3. 위에서 계산한 정보들을 바탕으로 DB에 저장할 MatchedGroup 객체를 생성
-        MatchedGroup newGroup = MatchedGroup.builder()
-                .finalDepartureTime(finalDepartureTime)
-                .virtualStopJson(virtualStopJson)
-                .rideRequestIds(rideRequestIds)
-                .build();
+    private void completeClaims(List<Long> ids, String claimToken, RequestStatus newStatus){
+        // 엔티티를 하나씩 불러와 변경 감지로 UPDATE하지 않고, ID 목록으로 한 번에 상태를 변경 (이 실행이 claim한 행만)
+        int updated = rideRequestRepository.completeClaim(ids, claimToken, newStatus);
 
-        // 3-4. MatchedGroupRepository를 통해 완성된 그룹 정보를 DB에 저장(INSERT)한다.
-        matchedGroupRepository.save(newGroup);
+        verifyUpdated(updated, ids.size());
 
-        // 4. 기존 RideRequest들의 상태를 'MATCHED'로 변경
-        // 이 그룹에 속해있던 모든 RideRequest 객체의 상태를 PENDING -> MATCHED로 변경합니다.
-        // 이 메소드는 @Transactional 안에서 실행되므로, 상태 변경 후 save를 호출하지 않아도
-        // JPA가 "객체가 변경되었네?"라고 감지하여 자동으로 DB에 UPDATE 쿼리를 날려줍니다.
-        group.forEach(req -> req.updateStatus(RequestStatus.MATCHED));
+        // 커밋이 끝나면 더 이상 PENDING이 아니므로 인덱스와 조회 캐시에서 제거
+        afterStatusChange(ids);
+    }
 
-        // 콘솔에 로그 출력
-        System.out.println("매칭 성공! 그룹 ID: " + newGroup.getId() + ", 최종 출발 시간: " + finalDepartureTime);
+    private void afterStatusChange(List<Long> ids){
+        pendingRequestIndex.removeAfterCommit(ids);
+        rideQueryService.evictRequestsAfterCommit(ids);
+    }
 
+    // claim한 요청 중 다른 곳에서 상태가 바뀐 요청이 있으면(claim-timeout으로 되돌려진 경우 등), 이 권역의 결과 전체를 롤백
+    private void verifyUpdated(int updated, int expected){
+        if (updated != expected) {
+            throw new IllegalStateException(
+                    "이미 처리된 요청이 포함되어 있습니다. (" + updated + "/" + expected + "건만 이 실행이 claim한 상태)");
+        }
     }
 
-    private LocalDateTime calculateFinalDepartureTime(List<RideRequest> group){
-        // 1. 그룹에 속한 모든 요청의 희망 시간을 초(epoch second) 단위로 변환하여 평균을 구합니다.
-        long averageEpochSecond = (long) group.stream()
-                .mapToLong(req -> req.getRequestedTime().toEpochSecond(ZoneOffset.UTC))
-                .average()
-                .orElse(0);
+    // 그룹 상태와 무관한 순수 계산이므로 static (벤치마크에서 직접 호출)
+    static LocalDateTime calculateFinalDepartureTime(MatchingWindowSnapshot snapshot, int from, int to){
+        // 1. 그룹에 속한 모든 요청의 희망 시간(epoch second 열)의 평균을 구합니다.
+        long averageEpochSecond = snapshot.averageEpochSecond(from, to);
 
         // 2. 계산된 평균 초를 다시 LocalDateTime 객체로 변환
         LocalDateTime averageTime = LocalDateTime.ofEpochSecond(averageEpochSecond, 0, ZoneOffset.UTC);
@@ -157,52 +609,19 @@ public class MatchingService {
         }
     }
 
-    private List<VirtualStop> createVirtualStops(List<RideRequest> group){
-        // 1. 요청 목록에서 좌표 목록을 생성
-        List<DoublePoint> points = group.stream()
-                .map(req -> new DoublePoint(new double[]{req.getDestLat(), req.getDestLng()}))
-                .toList();
-
-        System.out.println("클러스터링 입력 좌표: " + points.size() + "개");
-
-        // 2. DBSCAN 클러스터러 객체 생성
-        // epsilon : 0.005는 대략 500m 반경을 의미함 (좌표계에 따라 튜닝 필요)
-        // minPts: 최소 2명 이상 모여야 하나의 클러스터(정류장)를 형성합니다.
-        DBSCANClusterer<DoublePoint> clusterer = new DBSCANClusterer<>(0.003, 1);
-
-        // 3. 클러스터링을 실행하고 결과를 받음
-        List<Cluster<DoublePoint>> clusterResults = clusterer.cluster(points);
+    private VirtualStopAssignment createVirtualStops(MatchingWindowSnapshot snapshot, int from, int to){
+        // 스냅샷의 좌표 열을 그대로 넘겨 [from, to) 구간만 격자 인덱스 기반 DBSCAN으로 클러스터링
+        // (클러스터 중심점 + Noise 개별 정류장 생성, 좌표를 복사하거나 점마다 객체를 만들지 않음)
+        // 좌표가 아주 많은 권역은 좌표를 작은 격자 칸으로 먼저 모아서 칸 단위로 클러스터링 (근사 모드)
+        VirtualStopAssignment assignment = clusterer.assignVirtualStops(snapshot.lats(), snapshot.lngs(), from, to);
 
-        System.out.println(">>> DBSCAN 결과: " + clusterResults.size() + "개의 클러스터를 찾았습니다.");
-
-        List<VirtualStop> virtualStops = new ArrayList<>();
-        List<DoublePoint> clusteredPoints = new ArrayList<>();
-
-        // 4. 결과에서 각 클러스터의 중심점(가상 정류장) 좌표를 추출
-        for (Cluster<DoublePoint> cluster : clusterResults) {
-            clusteredPoints.addAll(cluster.getPoints());
-            double sumLat = 0;
-            double sumLng = 0;
-            for (DoublePoint point : cluster.getPoints()){
-                sumLat += point.getPoint()[0];
-                sumLng += point.getPoint()[1];
-            }
-            double centerLat = sumLat / cluster.getPoints().size();
-            double centerLng = sumLng / cluster.getPoints().size();
-            virtualStops.add(new VirtualStop(centerLat, centerLng));
-        }
-
-        // 5. 전체 포인트에서 클러스터에 포함된 포인트를 제외하여 'Noise' 포인트를 찾음
-        List<DoublePoint> noisePoints = new ArrayList<>(points);
-        noisePoints.removeAll(clusteredPoints);
-
-        System.out.println(">>> Noise 포인트 결과: " + noisePoints.size() + "개의 개별 정류장을 추가합니다.");
-
-        // 6. 'Noise' 포인트 각각을 독립적인 가상 정류장으로 추가합니다.
-        for (DoublePoint noisePoint : noisePoints) {
-            virtualStops.add(new VirtualStop(noisePoint.getPoint()[0], noisePoint.getPoint()[1]));
-        }
+        log.debug(">>> 클러스터링 입력 좌표 {}개 -> 가상 정류장 {}개 (클러스터 {}개, Noise {}개, 근사 모드: {})",
+                to - from, assignment.virtualStops().size(), assignment.clusterCount(), assignment.noiseCount(),
+                clusterer.isApproximate(to - from));
+        return assignment;
+    }
 
-        return virtualStops;
+    // 트랜잭션 밖에서 계산한 매칭 결과
+    private record MatchPlan(LocalDateTime finalDepartureTime, VirtualStopAssignment assignment, List<VehicleRoute> routes){
     }
 }
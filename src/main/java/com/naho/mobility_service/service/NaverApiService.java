@@ -1,8 +1,11 @@
 package com.naho.mobility_service.service;
 
 import com.naho.mobility_service.dto.NaverGeocodeDto;
-import lombok.RequiredArgsConstructor;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.retry.Retry;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
@@ -12,24 +15,60 @@ import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
 
 import java.net.URI;
+import java.util.function.Supplier;
 
+/**
+ * 네이버 지오코딩 API 클라이언트입니다.
+ * 호출은 bulkhead(동시 호출 수 제한) → circuit breaker(장애 시 바로 실패) → retry(일시적 오류 재시도) 순으로 감싸져 있습니다.
+ * (설정은 NaverApiClientConfig)
+ */
+@Lazy // 캐시에 없는 주소를 처음 조회할 때 생성
 @Service
-@RequiredArgsConstructor
 public class NaverApiService {
 
     private final RestTemplate restTemplate;
+    private final Bulkhead bulkhead;
+    private final CircuitBreaker circuitBreaker;
+    private final Retry retry;
+    private final String clientId;
+    private final String clientSecret;
+    private final String baseUrl; // 부하 테스트에서는 로컬 스텁 서버 주소로 바꿔서 사용
 
-    @Value("${naver.api.client-id}")
-    private String clientId;
-
-    @Value("${naver.api.client-secret}")
-    private String clientSecret;
+    public NaverApiService(RestTemplate restTemplate,
+                           Bulkhead naverApiBulkhead,
+                           CircuitBreaker naverApiCircuitBreaker,
+                           Retry naverApiRetry,
+                           @Value("${naver.api.client-id}") String clientId,
+                           @Value("${naver.api.client-secret}") String clientSecret,
+                           @Value("${naver.api.base-url}") String baseUrl) {
+        this.restTemplate = restTemplate;
+        this.bulkhead = naverApiBulkhead;
+        this.circuitBreaker = naverApiCircuitBreaker;
+        this.retry = naverApiRetry;
+        this.clientId = clientId;
+        this.clientSecret = clientSecret;
+        this.baseUrl = baseUrl;
+    }
 
+    /**
+     * 주소를 좌표로 변환합니다.
+     * @throws org.springframework.web.client.RestClientException 재시도 후에도 실패한 경우
+     * @throws io.github.resilience4j.circuitbreaker.CallNotPermittedException 서킷이 열려 있어 호출하지 않은 경우
+     * @throws io.github.resilience4j.bulkhead.BulkheadFullException 동시 호출 수 제한으로 호출하지 못한 경우
+     */
     public NaverGeocodeDto geocode(String address) {
+        Supplier<NaverGeocodeDto> call = () -> call(address);
+        // 재시도마다 서킷 상태와 동시 호출 수 제한을 다시 확인
+        return Retry.decorateSupplier(retry,
+                CircuitBreaker.decorateSupplier(circuitBreaker,
+                        Bulkhead.decorateSupplier(bulkhead, call))).get();
+    }
+
+    private NaverGeocodeDto call(String address) {
 
         // 1. API 요청 주소(URL) 생성 ("어디로 전화걸지?")
         URI uri = UriComponentsBuilder
-                .fromUriString("https://naveropenapi.apigw.ntruss.com") // 네이버 openAPI 서버 주소
+                .fromUriString(baseUrl) // 네이버 openAPI 서버 주소
                 .path("/map-geocode/v2/geocode") // 기능 경로
                 .queryParam("query", address) // "이 주소로 검색해줘"라고 파라미터 추가
                 .encode()
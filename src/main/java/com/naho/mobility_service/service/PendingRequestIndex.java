@@ -0,0 +1,253 @@
+package com.naho.mobility_service.service;
+
+import com.naho.mobility_service.domain.MatchingCandidate;
+import com.naho.mobility_service.domain.MatchingWindowSnapshot;
+import com.naho.mobility_service.domain.Region;
+import com.naho.mobility_service.domain.RequestStatus;
+import com.naho.mobility_service.repository.RideRequestRepository;
+import com.naho.mobility_service.util.AfterCommit;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.Period;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * PENDING 상태인 탑승 요청을 메모리에 보관하는 인덱스입니다.
+ * 권역(Region) → 10분 단위 시간 슬롯 → 요청 ID 순으로 나누어 두어서,
+ * 매칭할 때 DB에서 시간 창 전체를 다시 읽지 않고 필요한 슬롯만 꺼내 볼 수 있습니다.
+ * - 요청이 저장되거나 상태가 바뀌면 트랜잭션 커밋 후에 갱신됩니다.
+ * - 애플리케이션 시작 시 DB의 PENDING 요청으로 다시 만들어집니다. (StartupWarmup이 호출, 빠른 시작 모드에서는 백그라운드)
+ *   재구성이 끝나기 전의 인덱스는 불완전하므로, 매칭은 {@link #awaitRebuilt}로 끝날 때까지 기다립니다.
+ *   재구성이 실패했으면 기다리지 않고, 매칭 실행이 재구성을 다시 시도합니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PendingRequestIndex {
+
+    static final long SLOT_SECONDS = 10 * 60;
+    private static final int REBUILD_CHUNK_SIZE = 5000;
+    private static final Period REBUILD_HORIZON = Period.ofYears(1); // 예약 가능한 기간보다 충분히 넓게
+
+    private final RideRequestRepository rideRequestRepository;
+
+    // 권역별 슬롯 맵 (권역 키는 처음에 모두 만들어 두므로 EnumMap 자체는 읽기 전용으로만 사용)
+    private final Map<Region, ConcurrentHashMap<Long, ConcurrentHashMap<Long, MatchingCandidate>>> slotsByRegion = createSlots();
+    // 요청 ID → 후보 (삭제할 때 어느 슬롯에 있는지 찾기 위함)
+    private final ConcurrentHashMap<Long, MatchingCandidate> candidatesById = new ConcurrentHashMap<>();
+    // 시작 후 첫 재구성이 끝나면 완료됨 (실패하면 예외로 완료되고, 다시 시도할 때 새로 만듦)
+    private volatile CompletableFuture<Void> rebuilt = new CompletableFuture<>();
+
+    /**
+     * DB의 PENDING 요청으로 인덱스를 다시 만듭니다. (DataLoader 등 CommandLineRunner 실행 이후)
+     * 실패하면 재구성을 기다리는 매칭이 timeout까지 막히지 않도록 실패로 기록한 뒤 예외를 다시 던집니다.
+     */
+    public void rebuild() {
+        try {
+            clear();
+            // 희망 시간이 지나지 않은 PENDING 요청만 필요한 필드로 chunk 단위로 읽어옴 (엔티티를 만들지 않음)
+            LocalDateTime now = LocalDateTime.now();
+            rideRequestRepository.forEachCandidateChunk(RequestStatus.PENDING, now, now.plus(REBUILD_HORIZON),
+                    REBUILD_CHUNK_SIZE, chunk -> chunk.forEach(this::add));
+        } catch (RuntimeException e) {
+            clear();
+            rebuilt.completeExceptionally(e);
+            throw e;
+        }
+        log.info("PENDING 요청 인덱스 재구성 완료: {}건", size());
+        rebuilt.complete(null);
+    }
+
+    /**
+     * 시작 후 첫 재구성이 끝날 때까지 기다립니다.
+     * 재구성이 실패했으면 기다리지 않고 이 자리에서 한 번 더 재구성합니다.
+     * @throws IllegalStateException timeout 안에 끝나지 않았거나 다시 시도한 재구성도 실패한 경우
+     */
+    public void awaitRebuilt(Duration timeout) {
+        if (rebuilt.isCompletedExceptionally()) {
+            retryRebuild();
+            return;
+        }
+        try {
+            rebuilt.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("PENDING 요청 인덱스 재구성을 기다리다 중단되었습니다.", e);
+        } catch (ExecutionException | TimeoutException e) {
+            throw new IllegalStateException("PENDING 요청 인덱스가 아직 준비되지 않았습니다.", e);
+        }
+    }
+
+    public boolean isRebuilt() {
+        return rebuilt.isDone() && !rebuilt.isCompletedExceptionally();
+    }
+
+    boolean isRebuildFailed() {
+        return rebuilt.isCompletedExceptionally();
+    }
+
+    // 여러 매칭 실행이 동시에 다시 시도하지 않도록 한 번에 하나만 재구성
+    private synchronized void retryRebuild() {
+        if (!rebuilt.isCompletedExceptionally()) {
+            return;
+        }
+        log.warn("PENDING 요청 인덱스 재구성이 실패했었으므로 다시 시도합니다.");
+        rebuilt = new CompletableFuture<>();
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            throw new IllegalStateException("PENDING 요청 인덱스를 재구성하지 못했습니다.", e);
+        }
+    }
+
+    public void add(MatchingCandidate candidate) {
+        MatchingCandidate previous = candidatesById.put(candidate.id(), candidate);
+        if (previous != null) {
+            removeFromSlot(previous);
+        }
+        slotsOf(candidate.region()).compute(slotOf(candidate.requestedTime()), (slot, candidates) -> {
+            ConcurrentHashMap<Long, MatchingCandidate> bucket = candidates == null ? new ConcurrentHashMap<>() : candidates;
+            bucket.put(candidate.id(), candidate);
+            return bucket;
+        });
+    }
+
+    public void remove(long id) {
+        MatchingCandidate candidate = candidatesById.remove(id);
+        if (candidate != null) {
+            removeFromSlot(candidate);
+        }
+    }
+
+    /**
+     * 현재 트랜잭션이 커밋된 뒤에 후보를 추가합니다. (트랜잭션 밖이면 바로 추가)
+     * 롤백된 요청이 인덱스에 남지 않게 하기 위함입니다.
+     */
+    public void addAfterCommit(Collection<MatchingCandidate> candidates) {
+        AfterCommit.run(() -> candidates.forEach(this::add));
+    }
+
+    /**
+     * 현재 트랜잭션이 커밋된 뒤에 요청들을 인덱스에서 제거합니다. (매칭/취소로 PENDING이 아니게 된 요청)
+     */
+    public void removeAfterCommit(Collection<Long> ids) {
+        AfterCommit.run(() -> ids.forEach(this::remove));
+    }
+
+    /**
+     * 주어진 요청 중 DB에서 이미 결과가 나온(PENDING/CLAIMED가 아닌) 요청을 인덱스에서 제거합니다.
+     * 매칭이 충돌로 롤백되었거나 다른 실행이 먼저 claim했을 때 인덱스를 DB 상태에 다시 맞추기 위해 사용합니다.
+     * (CLAIMED인 요청은 그 실행이 실패하면 다시 PENDING이 되므로 남겨 둠)
+     */
+    public void refresh(List<Long> ids) {
+        Set<Long> stillOpen = new HashSet<>();
+        for (int from = 0; from < ids.size(); from += RideRequestRepository.BULK_CHUNK_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(from + RideRequestRepository.BULK_CHUNK_SIZE, ids.size()));
+            stillOpen.addAll(rideRequestRepository.findIdsByIdInAndStatusIn(chunk, RequestStatus.OPEN));
+        }
+        ids.stream().filter(id -> !stillOpen.contains(id)).forEach(this::remove);
+    }
+
+    /**
+     * [start, end] 구간의 모든 권역 후보를 열(column) 단위 스냅샷으로 만듭니다. (권역 순, 권역 안에서는 ID 순)
+     * 한 번의 매칭 실행은 이 스냅샷만 읽으므로, 실행 도중 인덱스가 바뀌어도 영향을 받지 않습니다.
+     * 슬롯의 후보를 스냅샷의 primitive 배열에 바로 채우고, ID 정렬도 배열 위에서 합니다. (중간 List나 후보 객체 정렬 없음)
+     */
+    public MatchingWindowSnapshot snapshot(LocalDateTime start, LocalDateTime end) {
+        long startSlot = slotOf(start);
+        long endSlot = slotOf(end);
+
+        // 1. 구간에 걸친 슬롯의 크기로 배열 크기를 잡음 (경계 슬롯의 구간 밖 후보까지 포함한 상한, 그 사이 늘어나면 Builder가 키움)
+        int expected = 0;
+        for (Region region : Region.values()) {
+            ConcurrentHashMap<Long, ConcurrentHashMap<Long, MatchingCandidate>> slots = slotsOf(region);
+            for (long slot = startSlot; slot <= endSlot; slot++) {
+                ConcurrentHashMap<Long, MatchingCandidate> bucket = slots.get(slot);
+                expected += bucket == null ? 0 : bucket.size();
+            }
+        }
+
+        // 2. 권역 순으로 슬롯을 훑으며 구간 안의 후보를 바로 추가
+        MatchingWindowSnapshot.Builder builder = MatchingWindowSnapshot.builder(expected);
+        for (Region region : Region.values()) {
+            ConcurrentHashMap<Long, ConcurrentHashMap<Long, MatchingCandidate>> slots = slotsOf(region);
+            for (long slot = startSlot; slot <= endSlot; slot++) {
+                ConcurrentHashMap<Long, MatchingCandidate> bucket = slots.get(slot);
+                if (bucket == null) {
+                    continue;
+                }
+                for (MatchingCandidate candidate : bucket.values()) {
+                    LocalDateTime time = candidate.requestedTime();
+                    if (!time.isBefore(start) && !time.isAfter(end)) {
+                        builder.add(candidate);
+                    }
+                }
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * 희망 시간이 이미 지난 후보를 제거합니다. (매칭 창은 항상 미래이므로 다시 매칭될 일이 없음)
+     * @return 제거한 후보 수
+     */
+    public int evictBefore(LocalDateTime time) {
+        long boundarySlot = slotOf(time);
+        int evicted = 0;
+        for (MatchingCandidate candidate : candidatesById.values()) {
+            if (slotOf(candidate.requestedTime()) < boundarySlot) {
+                remove(candidate.id());
+                evicted++;
+            }
+        }
+        return evicted;
+    }
+
+    public int size() {
+        return candidatesById.size();
+    }
+
+    public void clear() {
+        candidatesById.clear();
+        slotsByRegion.values().forEach(Map::clear);
+    }
+
+    private void removeFromSlot(MatchingCandidate candidate) {
+        // 슬롯이 비면 슬롯 자체도 제거 (compute는 키 단위로 원자적으로 실행됨)
+        slotsOf(candidate.region()).computeIfPresent(slotOf(candidate.requestedTime()), (slot, bucket) -> {
+            bucket.remove(candidate.id());
+            return bucket.isEmpty() ? null : bucket;
+        });
+    }
+
+    private ConcurrentHashMap<Long, ConcurrentHashMap<Long, MatchingCandidate>> slotsOf(Region region) {
+        return slotsByRegion.get(region);
+    }
+
+    private static long slotOf(LocalDateTime time) {
+        return Math.floorDiv(time.toEpochSecond(ZoneOffset.UTC), SLOT_SECONDS);
+    }
+
+    private static Map<Region, ConcurrentHashMap<Long, ConcurrentHashMap<Long, MatchingCandidate>>> createSlots() {
+        Map<Region, ConcurrentHashMap<Long, ConcurrentHashMap<Long, MatchingCandidate>>> slots = new EnumMap<>(Region.class);
+        for (Region region : Region.values()) {
+            slots.put(region, new ConcurrentHashMap<>());
+        }
+        return slots;
+    }
+}
@@ -0,0 +1,246 @@
+package com.naho.mobility_service.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.naho.mobility_service.domain.GeoPoint;
+import com.naho.mobility_service.domain.Region;
+import com.naho.mobility_service.domain.RegionZone;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 좌표로 대권역(Region)과 세부 권역을 찾는 공간 인덱스입니다.
+ * - 권역 경계는 GeoJSON 파일(Polygon/MultiPolygon)에서 읽고, 각 Feature의 properties에
+ *   region(Region 이름, 필수)과 subRegion(세부 권역 이름, 선택)을 적습니다.
+ * - 경계 전체를 균일 격자로 나누고 칸마다 그 칸과 겹치는 다각형 목록을 미리 만들어 두어서,
+ *   조회할 때는 좌표가 속한 칸의 다각형 몇 개만 point-in-polygon으로 확인합니다.
+ * 만든 뒤에는 바꾸지 않으므로 여러 스레드에서 동시에 조회해도 안전합니다.
+ */
+@Slf4j
+@Component
+public class RegionResolver {
+
+    private static final int[] NO_ZONES = new int[0];
+
+    private final boolean correctMismatch;
+    private final List<Zone> zones;
+
+    // 격자: 칸 (row, col)의 다각형 번호 목록은 cells[row * cols + col]
+    private final double minLat;
+    private final double minLng;
+    private final double cellDegrees;
+    private final int rows;
+    private final int cols;
+    private final int[][] cells;
+
+    /**
+     * @param boundaries      권역 경계 GeoJSON
+     * @param correctMismatch true면 요청한 권역과 좌표의 권역이 다를 때 좌표의 권역으로 바꿈 (false면 거절)
+     * @param cellDegrees     격자 칸 크기(도)
+     */
+    public RegionResolver(@Value("${mobility-app.region.boundaries:classpath:regions.geojson}") Resource boundaries,
+                          ObjectMapper objectMapper,
+                          @Value("${mobility-app.region.correct-mismatch:false}") boolean correctMismatch,
+                          @Value("${mobility-app.region.grid-cell-degrees:0.01}") double cellDegrees) {
+        if (cellDegrees <= 0) {
+            throw new IllegalArgumentException("격자 칸 크기는 0보다 커야 합니다: " + cellDegrees);
+        }
+        this.correctMismatch = correctMismatch;
+        this.cellDegrees = cellDegrees;
+        this.zones = readZones(boundaries, objectMapper);
+        if (zones.isEmpty()) {
+            throw new IllegalArgumentException("권역 경계가 없습니다: " + boundaries);
+        }
+
+        // 1. 모든 다각형을 감싸는 범위로 격자 크기 계산
+        double minLat = Double.MAX_VALUE;
+        double minLng = Double.MAX_VALUE;
+        double maxLat = -Double.MAX_VALUE;
+        double maxLng = -Double.MAX_VALUE;
+        for (Zone zone : zones) {
+            minLat = Math.min(minLat, zone.minLat);
+            minLng = Math.min(minLng, zone.minLng);
+            maxLat = Math.max(maxLat, zone.maxLat);
+            maxLng = Math.max(maxLng, zone.maxLng);
+        }
+        this.minLat = minLat;
+        this.minLng = minLng;
+        this.rows = (int) Math.floor((maxLat - minLat) / cellDegrees) + 1;
+        this.cols = (int) Math.floor((maxLng - minLng) / cellDegrees) + 1;
+
+        // 2. 다각형의 경계 상자가 겹치는 칸마다 다각형 번호를 등록
+        List<List<Integer>> buckets = new ArrayList<>(rows * cols);
+        for (int i = 0; i < rows * cols; i++) {
+            buckets.add(null);
+        }
+        for (int z = 0; z < zones.size(); z++) {
+            Zone zone = zones.get(z);
+            for (int row = row(zone.minLat); row <= row(zone.maxLat); row++) {
+                for (int col = col(zone.minLng); col <= col(zone.maxLng); col++) {
+                    int cell = row * cols + col;
+                    if (buckets.get(cell) == null) {
+                        buckets.set(cell, new ArrayList<>(2));
+                    }
+                    buckets.get(cell).add(z);
+                }
+            }
+        }
+        this.cells = new int[rows * cols][];
+        for (int i = 0; i < cells.length; i++) {
+            List<Integer> bucket = buckets.get(i);
+            cells[i] = bucket == null ? NO_ZONES : bucket.stream().mapToInt(Integer::intValue).toArray();
+        }
+        log.info("권역 경계 {}개 로드 ({}x{} 격자)", zones.size(), rows, cols);
+    }
+
+    /**
+     * 좌표가 속한 권역을 찾습니다. 어느 경계에도 속하지 않으면 빈 값을 반환합니다.
+     */
+    public Optional<RegionZone> locate(double lat, double lng) {
+        if (lat < minLat || lng < minLng) {
+            return Optional.empty();
+        }
+        int row = row(lat);
+        int col = col(lng);
+        if (row >= rows || col >= cols) {
+            return Optional.empty();
+        }
+        for (int z : cells[row * cols + col]) {
+            Zone zone = zones.get(z);
+            if (zone.contains(lat, lng)) {
+                return Optional.of(zone.zone);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * 요청한 권역을 좌표로 확인하고, 요청에 저장할 권역을 결정합니다.
+     * 1. 권역을 보내지 않았으면 좌표의 권역을 사용
+     * 2. 보낸 권역과 좌표의 권역이 다르면 거절 (correct-mismatch=true면 좌표의 권역으로 바꿈)
+     * 3. 좌표가 경계 밖이면 보낸 권역을 그대로 사용 (세부 권역 없음)
+     * @throws IllegalArgumentException 권역이 다르거나, 권역을 보내지 않았는데 좌표가 경계 밖인 경우
+     */
+    public RegionZone resolve(Region requested, GeoPoint point) {
+        Optional<RegionZone> located = locate(point.lat(), point.lng());
+        if (located.isEmpty()) {
+            if (requested == null) {
+                throw new IllegalArgumentException("목적지가 서비스 권역 밖입니다.");
+            }
+            return new RegionZone(requested, null);
+        }
+
+        RegionZone zone = located.get();
+        if (requested != null && requested != zone.region()) {
+            if (!correctMismatch) {
+                throw new IllegalArgumentException(
+                        "목적지가 요청한 권역(" + requested + ")이 아닌 " + zone.region() + " 권역에 있습니다.");
+            }
+            log.debug("요청 권역 보정: {} -> {} ({})", requested, zone.region(), point);
+        }
+        return zone;
+    }
+
+    private int row(double lat) {
+        return (int) Math.floor((lat - minLat) / cellDegrees);
+    }
+
+    private int col(double lng) {
+        return (int) Math.floor((lng - minLng) / cellDegrees);
+    }
+
+    private static List<Zone> readZones(Resource boundaries, ObjectMapper objectMapper) {
+        JsonNode root;
+        try (InputStream in = boundaries.getInputStream()) {
+            root = objectMapper.readTree(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException("권역 경계 파일을 읽지 못했습니다: " + boundaries, e);
+        }
+
+        List<Zone> zones = new ArrayList<>();
+        for (JsonNode feature : root.path("features")) {
+            JsonNode properties = feature.path("properties");
+            String regionName = properties.path("region").asText(null);
+            if (regionName == null) {
+                throw new IllegalArgumentException("권역 경계에 region 속성이 없습니다: " + properties);
+            }
+            RegionZone zone = new RegionZone(Region.valueOf(regionName), properties.path("subRegion").asText(null));
+
+            // Polygon은 [링...], MultiPolygon은 [[링...]...] (링은 [경도, 위도] 좌표 목록, 첫 링이 외곽이고 나머지는 구멍)
+            JsonNode geometry = feature.path("geometry");
+            JsonNode coordinates = geometry.path("coordinates");
+            switch (geometry.path("type").asText()) {
+                case "Polygon" -> zones.add(new Zone(zone, coordinates));
+                case "MultiPolygon" -> coordinates.forEach(polygon -> zones.add(new Zone(zone, polygon)));
+                default -> throw new IllegalArgumentException("지원하지 않는 경계 형식입니다: " + geometry.path("type"));
+            }
+        }
+        return zones;
+    }
+
+    /**
+     * 다각형 하나 (구멍 포함). 링마다 위도/경도 배열을 따로 두고, 경계 상자로 먼저 걸러냅니다.
+     */
+    private static final class Zone {
+        private final RegionZone zone;
+        private final double[][] ringLats;
+        private final double[][] ringLngs;
+        private double minLat = Double.MAX_VALUE;
+        private double minLng = Double.MAX_VALUE;
+        private double maxLat = -Double.MAX_VALUE;
+        private double maxLng = -Double.MAX_VALUE;
+
+        Zone(RegionZone zone, JsonNode rings) {
+            this.zone = zone;
+            this.ringLats = new double[rings.size()][];
+            this.ringLngs = new double[rings.size()][];
+            for (int r = 0; r < rings.size(); r++) {
+                JsonNode ring = rings.get(r);
+                ringLats[r] = new double[ring.size()];
+                ringLngs[r] = new double[ring.size()];
+                for (int i = 0; i < ring.size(); i++) {
+                    ringLngs[r][i] = ring.get(i).get(0).asDouble();
+                    ringLats[r][i] = ring.get(i).get(1).asDouble();
+                }
+            }
+            if (ringLats.length == 0 || ringLats[0].length < 3) {
+                throw new IllegalArgumentException("권역 경계의 외곽선이 올바르지 않습니다: " + zone);
+            }
+            // 구멍은 외곽선 안에 있으므로 경계 상자는 외곽선만으로 계산
+            for (int i = 0; i < ringLats[0].length; i++) {
+                minLat = Math.min(minLat, ringLats[0][i]);
+                maxLat = Math.max(maxLat, ringLats[0][i]);
+                minLng = Math.min(minLng, ringLngs[0][i]);
+                maxLng = Math.max(maxLng, ringLngs[0][i]);
+            }
+        }
+
+        // 짝수-홀수 규칙: 모든 링(외곽선 + 구멍)을 가로지르는 횟수가 홀수면 안쪽
+        boolean contains(double lat, double lng) {
+            if (lat < minLat || lat > maxLat || lng < minLng || lng > maxLng) {
+                return false;
+            }
+            boolean inside = false;
+            for (int r = 0; r < ringLats.length; r++) {
+                double[] lats = ringLats[r];
+                double[] lngs = ringLngs[r];
+                for (int i = 0, j = lats.length - 1; i < lats.length; j = i++) {
+                    if ((lats[i] > lat) != (lats[j] > lat)
+                            && lng < (lngs[j] - lngs[i]) * (lat - lats[i]) / (lats[j] - lats[i]) + lngs[i]) {
+                        inside = !inside;
+                    }
+                }
+            }
+            return inside;
+        }
+    }
+}
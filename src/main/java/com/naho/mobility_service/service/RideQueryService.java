@@ -0,0 +1,137 @@
+package com.naho.mobility_service.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.naho.mobility_service.domain.ArchivedMatchedGroup;
+import com.naho.mobility_service.domain.MatchedGroup;
+import com.naho.mobility_service.domain.Region;
+import com.naho.mobility_service.domain.VirtualStop;
+import com.naho.mobility_service.dto.MatchedGroupDto;
+import com.naho.mobility_service.dto.RideRequestStatusDto;
+import com.naho.mobility_service.repository.MatchedGroupArchiveRepository;
+import com.naho.mobility_service.repository.MatchedGroupRepository;
+import com.naho.mobility_service.repository.RideRequestArchiveRepository;
+import com.naho.mobility_service.repository.RideRequestRepository;
+import com.naho.mobility_service.util.AfterCommit;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 탑승자가 반복해서 조회(polling)하는 요청 상태와 매칭 그룹 상세를 메모리 캐시를 거쳐 읽어 주는 서비스입니다.
+ * - 캐시에 없을 때만 DB를 조회하고(read-through), 없는 ID는 캐싱하지 않습니다.
+ * - MatchingService가 요청 상태를 바꾸면 커밋 후 해당 요청들을 캐시에서 제거합니다.
+ * - 다른 인스턴스가 바꾼 상태는 알 수 없으므로, ttl이 지나면 DB에서 다시 읽습니다.
+ * 그룹은 한 번 만들어진 뒤 바뀌지 않으므로 무효화할 필요가 없습니다.
+ * RideRequestArchiver가 보관 테이블로 옮긴 요청/그룹은 보관 테이블에서 찾습니다.
+ */
+@Service
+public class RideQueryService {
+
+    private final RideRequestRepository rideRequestRepository;
+    private final MatchedGroupRepository matchedGroupRepository;
+    private final RideRequestArchiveRepository rideRequestArchiveRepository;
+    private final MatchedGroupArchiveRepository matchedGroupArchiveRepository;
+    private final Cache<Long, RideRequestStatusDto> requests;
+    private final Cache<Long, MatchedGroupDto> groups;
+
+    public RideQueryService(RideRequestRepository rideRequestRepository,
+                            MatchedGroupRepository matchedGroupRepository,
+                            RideRequestArchiveRepository rideRequestArchiveRepository,
+                            MatchedGroupArchiveRepository matchedGroupArchiveRepository,
+                            MeterRegistry meterRegistry,
+                            @Value("${mobility-app.query-cache.max-size:100000}") long maxSize,
+                            @Value("${mobility-app.query-cache.ttl:30s}") Duration ttl) {
+        this.rideRequestRepository = rideRequestRepository;
+        this.matchedGroupRepository = matchedGroupRepository;
+        this.rideRequestArchiveRepository = rideRequestArchiveRepository;
+        this.matchedGroupArchiveRepository = matchedGroupArchiveRepository;
+        this.requests = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.groups = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, requests, "ride-request");
+        CaffeineCacheMetrics.monitor(meterRegistry, groups, "matched-group");
+    }
+
+    public Optional<RideRequestStatusDto> findRequest(long id) {
+        // 같은 ID를 동시에 조회하면 DB 조회는 한 번만 실행됨 (없는 ID면 null → 캐싱하지 않음)
+        return Optional.ofNullable(requests.get(id, this::loadRequest));
+    }
+
+    public Optional<MatchedGroupDto> findGroup(long id) {
+        return Optional.ofNullable(groups.get(id, this::loadGroup));
+    }
+
+    /**
+     * 현재 트랜잭션이 커밋된 뒤 요청들의 캐시를 제거합니다. (상태가 바뀐 요청)
+     */
+    public void evictRequestsAfterCommit(Collection<Long> ids) {
+        AfterCommit.run(() -> evictRequests(ids));
+    }
+
+    public void evictRequests(Collection<Long> ids) {
+        requests.invalidateAll(ids);
+    }
+
+    private RideRequestStatusDto loadRequest(long id) {
+        // 보관된 요청은 상태가 바뀌지 않으므로 ride_request에 없을 때만 보관 테이블을 조회
+        return rideRequestRepository.findStatusById(id)
+                .or(() -> rideRequestArchiveRepository.findStatusById(id))
+                .orElse(null);
+    }
+
+    private MatchedGroupDto loadGroup(long id) {
+        MatchedGroup group = matchedGroupRepository.findWithVirtualStopsById(id).orElse(null);
+        if (group != null) {
+            // 그룹이 아직 남아 있어도 일부 요청은 먼저 보관되었을 수 있으므로 양쪽에서 모음
+            List<RideRequestStatusDto> members = new ArrayList<>(rideRequestRepository.findStatusesByMatchedGroupId(id));
+            members.addAll(rideRequestArchiveRepository.findStatusesByMatchedGroupId(id));
+            return toDto(group.getId(), group.getRegion(), group.getFinalDepartureTime(), group.getPassengerCount(),
+                    group.getRouteDistanceMeters(), group.getVirtualStops(), members);
+        }
+        ArchivedMatchedGroup archived = matchedGroupArchiveRepository.findWithVirtualStopsById(id).orElse(null);
+        if (archived == null) {
+            return null;
+        }
+        return toDto(archived.getId(), archived.getRegion(), archived.getFinalDepartureTime(), archived.getPassengerCount(),
+                archived.getRouteDistanceMeters(), archived.getVirtualStops(),
+                rideRequestArchiveRepository.findStatusesByMatchedGroupId(id));
+    }
+
+    private static MatchedGroupDto toDto(Long id, Region region, LocalDateTime finalDepartureTime, int passengerCount,
+                                         double routeDistanceMeters, List<VirtualStop> virtualStops,
+                                         List<RideRequestStatusDto> members) {
+        // 정류장 순번별로 내리는 요청 ID를 모음 (ID 순으로 정렬)
+        List<List<Long>> idsByStop = new ArrayList<>(virtualStops.size());
+        for (int i = 0; i < virtualStops.size(); i++) {
+            idsByStop.add(new ArrayList<>());
+        }
+        for (RideRequestStatusDto member : members) {
+            idsByStop.get(member.virtualStopIndex()).add(member.id());
+        }
+
+        List<MatchedGroupDto.Stop> stops = new ArrayList<>(virtualStops.size());
+        for (int i = 0; i < virtualStops.size(); i++) {
+            VirtualStop stop = virtualStops.get(i);
+            List<Long> ids = idsByStop.get(i);
+            ids.sort(null);
+            stops.add(new MatchedGroupDto.Stop(stop.lat(), stop.lng(), List.copyOf(ids)));
+        }
+        return new MatchedGroupDto(id, region, finalDepartureTime, passengerCount, routeDistanceMeters, List.copyOf(stops));
+    }
+}
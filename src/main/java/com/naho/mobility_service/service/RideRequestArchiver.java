@@ -0,0 +1,177 @@
+package com.naho.mobility_service.service;
+
+import com.naho.mobility_service.domain.RequestStatus;
+import com.naho.mobility_service.dto.ArchiveKey;
+import com.naho.mobility_service.dto.ArchiveResult;
+import com.naho.mobility_service.repository.MatchedGroupArchiveRepository;
+import com.naho.mobility_service.repository.MatchedGroupRepository;
+import com.naho.mobility_service.repository.RideRequestArchiveRepository;
+import com.naho.mobility_service.repository.RideRequestRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * 끝난 탑승 요청과 그룹을 보관(cold) 테이블로 옮겨서, ride_request/matched_group에는 예약 가능한 기간의 행만 남깁니다.
+ * 1. 매칭/취소가 끝났고 희망 시간이 보관 기간(retention)보다 오래된 요청을 ride_request_archive로 옮김
+ * 2. 출발 시간이 보관 기간보다 오래되었고 남은 요청이 없는 그룹을 정류장과 함께 matched_group_archive로 옮김
+ * 옮기기는 chunk 단위로 "복사(INSERT ... SELECT) → 삭제"를 각자의 짧은 트랜잭션에서 실행하고 chunk 사이에 잠시 쉬므로,
+ * 긴 잠금 없이 접수/매칭과 동시에 실행할 수 있습니다. 중간에 실패해도 커밋된 chunk까지만 옮겨지고, 다음 실행이 이어서 처리합니다.
+ * 옮긴 요청/그룹의 조회는 RideQueryService가 보관 테이블에서 이어서 처리합니다.
+ */
+@Slf4j
+@Component
+public class RideRequestArchiver {
+
+    // 더 이상 상태가 바뀌지 않는 요청
+    private static final List<RequestStatus> FINISHED_STATUSES = List.of(RequestStatus.MATCHED, RequestStatus.CANCELED_NO_CAPACITY);
+
+    private final RideRequestRepository rideRequestRepository;
+    private final RideRequestArchiveRepository rideRequestArchiveRepository;
+    private final MatchedGroupRepository matchedGroupRepository;
+    private final MatchedGroupArchiveRepository matchedGroupArchiveRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ClusterCoordinator clusterCoordinator;
+    private final boolean enabled;
+    private final Duration retention;
+    private final int chunkSize;
+    private final Duration chunkPause;
+
+    public RideRequestArchiver(RideRequestRepository rideRequestRepository,
+                               RideRequestArchiveRepository rideRequestArchiveRepository,
+                               MatchedGroupRepository matchedGroupRepository,
+                               MatchedGroupArchiveRepository matchedGroupArchiveRepository,
+                               TransactionTemplate transactionTemplate,
+                               ClusterCoordinator clusterCoordinator,
+                               @Value("${mobility-app.archive.enabled:true}") boolean enabled,
+                               @Value("${mobility-app.archive.retention:3d}") Duration retention,
+                               @Value("${mobility-app.archive.chunk-size:1000}") int chunkSize,
+                               @Value("${mobility-app.archive.chunk-pause:20ms}") Duration chunkPause) {
+        if (chunkSize < 1 || chunkSize > RideRequestRepository.BULK_CHUNK_SIZE) {
+            throw new IllegalArgumentException("archive.chunk-size는 1 이상 " + RideRequestRepository.BULK_CHUNK_SIZE + " 이하여야 합니다: " + chunkSize);
+        }
+        this.rideRequestRepository = rideRequestRepository;
+        this.rideRequestArchiveRepository = rideRequestArchiveRepository;
+        this.matchedGroupRepository = matchedGroupRepository;
+        this.matchedGroupArchiveRepository = matchedGroupArchiveRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.clusterCoordinator = clusterCoordinator;
+        this.enabled = enabled;
+        this.retention = retention;
+        this.chunkSize = chunkSize;
+        this.chunkPause = chunkPause;
+    }
+
+    @Scheduled(cron = "${mobility-app.archive.cron:0 30 4 * * *}") //기본값: 매일 04:30 (접수가 가장 적은 시간)
+    public void scheduledArchive() {
+        if (enabled) {
+            archive(LocalDateTime.now().minus(retention));
+        }
+    }
+
+    /**
+     * before 이전에 끝난 요청과 그룹을 보관 테이블로 옮깁니다.
+     * 클러스터 모드에서는 같은 날짜의 작업을 한 노드만 실행합니다.
+     */
+    public ArchiveResult archive(LocalDateTime before) {
+        String leaseName = "archive:" + before.toLocalDate();
+        if (clusterCoordinator.isEnabled() && !clusterCoordinator.tryAcquire(leaseName, clusterCoordinator.liveNodes())) {
+            log.info("보관 작업 {}은(는) 다른 노드가 처리합니다.", leaseName);
+            return ArchiveResult.skipped();
+        }
+
+        long startNanos = System.nanoTime();
+        try {
+            // 그룹은 남은 요청이 없어야 옮길 수 있으므로 요청을 먼저 옮김
+            // 상태마다 따로 조회해야 (status, requested_time, id) 인덱스 순서 그대로 읽을 수 있음
+            int requests = 0;
+            for (RequestStatus status : FINISHED_STATUSES) {
+                requests += moveInChunks(after -> rideRequestRepository.findArchivableKeys(
+                        status, after.time(), after.id(), before, PageRequest.of(0, chunkSize)), this::moveRequests);
+            }
+            int groups = moveInChunks(after -> matchedGroupRepository.findArchivableKeys(
+                    after.time(), after.id(), before, PageRequest.of(0, chunkSize)), this::moveGroups);
+
+            ArchiveResult result = new ArchiveResult(requests, groups,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos), false);
+            log.info("보관 작업 완료 ({} 이전): 요청 {}건, 그룹 {}건, {}ms", before, requests, groups, result.elapsedMillis());
+            if (clusterCoordinator.isEnabled()) {
+                clusterCoordinator.complete(leaseName);
+            }
+            return result;
+        } catch (RuntimeException e) {
+            if (clusterCoordinator.isEnabled()) {
+                clusterCoordinator.release(leaseName);
+            }
+            throw e;
+        }
+    }
+
+    // keyset 페이징으로 대상을 (시간, ID) 순으로 chunk 크기만큼씩 읽어서, chunk마다 별도 트랜잭션으로 옮김
+    private int moveInChunks(Function<ArchiveKey, List<ArchiveKey>> findChunk, ToIntFunction<List<Long>> move) {
+        int moved = 0;
+        ArchiveKey after = new ArchiveKey(0, RideRequestRepository.KEYSET_ORIGIN);
+        while (true) {
+            List<ArchiveKey> keys = findChunk.apply(after);
+            if (keys.isEmpty()) {
+                return moved;
+            }
+            List<Long> ids = keys.stream().map(ArchiveKey::id).toList();
+            Integer count = transactionTemplate.execute(status -> move.applyAsInt(ids));
+            moved += count == null ? 0 : count;
+            if (keys.size() < chunkSize || !pause()) {
+                return moved;
+            }
+            after = keys.get(keys.size() - 1);
+        }
+    }
+
+    private int moveRequests(List<Long> ids) {
+        int copied = rideRequestArchiveRepository.copyFromRideRequests(ids);
+        int deleted = rideRequestRepository.deleteByIds(ids);
+        verifyMoved("요청", copied, deleted);
+        return deleted;
+    }
+
+    private int moveGroups(List<Long> ids) {
+        int copiedGroups = matchedGroupArchiveRepository.copyFromMatchedGroups(ids);
+        int copiedStops = matchedGroupArchiveRepository.copyStopsFromMatchedGroups(ids);
+        int deletedStops = matchedGroupRepository.deleteStopsByGroupIds(ids);
+        int deletedGroups = matchedGroupRepository.deleteByIds(ids);
+        verifyMoved("정류장", copiedStops, deletedStops);
+        verifyMoved("그룹", copiedGroups, deletedGroups);
+        return deletedGroups;
+    }
+
+    // 복사한 행 수와 지운 행 수가 다르면 복사되지 않은 행이 지워진 것이므로, 예외로 이 chunk의 트랜잭션을 롤백
+    private static void verifyMoved(String target, int copied, int deleted) {
+        if (copied != deleted) {
+            throw new IllegalStateException(
+                    "보관 " + target + " 수가 맞지 않습니다. (복사 " + copied + "건, 삭제 " + deleted + "건)");
+        }
+    }
+
+    // chunk 사이에 쉬어서 접수/매칭 트랜잭션이 DB를 먼저 쓸 수 있게 함 (중단되면 false)
+    private boolean pause() {
+        if (chunkPause.isZero()) {
+            return true;
+        }
+        try {
+            Thread.sleep(chunkPause.toMillis());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.naho.mobility_service.service;
+
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.naho.mobility_service.domain.GeoPoint;
+import com.naho.mobility_service.domain.IngestionStatus;
+import com.naho.mobility_service.domain.RegionZone;
+import com.naho.mobility_service.domain.RideRequest;
+import com.naho.mobility_service.dto.BulkIngestionResultDto;
+import com.naho.mobility_service.dto.RideRequestDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 제휴사의 대량 예약을 한 번의 HTTP 요청으로 접수하는 서비스입니다.
+ * - 본문(NDJSON 또는 JSON 배열)을 전체를 메모리에 올리지 않고 항목 단위로 읽습니다.
+ * - chunk 단위로 모아서, chunk 안의 같은 주소는 한 번만 지오코딩하고 서로 다른 주소는 동시에 지오코딩합니다.
+ * - 좌표를 얻은 항목은 chunk마다 한 트랜잭션에서 JDBC 배치로 저장합니다.
+ * 비동기 접수(RideRequestIngestionService)와 달리 처리가 끝날 때까지 기다렸다가 항목별 결과를 바로 돌려줍니다.
+ */
+@Slf4j
+@Service
+public class RideRequestBatchService {
+
+    private final ObjectReader reader;
+    private final RideRequestService rideRequestService;
+    private final GeocodingService geocodingService;
+    private final RegionResolver regionResolver;
+    private final ExecutorService geocodeExecutor;
+    private final int chunkSize;
+    private final int maxItems;
+    private final Duration geocodeTimeout;
+
+    public RideRequestBatchService(ObjectMapper objectMapper,
+                                   RideRequestService rideRequestService,
+                                   GeocodingService geocodingService,
+                                   RegionResolver regionResolver,
+                                   ExecutorService geocodeExecutor,
+                                   @Value("${mobility-app.ingestion.bulk-chunk-size:500}") int chunkSize,
+                                   @Value("${mobility-app.ingestion.bulk-max-items:10000}") int maxItems,
+                                   @Value("${mobility-app.ingestion.geocode-timeout:10s}") Duration geocodeTimeout) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("bulk-chunk-size는 1 이상이어야 합니다: " + chunkSize);
+        }
+        this.reader = objectMapper.readerFor(RideRequestDto.class);
+        this.rideRequestService = rideRequestService;
+        this.geocodingService = geocodingService;
+        this.regionResolver = regionResolver;
+        this.geocodeExecutor = geocodeExecutor;
+        this.chunkSize = chunkSize;
+        this.maxItems = maxItems;
+        this.geocodeTimeout = geocodeTimeout;
+    }
+
+    /**
+     * 본문을 읽어 가며 chunk 단위로 저장합니다.
+     * 최상위가 배열이면 배열의 원소를, 아니면 줄(공백)로 구분된 JSON 값들을 차례로 읽습니다.
+     * 형식이 잘못된 항목은 INVALID로 기록하고 다음 항목을 계속 읽지만, JSON 문법이 깨져서 더 읽을 수 없으면 거기서 멈춥니다.
+     */
+    public BulkIngestionResultDto ingest(InputStream body) {
+        List<BulkIngestionResultDto.Item> results = new ArrayList<>();
+        List<Indexed> chunk = new ArrayList<>(chunkSize);
+        int index = 0;
+        String error = null;
+
+        try (MappingIterator<RideRequestDto> items = reader.readValues(body)) {
+            // JSON 문법 오류(JsonParseException)는 바깥으로 전달되어 읽기를 멈춤
+            while (items.hasNextValue()) {
+                if (index == maxItems) {
+                    error = "한 번에 접수할 수 있는 최대 항목 수(" + maxItems + "건)를 넘었습니다. 이후 항목은 처리하지 않았습니다.";
+                    break;
+                }
+                int itemIndex = index++;
+                try {
+                    RideRequestDto request = items.nextValue();
+                    String invalid = validate(request);
+                    if (invalid != null) {
+                        results.add(BulkIngestionResultDto.Item.failed(itemIndex, IngestionStatus.INVALID, invalid));
+                        continue;
+                    }
+                    chunk.add(new Indexed(itemIndex, request));
+                } catch (JsonMappingException e) {
+                    // 필드 타입이 맞지 않는 등 이 항목만 잘못된 경우 (다음 항목으로 넘어감)
+                    results.add(BulkIngestionResultDto.Item.failed(itemIndex, IngestionStatus.INVALID, e.getOriginalMessage()));
+                }
+                if (chunk.size() == chunkSize) {
+                    processChunk(chunk, results);
+                    chunk.clear();
+                }
+            }
+        } catch (IOException e) {
+            error = "본문을 끝까지 읽지 못했습니다: " + e.getMessage();
+        }
+        processChunk(chunk, results);
+
+        int created = (int) results.stream().filter(item -> item.status() == IngestionStatus.COMPLETED).count();
+        results.sort((a, b) -> Integer.compare(a.index(), b.index()));
+        log.info("일괄 접수: {}건 중 {}건 저장{}", index, created, error == null ? "" : " (" + error + ")");
+        return new BulkIngestionResultDto(index, created, index - created, error, results);
+    }
+
+    private String validate(RideRequestDto request) {
+        if (request == null) {
+            return "항목이 비어 있습니다.";
+        }
+        if (request.requestedTime() == null) {
+            return "requestedTime이 없습니다.";
+        }
+        if (request.destinationAddess() == null || request.destinationAddess().isBlank()) {
+            return "destinationAddess가 없습니다.";
+        }
+        return null;
+    }
+
+    private void processChunk(List<Indexed> chunk, List<BulkIngestionResultDto.Item> results) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        // 1. 정규화한 주소가 같은 항목은 지오코딩을 한 번만 요청하고, 서로 다른 주소는 동시에 요청
+        //    응답이 없는 주소 하나가 요청 전체를 붙잡지 않도록 geocode-timeout이 지나면 그 주소의 항목만 실패 처리
+        Map<String, CompletableFuture<GeoPoint>> geocodes = new HashMap<>();
+        List<CompletableFuture<GeoPoint>> futures = new ArrayList<>(chunk.size());
+        for (Indexed item : chunk) {
+            String address = item.request().destinationAddess();
+            futures.add(geocodes.computeIfAbsent(GeocodingService.normalize(address),
+                    key -> CompletableFuture.supplyAsync(() -> geocodingService.geocode(address), geocodeExecutor)
+                            .orTimeout(geocodeTimeout.toMillis(), TimeUnit.MILLISECONDS)));
+        }
+
+        // 2. 좌표를 얻고 좌표의 권역이 요청과 맞는 항목만 엔티티로 만듦 (권역을 생략한 항목은 좌표의 권역을 사용)
+        List<Indexed> geocoded = new ArrayList<>(chunk.size());
+        List<RideRequest> newRequests = new ArrayList<>(chunk.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            Indexed item = chunk.get(i);
+            GeoPoint point;
+            try {
+                point = futures.get(i).join();
+            } catch (CompletionException e) {
+                String reason = e.getCause() instanceof TimeoutException
+                        ? "지오코딩이 " + geocodeTimeout.toMillis() + "ms 안에 끝나지 않았습니다."
+                        : e.getCause().getMessage();
+                results.add(BulkIngestionResultDto.Item.failed(item.index(), IngestionStatus.GEOCODING_FAILED, reason));
+                continue;
+            }
+            try {
+                RegionZone zone = regionResolver.resolve(item.request().region(), point);
+                newRequests.add(new RideRequest(zone, item.request().requestedTime(), point.lat(), point.lng()));
+                geocoded.add(item);
+            } catch (IllegalArgumentException e) {
+                results.add(BulkIngestionResultDto.Item.failed(item.index(), IngestionStatus.INVALID, e.getMessage()));
+            }
+        }
+        if (newRequests.isEmpty()) {
+            return;
+        }
+
+        // 3. chunk 단위로 한 트랜잭션에서 일괄 저장 (시퀀스 ID + JDBC 배치 INSERT)
+        try {
+            List<RideRequest> saved = rideRequestService.saveRideRequests(newRequests);
+            for (int i = 0; i < saved.size(); i++) {
+                results.add(BulkIngestionResultDto.Item.completed(geocoded.get(i).index(), saved.get(i).getId()));
+            }
+        } catch (RuntimeException e) {
+            log.warn("일괄 접수 저장 실패 ({}건)", geocoded.size(), e);
+            geocoded.forEach(item -> results.add(BulkIngestionResultDto.Item.failed(item.index(), IngestionStatus.FAILED, e.getMessage())));
+        }
+    }
+
+    private record Indexed(int index, RideRequestDto request) {
+    }
+}
@@ -0,0 +1,187 @@
+package com.naho.mobility_service.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.naho.mobility_service.domain.GeoPoint;
+import com.naho.mobility_service.domain.IngestionStatus;
+import com.naho.mobility_service.domain.RegionZone;
+import com.naho.mobility_service.domain.RideRequest;
+import com.naho.mobility_service.dto.IngestionStatusDto;
+import com.naho.mobility_service.dto.RideRequestDto;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 탑승 요청을 비동기로 접수하는 파이프라인입니다.
+ * 요청은 크기가 제한된 큐에 넣고 바로 trackingId를 돌려주며,
+ * 백그라운드 워커가 큐에서 여러 건을 한 번에 꺼내 지오코딩(동시 실행) → 일괄 저장합니다.
+ * 큐가 가득 차면 접수를 거절하여 호출 측(컨트롤러)이 429로 응답하게 합니다.
+ */
+@Slf4j
+@Service
+public class RideRequestIngestionService {
+
+    private final RideRequestService rideRequestService;
+    private final GeocodingService geocodingService;
+    private final RegionResolver regionResolver;
+    private final ExecutorService geocodeExecutor;
+
+    private final BlockingQueue<IngestionJob> queue;
+    private final Cache<String, IngestionStatusDto> statuses; // trackingId → 처리 상태
+    private final int workerCount;
+    private final int batchSize;
+    private final Duration geocodeTimeout;
+    private final List<Thread> workers = new ArrayList<>();
+
+    public RideRequestIngestionService(RideRequestService rideRequestService,
+                                       GeocodingService geocodingService,
+                                       RegionResolver regionResolver,
+                                       ExecutorService geocodeExecutor,
+                                       @Value("${mobility-app.ingestion.queue-capacity}") int queueCapacity,
+                                       @Value("${mobility-app.ingestion.workers}") int workerCount,
+                                       @Value("${mobility-app.ingestion.batch-size}") int batchSize,
+                                       @Value("${mobility-app.ingestion.status-retention}") Duration statusRetention,
+                                       @Value("${mobility-app.ingestion.geocode-timeout:10s}") Duration geocodeTimeout) {
+        this.rideRequestService = rideRequestService;
+        this.geocodingService = geocodingService;
+        this.regionResolver = regionResolver;
+        this.geocodeExecutor = geocodeExecutor;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.workerCount = workerCount;
+        this.batchSize = batchSize;
+        this.geocodeTimeout = geocodeTimeout;
+        // 처리 상태는 일정 시간 동안만 보관 (큐 용량 + 최근 완료 건 정도로 크기 제한)
+        this.statuses = Caffeine.newBuilder()
+                .expireAfterWrite(statusRetention)
+                .maximumSize(queueCapacity * 10L)
+                .build();
+    }
+
+    @PostConstruct
+    void startWorkers() {
+        for (int i = 0; i < workerCount; i++) {
+            workers.add(Thread.ofVirtual().name("ingestion-" + i).start(this::runWorker));
+        }
+    }
+
+    @PreDestroy
+    void stopWorkers() {
+        workers.forEach(Thread::interrupt);
+        if (!queue.isEmpty()) {
+            log.warn("종료 시점에 처리되지 않은 비동기 접수 요청: {}건", queue.size());
+        }
+    }
+
+    /**
+     * 요청을 접수 큐에 넣습니다.
+     * @return 접수된 경우 trackingId가 담긴 상태, 큐가 가득 찬 경우 빈 값
+     */
+    public Optional<IngestionStatusDto> submit(RideRequestDto requestDto) {
+        String trackingId = UUID.randomUUID().toString();
+        IngestionStatusDto status = IngestionStatusDto.of(trackingId, IngestionStatus.QUEUED);
+        statuses.put(trackingId, status);
+
+        if (!queue.offer(new IngestionJob(trackingId, requestDto))) {
+            statuses.invalidate(trackingId); // 거절된 요청은 추적하지 않음
+            return Optional.empty();
+        }
+        return Optional.of(status);
+    }
+
+    public Optional<IngestionStatusDto> getStatus(String trackingId) {
+        return Optional.ofNullable(statuses.getIfPresent(trackingId));
+    }
+
+    private void runWorker() {
+        List<IngestionJob> batch = new ArrayList<>(batchSize);
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                // 1. 최소 한 건이 들어올 때까지 기다린 뒤, 이미 쌓여 있는 요청을 배치 크기만큼 함께 꺼냄
+                batch.add(queue.take());
+                queue.drainTo(batch, batchSize - 1);
+                processBatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                // 예상치 못한 오류로 워커가 멈추지 않도록 배치 단위로 실패 처리
+                log.error("비동기 접수 배치 처리 중 오류 ({}건)", batch.size(), e);
+                batch.forEach(job -> markFailed(job, IngestionStatus.FAILED, e));
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void processBatch(List<IngestionJob> batch) {
+        // 2. 배치 내 주소들을 동시에 지오코딩 (같은 주소는 캐시에서 한 번만 조회됨)
+        //    응답이 없는 호출 하나가 워커를 붙잡지 않도록 geocode-timeout이 지나면 그 요청만 실패 처리
+        List<CompletableFuture<GeoPoint>> geocodes = new ArrayList<>(batch.size());
+        for (IngestionJob job : batch) {
+            statuses.put(job.trackingId(), IngestionStatusDto.of(job.trackingId(), IngestionStatus.GEOCODING));
+            geocodes.add(CompletableFuture.supplyAsync(
+                            () -> geocodingService.geocode(job.request().destinationAddess()), geocodeExecutor)
+                    .orTimeout(geocodeTimeout.toMillis(), TimeUnit.MILLISECONDS));
+        }
+
+        // 3. 지오코딩에 성공하고 좌표의 권역이 요청과 맞는 요청만 엔티티로 만듦
+        List<IngestionJob> geocodedJobs = new ArrayList<>(batch.size());
+        List<RideRequest> newRequests = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            IngestionJob job = batch.get(i);
+            GeoPoint point;
+            try {
+                point = geocodes.get(i).join();
+            } catch (CompletionException e) {
+                markFailed(job, IngestionStatus.GEOCODING_FAILED, e.getCause() instanceof TimeoutException
+                        ? new TimeoutException("지오코딩이 " + geocodeTimeout.toMillis() + "ms 안에 끝나지 않았습니다.")
+                        : e.getCause());
+                continue;
+            }
+            try {
+                RegionZone zone = regionResolver.resolve(job.request().region(), point);
+                newRequests.add(new RideRequest(zone, job.request().requestedTime(), point.lat(), point.lng()));
+                geocodedJobs.add(job);
+            } catch (IllegalArgumentException e) {
+                markFailed(job, IngestionStatus.INVALID, e);
+            }
+        }
+        if (newRequests.isEmpty()) {
+            return;
+        }
+
+        // 4. 한 트랜잭션에서 일괄 저장하고, 발급된 ID를 상태에 기록
+        try {
+            List<RideRequest> saved = rideRequestService.saveRideRequests(newRequests);
+            for (int i = 0; i < saved.size(); i++) {
+                String trackingId = geocodedJobs.get(i).trackingId();
+                statuses.put(trackingId, IngestionStatusDto.completed(trackingId, saved.get(i).getId()));
+            }
+        } catch (RuntimeException e) {
+            geocodedJobs.forEach(job -> markFailed(job, IngestionStatus.FAILED, e));
+        }
+    }
+
+    private void markFailed(IngestionJob job, IngestionStatus failedStatus, Throwable cause) {
+        String reason = cause == null ? null : cause.getMessage();
+        statuses.put(job.trackingId(), IngestionStatusDto.failed(job.trackingId(), failedStatus, reason));
+    }
+
+    private record IngestionJob(String trackingId, RideRequestDto request) {
+    }
+}
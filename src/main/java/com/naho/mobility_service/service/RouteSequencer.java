@@ -0,0 +1,295 @@
+package com.naho.mobility_service.service;
+
+import com.naho.mobility_service.domain.VehicleRoute;
+import com.naho.mobility_service.domain.VirtualStop;
+import com.naho.mobility_service.util.GeoUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 매칭된 그룹의 가상 정류장을 차량별 방문 순서로 정리합니다.
+ * 1. 차량 정원을 넘는 그룹은 필요한 최소 차량 수에 승객을 고르게 나눈 인원(차이는 최대 1명)을 정하고,
+ *    정류장들을 중심점 기준 각도 순으로 훑으면서(sweep) 그 인원만큼씩 차량에 나눠 담습니다.
+ *    (정원만큼 채우고 남은 인원을 마지막 차량에 몰면 16명 → 15명 + 1명처럼 최소 인원에 못 미치는 차량이 생김)
+ *    한 정류장의 승객이 남은 자리보다 많으면 다음 차량으로 나누어 태웁니다.
+ * 2. 차량마다 출발지와 정류장들의 haversine 거리 행렬을 만들고,
+ *    최근접 이웃(nearest neighbour)으로 초기 경로를 만든 뒤 2-opt(구간 뒤집기)와 Or-opt(1~3개 정류장 옮기기)로 다듬습니다.
+ * 차량당 정류장 수는 정원 이하이므로 그룹이 커져도 차량 수에 비례하는 시간만 걸립니다.
+ */
+@Component
+public class RouteSequencer {
+
+    private final int vehicleCapacity;
+    private final double originLat;
+    private final double originLng;
+
+    /**
+     * @param vehicleCapacity 차량 한 대의 최대 승객 수
+     * @param originLat       모든 차량이 출발하는 지점의 위도
+     * @param originLng       모든 차량이 출발하는 지점의 경도
+     */
+    public RouteSequencer(@Value("${mobility-app.matching.vehicle-capacity}") int vehicleCapacity,
+                          @Value("${mobility-app.matching.origin-lat}") double originLat,
+                          @Value("${mobility-app.matching.origin-lng}") double originLng) {
+        if (vehicleCapacity < 1) {
+            throw new IllegalArgumentException("차량 정원은 1 이상이어야 합니다: " + vehicleCapacity);
+        }
+        this.vehicleCapacity = vehicleCapacity;
+        this.originLat = originLat;
+        this.originLng = originLng;
+    }
+
+    /**
+     * @param stops   가상 정류장 목록
+     * @param demands 정류장별 하차 승객 수 (demands[s]는 stops.get(s)의 승객 수)
+     * @return 차량별 방문 순서 (모든 승객이 정확히 한 번씩 배정됨)
+     */
+    public List<VehicleRoute> sequence(List<VirtualStop> stops, int[] demands) {
+        if (stops.size() != demands.length) {
+            throw new IllegalArgumentException("정류장 수와 승객 수 배열의 길이가 다릅니다.");
+        }
+        List<VehicleRoute> routes = new ArrayList<>();
+        for (int[][] load : splitByCapacity(stops, demands)) {
+            routes.add(route(stops, load[0], load[1]));
+        }
+        return routes;
+    }
+
+    // 1. 중심점 기준 각도 순으로 정류장을 훑으며 차량별 목표 인원만큼씩 담습니다. 반환값: 차량별 {정류장 순번[], 하차 인원[]}
+    private List<int[][]> splitByCapacity(List<VirtualStop> stops, int[] demands) {
+        int total = Arrays.stream(demands).sum();
+        int vehicles = Math.ceilDiv(total, vehicleCapacity);
+        List<int[][]> loads = new ArrayList<>(vehicles);
+        int[] sweepOrder = sweepOrder(stops);
+
+        int[] vehicleStops = new int[vehicleCapacity];
+        int[] vehicleDropOffs = new int[vehicleCapacity];
+        int stopCount = 0;
+        int load = 0;
+        int target = targetLoad(total, vehicles, 0);
+        for (int s : sweepOrder) {
+            int remaining = demands[s];
+            while (remaining > 0) {
+                int taken = Math.min(remaining, target - load);
+                vehicleStops[stopCount] = s;
+                vehicleDropOffs[stopCount] = taken;
+                stopCount++;
+                load += taken;
+                remaining -= taken;
+                if (load == target) {
+                    loads.add(new int[][]{Arrays.copyOf(vehicleStops, stopCount), Arrays.copyOf(vehicleDropOffs, stopCount)});
+                    stopCount = 0;
+                    load = 0;
+                    target = targetLoad(total, vehicles, loads.size());
+                }
+            }
+        }
+        return loads;
+    }
+
+    // vehicle번째 차량의 인원: 앞쪽 (total % vehicles)대는 한 명씩 더 태움 (모든 차량의 인원 차이가 1명 이하)
+    private static int targetLoad(int total, int vehicles, int vehicle) {
+        if (vehicle >= vehicles) {
+            return 0;
+        }
+        return total / vehicles + (vehicle < total % vehicles ? 1 : 0);
+    }
+
+    // 정류장들의 중심점에서 본 방위각 순서. 각도가 가장 크게 벌어진 곳에서 시작해서 차량별 구역이 한 덩어리가 되게 함
+    private int[] sweepOrder(List<VirtualStop> stops) {
+        int n = stops.size();
+        double centerLat = 0;
+        double centerLng = 0;
+        for (VirtualStop stop : stops) {
+            centerLat += stop.lat();
+            centerLng += stop.lng();
+        }
+        centerLat /= Math.max(n, 1);
+        centerLng /= Math.max(n, 1);
+        double cosLat = Math.cos(Math.toRadians(centerLat));
+
+        double[] angles = new double[n];
+        Integer[] order = new Integer[n];
+        for (int s = 0; s < n; s++) {
+            angles[s] = Math.atan2(stops.get(s).lat() - centerLat, (stops.get(s).lng() - centerLng) * cosLat);
+            order[s] = s;
+        }
+        Arrays.sort(order, (a, b) -> Double.compare(angles[a], angles[b]));
+
+        int start = 0;
+        double maxGap = n > 0 ? angles[order[0]] + 2 * Math.PI - angles[order[n - 1]] : 0;
+        for (int i = 1; i < n; i++) {
+            double gap = angles[order[i]] - angles[order[i - 1]];
+            if (gap > maxGap) {
+                maxGap = gap;
+                start = i;
+            }
+        }
+
+        int[] result = new int[n];
+        for (int i = 0; i < n; i++) {
+            result[i] = order[(start + i) % n];
+        }
+        return result;
+    }
+
+    // 2. 차량 한 대의 경로: 출발지(노드 0)에서 시작하는 열린 경로를 최근접 이웃 + 2-opt/Or-opt로 구함
+    private VehicleRoute route(List<VirtualStop> stops, int[] vehicleStops, int[] dropOffs) {
+        int m = vehicleStops.length;
+        double[][] distance = distanceMatrix(stops, vehicleStops);
+
+        int[] path = nearestNeighbourPath(distance);
+        do {
+            improveWithTwoOpt(path, distance);
+        } while (improveWithOrOpt(path, distance));
+
+        int[] stopOrder = new int[m];
+        int[] orderedDropOffs = new int[m];
+        double length = 0;
+        for (int k = 1; k <= m; k++) {
+            stopOrder[k - 1] = vehicleStops[path[k] - 1];
+            orderedDropOffs[k - 1] = dropOffs[path[k] - 1];
+            length += distance[path[k - 1]][path[k]];
+        }
+        return new VehicleRoute(stopOrder, orderedDropOffs, length);
+    }
+
+    // 노드 0 = 출발지, 노드 k = vehicleStops[k - 1]
+    private double[][] distanceMatrix(List<VirtualStop> stops, int[] vehicleStops) {
+        int size = vehicleStops.length + 1;
+        double[] lat = new double[size];
+        double[] lng = new double[size];
+        lat[0] = originLat;
+        lng[0] = originLng;
+        for (int k = 1; k < size; k++) {
+            VirtualStop stop = stops.get(vehicleStops[k - 1]);
+            lat[k] = stop.lat();
+            lng[k] = stop.lng();
+        }
+
+        double[][] distance = new double[size][size];
+        for (int i = 0; i < size; i++) {
+            for (int j = i + 1; j < size; j++) {
+                distance[i][j] = distance[j][i] = GeoUtils.haversineMeters(lat[i], lng[i], lat[j], lng[j]);
+            }
+        }
+        return distance;
+    }
+
+    private int[] nearestNeighbourPath(double[][] distance) {
+        int size = distance.length;
+        int[] path = new int[size];
+        boolean[] visited = new boolean[size];
+        visited[0] = true;
+        for (int k = 1; k < size; k++) {
+            int current = path[k - 1];
+            int nearest = -1;
+            for (int candidate = 1; candidate < size; candidate++) {
+                if (!visited[candidate] && (nearest == -1 || distance[current][candidate] < distance[current][nearest])) {
+                    nearest = candidate;
+                }
+            }
+            path[k] = nearest;
+            visited[nearest] = true;
+        }
+        return path;
+    }
+
+    /**
+     * path[i..j] 구간을 뒤집어 경로가 짧아지면 적용하는 것을 더 이상 개선이 없을 때까지 반복합니다.
+     * 출발지(path[0])는 고정이고, 마지막 정류장 뒤로는 이어지는 구간이 없는 열린 경로입니다.
+     */
+    private static void improveWithTwoOpt(int[] path, double[][] distance) {
+        int last = path.length - 1;
+        boolean improved = true;
+        while (improved) {
+            improved = false;
+            for (int i = 1; i < last; i++) {
+                for (int j = i + 1; j <= last; j++) {
+                    double before = distance[path[i - 1]][path[i]];
+                    double after = distance[path[i - 1]][path[j]];
+                    if (j < last) {
+                        before += distance[path[j]][path[j + 1]];
+                        after += distance[path[i]][path[j + 1]];
+                    }
+                    if (after < before - 1e-9) {
+                        reverse(path, i, j);
+                        improved = true;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * 연속된 1~3개 정류장을 다른 위치로(필요하면 뒤집어서) 옮겨 경로가 짧아지는 첫 번째 이동을 적용합니다.
+     * 2-opt만으로는 빠져나오지 못하는 국소해를 벗어나기 위함입니다.
+     * @return 이동을 적용했으면 true
+     */
+    private static boolean improveWithOrOpt(int[] path, double[][] distance) {
+        int last = path.length - 1;
+        for (int length = 1; length <= 3; length++) {
+            for (int i = 1; i + length - 1 <= last; i++) {
+                int j = i + length - 1; // 옮길 구간 path[i..j]
+                int prev = path[i - 1];
+                double removeGain = distance[prev][path[i]];
+                if (j < last) {
+                    removeGain += distance[path[j]][path[j + 1]] - distance[prev][path[j + 1]];
+                }
+                for (int k = 0; k <= last; k++) {
+                    if (k >= i - 1 && k <= j) {
+                        continue; // 구간 안이나 바로 앞에 다시 넣는 것은 제자리
+                    }
+                    // path[k] 바로 뒤에 끼워 넣는 비용 (정방향/역방향 중 작은 쪽)
+                    int a = path[k];
+                    double forward = distance[a][path[i]];
+                    double backward = distance[a][path[j]];
+                    if (k < last) {
+                        int b = path[k + 1];
+                        forward += distance[path[j]][b] - distance[a][b];
+                        backward += distance[path[i]][b] - distance[a][b];
+                    }
+                    if (Math.min(forward, backward) < removeGain - 1e-9) {
+                        move(path, i, j, k, backward < forward);
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    // path[i..j] 구간을 떼어 path[k] 뒤에 다시 끼워 넣습니다.
+    private static void move(int[] path, int i, int j, int k, boolean reversed) {
+        int[] segment = Arrays.copyOfRange(path, i, j + 1);
+        if (reversed) {
+            reverse(segment, 0, segment.length - 1);
+        }
+        int[] result = new int[path.length];
+        int size = 0;
+        for (int index = 0; index < path.length; index++) {
+            if (index >= i && index <= j) {
+                continue;
+            }
+            result[size++] = path[index];
+            if (index == k) {
+                for (int node : segment) {
+                    result[size++] = node;
+                }
+            }
+        }
+        System.arraycopy(result, 0, path, 0, path.length);
+    }
+
+    private static void reverse(int[] path, int from, int to) {
+        while (from < to) {
+            int temp = path[from];
+            path[from++] = path[to];
+            path[to--] = temp;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.naho.mobility_service.service;
+
+import com.naho.mobility_service.domain.MatchingWindowSnapshot;
+import com.naho.mobility_service.domain.Region;
+import com.naho.mobility_service.domain.VirtualStopAssignment;
+import com.naho.mobility_service.util.SyntheticRequestGenerator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 애플리케이션 시작 직후 메모리 구조를 준비합니다.
+ * 1. 디스크에 저장된 지오코딩 캐시 복원
+ * 2. DB의 PENDING 요청으로 매칭 후보 인덱스 재구성
+ * 3. (백그라운드 모드) 합성 데이터로 클러스터링/경로 계산을 몇 번 실행해서 클래스 로딩과 JIT 컴파일을 미리 끝냄
+ * background-warmup=true(빠른 시작 프로필)면 이 작업을 가상 스레드에서 실행하여 준비 완료를 기다리지 않고 바로 요청을 받습니다.
+ * 매칭은 인덱스 재구성이 끝날 때까지 기다리므로 불완전한 인덱스로 실행되지 않습니다. (재구성이 실패하면 매칭 실행이 다시 시도)
+ */
+@Slf4j
+@Component
+public class StartupWarmup {
+
+    private static final int WARMUP_REQUESTS = 2000;
+    private static final int WARMUP_ROUNDS = 3;
+
+    private final GeocodingService geocodingService;
+    private final PendingRequestIndex pendingRequestIndex;
+    private final GridDbscanClusterer clusterer;
+    private final RouteSequencer routeSequencer;
+    private final boolean background;
+
+    public StartupWarmup(GeocodingService geocodingService,
+                         PendingRequestIndex pendingRequestIndex,
+                         GridDbscanClusterer clusterer,
+                         RouteSequencer routeSequencer,
+                         @Value("${mobility-app.startup.background-warmup:false}") boolean background) {
+        this.geocodingService = geocodingService;
+        this.pendingRequestIndex = pendingRequestIndex;
+        this.clusterer = clusterer;
+        this.routeSequencer = routeSequencer;
+        this.background = background;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (background) {
+            Thread.ofVirtual().name("startup-warmup").start(() -> {
+                try {
+                    warmUp();
+                } catch (RuntimeException e) {
+                    // 인덱스 재구성 실패는 PendingRequestIndex에 기록되어 있으므로, 다음 매칭 실행이 다시 시도함
+                    log.error("백그라운드 시작 준비 실패", e);
+                }
+            });
+        } else {
+            warmUp();
+        }
+    }
+
+    private void warmUp() {
+        long startNanos = System.nanoTime();
+        geocodingService.loadFromDisk();
+        pendingRequestIndex.rebuild();
+        if (background) {
+            warmUpMatching();
+        }
+        log.info("시작 준비 완료 ({}ms, 백그라운드: {})", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos), background);
+    }
+
+    // DB에 쓰지 않고 매칭의 계산 단계(클러스터링, 차량 배분/방문 순서)만 합성 데이터로 실행
+    private void warmUpMatching() {
+        try {
+            SyntheticRequestGenerator generator = new SyntheticRequestGenerator(0);
+            LocalDateTime centralTime = LocalDateTime.now();
+            for (int round = 0; round < WARMUP_ROUNDS; round++) {
+                MatchingWindowSnapshot.Builder builder = MatchingWindowSnapshot.builder(WARMUP_REQUESTS);
+                generator.generate(Region.DONGTAN, WARMUP_REQUESTS, SyntheticRequestGenerator.Distribution.HOTSPOT, centralTime)
+                        .forEach(builder::add);
+                MatchingWindowSnapshot snapshot = builder.build();
+
+                VirtualStopAssignment assignment = clusterer.assignVirtualStops(snapshot.lats(), snapshot.lngs(), 0, snapshot.size());
+                int[] demands = new int[assignment.virtualStops().size()];
+                for (int stopIndex : assignment.stopIndexes()) {
+                    demands[stopIndex]++;
+                }
+                routeSequencer.sequence(assignment.virtualStops(), demands);
+            }
+        } catch (RuntimeException e) {
+            // 워밍업 실패는 서비스에 영향이 없으므로 기록만 함
+            log.warn("매칭 워밍업 실패", e);
+        }
+    }
+}
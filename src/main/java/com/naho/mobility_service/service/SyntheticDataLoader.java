@@ -0,0 +1,76 @@
+package com.naho.mobility_service.service;
+
+import com.naho.mobility_service.domain.MatchingCandidate;
+import com.naho.mobility_service.domain.Region;
+import com.naho.mobility_service.domain.RideRequest;
+import com.naho.mobility_service.repository.RideRequestRepository;
+import com.naho.mobility_service.util.SyntheticRequestGenerator;
+import com.naho.mobility_service.util.SyntheticRequestGenerator.Distribution;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * loadgen 프로필에서 DataLoader 대신 실행되어, 운영 규모의 합성 탑승 요청을 일괄 저장합니다.
+ * 다음 매칭 실행부터 이어지는 매칭 창(1시간 간격)마다 권역별로 N건씩 생성합니다.
+ * 예) --spring.profiles.active=loadgen --mobility-app.loadgen.requests-per-region=50000
+ */
+@Slf4j
+@Component
+@Profile("loadgen")
+public class SyntheticDataLoader implements CommandLineRunner {
+
+    private static final int SAVE_CHUNK_SIZE = 5000;
+
+    private final RideRequestRepository rideRequestRepository;
+    private final int requestsPerRegion;
+    private final int windows;
+    private final Distribution distribution;
+    private final long seed;
+
+    public SyntheticDataLoader(RideRequestRepository rideRequestRepository,
+                               @Value("${mobility-app.loadgen.requests-per-region}") int requestsPerRegion,
+                               @Value("${mobility-app.loadgen.windows}") int windows,
+                               @Value("${mobility-app.loadgen.distribution}") Distribution distribution,
+                               @Value("${mobility-app.loadgen.seed}") long seed) {
+        this.rideRequestRepository = rideRequestRepository;
+        this.requestsPerRegion = requestsPerRegion;
+        this.windows = windows;
+        this.distribution = distribution;
+        this.seed = seed;
+    }
+
+    @Override
+    public void run(String... args) {
+        rideRequestRepository.deleteAllInBatch();
+
+        // 1. 다음 매칭 실행의 중심 시간(3시간 뒤 정각)부터 창마다 1시간씩 이동
+        LocalDateTime firstCentralTime = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS).plusHours(3);
+        SyntheticRequestGenerator generator = new SyntheticRequestGenerator(seed);
+
+        long startNanos = System.nanoTime();
+        long total = 0;
+        for (int w = 0; w < windows; w++) {
+            LocalDateTime centralTime = firstCentralTime.plusHours(w);
+            for (Region region : Region.values()) {
+                // 2. 권역별로 생성해서 chunk 단위로 저장 (시퀀스 ID + JDBC 배치로 INSERT가 묶여서 전송됨)
+                List<MatchingCandidate> candidates = generator.generate(region, requestsPerRegion, distribution, centralTime);
+                List<RideRequest> requests = SyntheticRequestGenerator.toRideRequests(candidates);
+                for (int from = 0; from < requests.size(); from += SAVE_CHUNK_SIZE) {
+                    rideRequestRepository.saveAll(requests.subList(from, Math.min(from + SAVE_CHUNK_SIZE, requests.size())));
+                }
+                total += requests.size();
+            }
+        }
+
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+        log.info("✅ 합성 데이터 {}건 저장 완료 ({}, 창 {}개, {}ms)", total, distribution, windows, elapsedMillis);
+    }
+}
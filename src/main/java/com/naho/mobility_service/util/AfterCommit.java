@@ -0,0 +1,29 @@
+package com.naho.mobility_service.util;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 메모리에 보관한 상태(인덱스, 캐시)를 DB 커밋 결과에 맞춰 갱신할 때 사용하는 유틸리티입니다.
+ */
+public final class AfterCommit {
+
+    private AfterCommit() {
+    }
+
+    /**
+     * 현재 트랜잭션이 커밋된 뒤에 action을 실행합니다. (트랜잭션 밖이면 바로 실행, 롤백되면 실행하지 않음)
+     */
+    public static void run(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,44 @@
+package com.naho.mobility_service.util;
+
+/**
+ * 위경도 좌표 계산에 공통으로 사용하는 유틸리티입니다.
+ */
+public final class GeoUtils {
+
+    // 지구 평균 반지름(미터)
+    public static final double EARTH_RADIUS_METERS = 6_371_008.8;
+
+    // 위도 1도에 해당하는 거리(미터)
+    public static final double METERS_PER_DEGREE_LAT = Math.PI * EARTH_RADIUS_METERS / 180.0;
+
+    private GeoUtils() {
+    }
+
+    /**
+     * 두 좌표 사이의 대원 거리(haversine)를 미터 단위로 계산합니다.
+     */
+    public static double haversineMeters(double lat1, double lng1, double lat2, double lng2) {
+        double a = haversine(Math.toRadians(lat1), Math.toRadians(lng1), Math.cos(Math.toRadians(lat1)),
+                Math.toRadians(lat2), Math.toRadians(lng2), Math.cos(Math.toRadians(lat2)));
+        return 2 * EARTH_RADIUS_METERS * Math.asin(Math.sqrt(Math.min(1.0, a)));
+    }
+
+    /**
+     * haversine 공식의 중간값 a = sin²(Δφ/2) + cosφ1·cosφ2·sin²(Δλ/2) 를 계산합니다.
+     * 라디안 값과 cos(위도)를 미리 계산해 둔 경우, 거리 비교를 asin/sqrt 없이 할 수 있습니다.
+     */
+    public static double haversine(double latRad1, double lngRad1, double cosLat1,
+                                   double latRad2, double lngRad2, double cosLat2) {
+        double sinDLat = Math.sin((latRad2 - latRad1) / 2);
+        double sinDLng = Math.sin((lngRad2 - lngRad1) / 2);
+        return sinDLat * sinDLat + cosLat1 * cosLat2 * sinDLng * sinDLng;
+    }
+
+    /**
+     * 미터 단위 거리를 haversine 중간값 a로 변환합니다. (a 값끼리 비교하면 거리 비교와 같습니다)
+     */
+    public static double haversineThreshold(double meters) {
+        double s = Math.sin(meters / (2 * EARTH_RADIUS_METERS));
+        return s * s;
+    }
+}
@@ -0,0 +1,291 @@
+package com.naho.mobility_service.util;
+
+import com.naho.mobility_service.domain.Region;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.NoSuchElementException;
+
+/**
+ * 리플레이용 탑승 요청 이벤트 로그를 메모리 매핑(mmap)으로 순서대로 읽습니다.
+ * 이벤트는 접수 시각(submittedAt) 순으로 정렬되어 있어야 합니다.
+ * 두 가지 형식을 지원하며, 파일 앞 4바이트로 구분합니다.
+ * - 바이너리: 헤더(매직 "RRL1", 권역 이름 표) + 고정 길이 레코드
+ *   [접수 시각 epoch second(8) | 희망 시간 epoch second(8) | 위도(8) | 경도(8) | 권역 번호(1, 없으면 -1)]
+ * - CSV: submitted_at,requested_time,region,lat,lng (시각은 ISO-8601, region은 비워도 됨, 첫 줄 헤더는 선택)
+ * 파일을 통째로 힙에 올리지 않고 segment 단위로 매핑하므로 수 GB 로그도 읽을 수 있습니다.
+ */
+public final class RideRequestEventLog implements Closeable {
+
+    /**
+     * 로그의 이벤트 하나 (region이 null이면 좌표로 권역을 정함)
+     */
+    public record Event(LocalDateTime submittedAt, LocalDateTime requestedTime, Region region, double lat, double lng) {
+    }
+
+    private static final int MAGIC = 0x52524C31; // "RRL1"
+    private static final int RECORD_BYTES = 8 + 8 + 8 + 8 + 1;
+    private static final long DEFAULT_SEGMENT_BYTES = 256L * 1024 * 1024;
+    private static final String CSV_HEADER_PREFIX = "submitted_at";
+
+    private final Path path;
+    private final FileChannel channel;
+    private final long fileSize;
+    private final long segmentBytes;
+    private final boolean binary;
+    private final Region[] regions; // 바이너리: 파일의 권역 번호 → Region
+
+    // 현재 매핑된 구간 [base, base + buffer.limit())
+    private MappedByteBuffer buffer;
+    private long base;
+    private Event next;
+    private LocalDateTime lastSubmittedAt;
+    private long lineNumber;
+
+    private RideRequestEventLog(Path path, long segmentBytes) throws IOException {
+        this.path = path;
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        this.fileSize = channel.size();
+        this.segmentBytes = segmentBytes;
+        map(0);
+        this.binary = fileSize >= Integer.BYTES && buffer.getInt(0) == MAGIC;
+        if (binary) {
+            buffer.position(Integer.BYTES);
+            this.regions = readRegionTable();
+        } else {
+            this.regions = null;
+            skipCsvHeader();
+        }
+    }
+
+    public static RideRequestEventLog open(Path path) {
+        return open(path, DEFAULT_SEGMENT_BYTES);
+    }
+
+    // segment 크기를 바꿔서 매핑 경계를 넘는 경우를 확인할 때 사용 (바이너리 헤더보다는 커야 함)
+    static RideRequestEventLog open(Path path, long segmentBytes) {
+        try {
+            return new RideRequestEventLog(path, segmentBytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException("이벤트 로그를 열지 못했습니다: " + path, e);
+        }
+    }
+
+    public boolean isBinary() {
+        return binary;
+    }
+
+    public boolean hasNext() {
+        if (next == null) {
+            next = binary ? readRecord() : readCsvLine();
+            if (next != null) {
+                if (lastSubmittedAt != null && next.submittedAt().isBefore(lastSubmittedAt)) {
+                    throw new IllegalArgumentException("이벤트 로그가 접수 시각 순으로 정렬되어 있지 않습니다: "
+                            + path + " (" + next.submittedAt() + " < " + lastSubmittedAt + ")");
+                }
+                lastSubmittedAt = next.submittedAt();
+            }
+        }
+        return next != null;
+    }
+
+    // 다음 이벤트를 꺼내지 않고 확인 (없으면 null)
+    public Event peek() {
+        return hasNext() ? next : null;
+    }
+
+    public Event next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        Event event = next;
+        next = null;
+        return event;
+    }
+
+    @Override
+    public void close() {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void map(long position) throws IOException {
+        base = position;
+        long length = Math.min(segmentBytes, fileSize - position);
+        buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+        buffer.order(ByteOrder.BIG_ENDIAN); // DataOutputStream과 같은 순서
+    }
+
+    // 현재 위치부터 bytes만큼 읽을 수 있도록 필요하면 다음 구간을 매핑 (파일 끝이면 false)
+    private boolean ensureReadable(int bytes) {
+        if (buffer.remaining() >= bytes) {
+            return true;
+        }
+        long position = base + buffer.position();
+        if (fileSize - position < bytes) {
+            return false;
+        }
+        try {
+            map(position);
+        } catch (IOException e) {
+            throw new UncheckedIOException("이벤트 로그를 읽지 못했습니다: " + path, e);
+        }
+        return true;
+    }
+
+    private Region[] readRegionTable() {
+        int count = buffer.getInt();
+        Region[] table = new Region[count];
+        for (int i = 0; i < count; i++) {
+            byte[] name = new byte[buffer.get()];
+            buffer.get(name);
+            table[i] = Region.valueOf(new String(name, StandardCharsets.US_ASCII));
+        }
+        return table;
+    }
+
+    private Event readRecord() {
+        if (!ensureReadable(RECORD_BYTES)) {
+            long trailing = fileSize - base - buffer.position();
+            if (trailing > 0) {
+                throw new IllegalArgumentException("이벤트 로그 끝에 잘린 레코드가 있습니다: " + path + " (" + trailing + "바이트)");
+            }
+            return null;
+        }
+        LocalDateTime submittedAt = LocalDateTime.ofEpochSecond(buffer.getLong(), 0, ZoneOffset.UTC);
+        LocalDateTime requestedTime = LocalDateTime.ofEpochSecond(buffer.getLong(), 0, ZoneOffset.UTC);
+        double lat = buffer.getDouble();
+        double lng = buffer.getDouble();
+        byte regionIndex = buffer.get();
+        return new Event(submittedAt, requestedTime, regionIndex < 0 ? null : regions[regionIndex], lat, lng);
+    }
+
+    private void skipCsvHeader() throws IOException {
+        String first = readLine();
+        if (first != null && !first.startsWith(CSV_HEADER_PREFIX)) {
+            // 헤더가 없는 파일: 처음부터 다시 읽음
+            map(0);
+            lineNumber = 0;
+        }
+    }
+
+    private Event readCsvLine() {
+        String line;
+        do {
+            line = readLine();
+            if (line == null) {
+                return null;
+            }
+        } while (line.isBlank());
+
+        String[] fields = line.split(",", -1);
+        if (fields.length != 5) {
+            throw new IllegalArgumentException("CSV 형식이 올바르지 않습니다: " + path + ":" + lineNumber + " (" + line + ")");
+        }
+        try {
+            String region = fields[2].trim();
+            return new Event(LocalDateTime.parse(fields[0].trim()), LocalDateTime.parse(fields[1].trim()),
+                    region.isEmpty() ? null : Region.valueOf(region),
+                    Double.parseDouble(fields[3].trim()), Double.parseDouble(fields[4].trim()));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("CSV 값이 올바르지 않습니다: " + path + ":" + lineNumber + " (" + line + ")", e);
+        }
+    }
+
+    // 현재 위치부터 줄 끝('\n')까지를 읽음. 줄이 매핑 구간 경계에 걸치면 줄 시작부터 다시 매핑
+    private String readLine() {
+        while (true) {
+            int start = buffer.position();
+            int end = start;
+            while (end < buffer.limit() && buffer.get(end) != '\n') {
+                end++;
+            }
+            boolean atFileEnd = base + end >= fileSize;
+            if (end == buffer.limit() && !atFileEnd) {
+                if (start == 0) {
+                    throw new IllegalArgumentException("CSV 한 줄이 매핑 구간보다 깁니다: " + path + ":" + (lineNumber + 1));
+                }
+                try {
+                    map(base + start);
+                } catch (IOException e) {
+                    throw new UncheckedIOException("이벤트 로그를 읽지 못했습니다: " + path, e);
+                }
+                continue;
+            }
+            if (start == end && atFileEnd) {
+                return null;
+            }
+            byte[] bytes = new byte[end - start];
+            buffer.get(start, bytes);
+            buffer.position(Math.min(end + 1, buffer.limit()));
+            lineNumber++;
+            int length = bytes.length > 0 && bytes[bytes.length - 1] == '\r' ? bytes.length - 1 : bytes.length;
+            return new String(bytes, 0, length, StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * 바이너리 이벤트 로그를 씁니다. (CSV로 내보낸 이력을 한 번 변환해 두면 리플레이마다 파싱하지 않아도 됨)
+     * 이벤트는 접수 시각 순으로 추가해야 합니다.
+     */
+    public static Writer writer(Path path) {
+        try {
+            return new Writer(path);
+        } catch (IOException e) {
+            throw new UncheckedIOException("이벤트 로그를 만들지 못했습니다: " + path, e);
+        }
+    }
+
+    public static final class Writer implements Closeable {
+
+        private final DataOutputStream out;
+
+        private Writer(Path path) throws IOException {
+            this.out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path), 1 << 16));
+            out.writeInt(MAGIC);
+            Region[] values = Region.values();
+            out.writeInt(values.length);
+            for (Region region : values) {
+                byte[] name = region.name().getBytes(StandardCharsets.US_ASCII);
+                out.writeByte(name.length);
+                out.write(name);
+            }
+        }
+
+        public void append(Event event) {
+            try {
+                out.writeLong(event.submittedAt().toEpochSecond(ZoneOffset.UTC));
+                out.writeLong(event.requestedTime().toEpochSecond(ZoneOffset.UTC));
+                out.writeDouble(event.lat());
+                out.writeDouble(event.lng());
+                out.writeByte(event.region() == null ? -1 : event.region().ordinal());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void close() {
+            try {
+                out.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.naho.mobility_service.util;
+
+import com.naho.mobility_service.domain.MatchingCandidate;
+import com.naho.mobility_service.domain.Region;
+import com.naho.mobility_service.domain.RideRequest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * 벤치마크/부하 테스트용 합성 탑승 요청 생성기입니다.
+ * 권역 중심 좌표를 기준으로 목적지를 흩뿌리고, 희망 시간은 중심 시간 ±30분(매칭 창) 안에서 뽑습니다.
+ * 희망 시간은 중심 시간 근처에 몰리고(정규분포), 사람들이 흔히 고르는 5분 단위 시각에 일부가 맞춰집니다.
+ * 같은 seed로 만들면 항상 같은 데이터가 나오므로 측정 결과를 서로 비교할 수 있습니다.
+ */
+public class SyntheticRequestGenerator {
+
+    /**
+     * 목적지 공간 분포
+     */
+    public enum Distribution {
+        UNIFORM,    // 권역 반경 안에 고르게
+        HOTSPOT,    // 역/아파트 단지 같은 작은 핫스팟 주변에 몰림
+        MULTI_CITY  // 멀리 떨어진 몇 개의 도심 + 약간의 외곽 수요
+    }
+
+    private static final double REGION_RADIUS_METERS = 15_000;
+    private static final int HOTSPOT_COUNT = 50;
+    private static final double HOTSPOT_SIGMA_METERS = 150;
+    private static final int CITY_COUNT = 4;
+    private static final double CITY_DISTANCE_METERS = 25_000;
+    private static final double CITY_SIGMA_METERS = 3_000;
+    private static final double CITY_BACKGROUND_RATIO = 0.1;
+    private static final int HALF_WINDOW_SECONDS = 30 * 60;
+    private static final double TIME_SIGMA_SECONDS = 15 * 60;
+    private static final double ROUND_TIME_RATIO = 0.6;
+    private static final int ROUND_TIME_SECONDS = 5 * 60;
+
+    private final Random random;
+    private long nextId = 1;
+
+    public SyntheticRequestGenerator(long seed) {
+        this.random = new Random(seed);
+    }
+
+    /**
+     * 한 권역의 매칭 후보를 count개 만듭니다. ID는 이 생성기 안에서 1부터 겹치지 않게 붙습니다.
+     */
+    public List<MatchingCandidate> generate(Region region, int count, Distribution distribution, LocalDateTime centralTime) {
+        if (count < 0) {
+            throw new IllegalArgumentException("요청 수는 0 이상이어야 합니다: " + count);
+        }
+        double[][] centers = centers(region, distribution);
+
+        List<MatchingCandidate> candidates = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            double[] point = point(region, distribution, centers);
+            candidates.add(new MatchingCandidate(nextId++, region, centralTime.plusSeconds(timeOffsetSeconds()), point[0], point[1]));
+        }
+        return candidates;
+    }
+
+    /**
+     * 저장용 엔티티로 바꿉니다. (ID는 DB에서 새로 발급됨)
+     */
+    public static List<RideRequest> toRideRequests(List<MatchingCandidate> candidates) {
+        List<RideRequest> requests = new ArrayList<>(candidates.size());
+        for (MatchingCandidate candidate : candidates) {
+            requests.add(new RideRequest(candidate.region(), candidate.requestedTime(), candidate.destLat(), candidate.destLng()));
+        }
+        return requests;
+    }
+
+    // 중심 시간으로부터의 차이(초): 창 밖으로 나가면 다시 뽑고, 일부는 5분 단위로 맞춤
+    private long timeOffsetSeconds() {
+        long offset;
+        do {
+            offset = Math.round(random.nextGaussian() * TIME_SIGMA_SECONDS);
+        } while (Math.abs(offset) > HALF_WINDOW_SECONDS);
+        if (random.nextDouble() < ROUND_TIME_RATIO) {
+            offset = Math.round((double) offset / ROUND_TIME_SECONDS) * ROUND_TIME_SECONDS;
+        }
+        return offset;
+    }
+
+    // 분포별 중심점: 핫스팟은 권역 안에 무작위로, 도시는 권역 중심을 둘러싼 원 위에 배치
+    private double[][] centers(Region region, Distribution distribution) {
+        return switch (distribution) {
+            case UNIFORM -> new double[0][];
+            case HOTSPOT -> {
+                double[][] hotspots = new double[HOTSPOT_COUNT][];
+                for (int i = 0; i < HOTSPOT_COUNT; i++) {
+                    hotspots[i] = uniformInDisk(region.getCenterLat(), region.getCenterLng(), REGION_RADIUS_METERS);
+                }
+                yield hotspots;
+            }
+            case MULTI_CITY -> {
+                double[][] cities = new double[CITY_COUNT][];
+                double phase = random.nextDouble() * 2 * Math.PI;
+                for (int i = 0; i < CITY_COUNT; i++) {
+                    double angle = phase + 2 * Math.PI * i / CITY_COUNT;
+                    cities[i] = offset(region.getCenterLat(), region.getCenterLng(),
+                            CITY_DISTANCE_METERS * Math.cos(angle), CITY_DISTANCE_METERS * Math.sin(angle));
+                }
+                yield cities;
+            }
+        };
+    }
+
+    private double[] point(Region region, Distribution distribution, double[][] centers) {
+        return switch (distribution) {
+            case UNIFORM -> uniformInDisk(region.getCenterLat(), region.getCenterLng(), REGION_RADIUS_METERS);
+            case HOTSPOT -> gaussianAround(centers[random.nextInt(centers.length)], HOTSPOT_SIGMA_METERS);
+            case MULTI_CITY -> random.nextDouble() < CITY_BACKGROUND_RATIO
+                    ? uniformInDisk(region.getCenterLat(), region.getCenterLng(), CITY_DISTANCE_METERS + 3 * CITY_SIGMA_METERS)
+                    : gaussianAround(centers[random.nextInt(centers.length)], CITY_SIGMA_METERS);
+        };
+    }
+
+    private double[] uniformInDisk(double lat, double lng, double radiusMeters) {
+        double r = radiusMeters * Math.sqrt(random.nextDouble());
+        double angle = random.nextDouble() * 2 * Math.PI;
+        return offset(lat, lng, r * Math.cos(angle), r * Math.sin(angle));
+    }
+
+    private double[] gaussianAround(double[] center, double sigmaMeters) {
+        return offset(center[0], center[1], random.nextGaussian() * sigmaMeters, random.nextGaussian() * sigmaMeters);
+    }
+
+    // 남북/동서 방향으로 미터만큼 이동한 좌표
+    private static double[] offset(double lat, double lng, double northMeters, double eastMeters) {
+        double newLat = lat + northMeters / GeoUtils.METERS_PER_DEGREE_LAT;
+        double newLng = lng + eastMeters / (GeoUtils.METERS_PER_DEGREE_LAT * Math.cos(Math.toRadians(lat)));
+        return new double[]{newLat, newLng};
+    }
+}
@@ -0,0 +1,54 @@
+package com.naho.mobility_service;
+
+import com.naho.mobility_service.domain.MatchingCandidate;
+import com.naho.mobility_service.domain.Region;
+import com.naho.mobility_service.domain.RideRequest;
+import com.naho.mobility_service.dto.RegionMatchResult;
+import com.naho.mobility_service.repository.RideRequestRepository;
+import com.naho.mobility_service.service.MatchingService;
+import com.naho.mobility_service.service.PendingRequestIndex;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 빠른 시작 프로필: 지연 초기화와 백그라운드 준비 작업으로 시작한 뒤에도 인덱스가 재구성되고 매칭이 동작하는지 확인합니다.
+ */
+@SpringBootTest(properties = {"mobility-app.matching.cron=-", "spring.datasource.url=jdbc:h2:mem:fast-start;DB_CLOSE_DELAY=-1"})
+@ActiveProfiles("fast-start")
+class FastStartProfileTest {
+
+    @Autowired
+    private PendingRequestIndex pendingRequestIndex;
+
+    @Autowired
+    private RideRequestRepository rideRequestRepository;
+
+    @Autowired
+    private MatchingService matchingService;
+
+    @Test
+    void backgroundWarmupRebuildsIndexAndMatchingRuns() {
+        pendingRequestIndex.awaitRebuilt(Duration.ofSeconds(30));
+        assertThat(pendingRequestIndex.isRebuilt()).isTrue();
+
+        LocalDateTime centralTime = LocalDateTime.of(2032, 1, 1, 9, 0);
+        List<RideRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            requests.add(new RideRequest(Region.DONGTAN, centralTime.plusMinutes(i), 37.2 + i * 1e-4, 127.07));
+        }
+        rideRequestRepository.saveAll(requests).forEach(request -> pendingRequestIndex.add(MatchingCandidate.from(request)));
+
+        List<RegionMatchResult> results = matchingService.runConsolidatedMatching(centralTime);
+
+        assertThat(results).singleElement().satisfies(result -> assertThat(result.matched()).isEqualTo(8));
+    }
+}
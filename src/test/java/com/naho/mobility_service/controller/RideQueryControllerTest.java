@@ -0,0 +1,117 @@
+package com.naho.mobility_service.controller;
+
+import com.jayway.jsonpath.JsonPath;
+import com.naho.mobility_service.domain.MatchingCandidate;
+import com.naho.mobility_service.domain.Region;
+import com.naho.mobility_service.domain.RideRequest;
+import com.naho.mobility_service.repository.RideRequestRepository;
+import com.naho.mobility_service.service.MatchingService;
+import com.naho.mobility_service.service.PendingRequestIndex;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "mobility-app.matching.cron=-")
+@AutoConfigureMockMvc
+class RideQueryControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private RideRequestRepository rideRequestRepository;
+
+    @Autowired
+    private PendingRequestIndex pendingRequestIndex;
+
+    @Autowired
+    private MatchingService matchingService;
+
+    @Test
+    void statusIsServedWithEtagAndRefreshedAfterMatching() throws Exception {
+        LocalDateTime centralTime = LocalDateTime.of(2030, 3, 1, 23, 0);
+        List<RideRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            requests.add(new RideRequest(Region.SUWON, centralTime.plusMinutes(i), 37.263 + i * 1e-4, 127.028));
+        }
+        rideRequestRepository.saveAll(requests).forEach(request -> pendingRequestIndex.add(MatchingCandidate.from(request)));
+        String path = "/api/requests/" + requests.get(0).getId();
+
+        // 1. 처음 조회: 200 + ETag, 같은 ETag로 다시 조회하면 304
+        String pendingEtag = mockMvc.perform(get(path))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("PENDING"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(get(path).header(HttpHeaders.IF_NONE_MATCH, pendingEtag))
+                .andExpect(status().isNotModified());
+
+        // 2. 매칭이 커밋되면 캐시가 무효화되어 ttl을 기다리지 않고 바뀐 상태가 보임
+        matchingService.runConsolidatedMatching(centralTime);
+        String body = mockMvc.perform(get(path).header(HttpHeaders.IF_NONE_MATCH, pendingEtag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("MATCHED"))
+                .andReturn().getResponse().getContentAsString();
+        Number groupId = JsonPath.read(body, "$.matchedGroupId");
+
+        // 3. 그룹 상세: 정류장별 탑승 요청, 그룹도 ETag로 재검증
+        String groupEtag = mockMvc.perform(get("/api/groups/" + groupId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.passengerCount").value(6))
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(get("/api/groups/" + groupId).header(HttpHeaders.IF_NONE_MATCH, groupEtag))
+                .andExpect(status().isNotModified());
+
+        mockMvc.perform(get("/api/requests/" + Long.MAX_VALUE)).andExpect(status().isNotFound());
+    }
+
+    @Test
+    void subscriberReceivesMatchResultWhenGroupCommits() throws Exception {
+        LocalDateTime centralTime = LocalDateTime.of(2030, 3, 2, 23, 0);
+        List<RideRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            requests.add(new RideRequest(Region.ILSAN, centralTime.plusMinutes(i), 37.658 + i * 1e-4, 126.770));
+        }
+        rideRequestRepository.saveAll(requests).forEach(request -> pendingRequestIndex.add(MatchingCandidate.from(request)));
+
+        MvcResult subscription = mockMvc.perform(get("/api/requests/" + requests.get(0).getId() + "/events"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        matchingService.runConsolidatedMatching(centralTime);
+
+        // 커밋 직후 가상 스레드에서 전송되므로 잠시 기다림
+        long deadline = System.currentTimeMillis() + 5_000;
+        String stream = subscription.getResponse().getContentAsString();
+        while (!stream.contains("event:MATCHED") && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            stream = subscription.getResponse().getContentAsString();
+        }
+        assertThat(stream).contains("event:MATCHED").contains("\"virtualStop\"").contains("\"finalDepartureTime\"");
+
+        // 이미 결과가 나온 요청을 구독하면 바로 결과를 받음
+        MvcResult late = mockMvc.perform(get("/api/requests/" + requests.get(1).getId() + "/events"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        deadline = System.currentTimeMillis() + 5_000;
+        while (!late.getResponse().getContentAsString().contains("event:MATCHED") && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertThat(late.getResponse().getContentAsString()).contains("event:MATCHED");
+    }
+}
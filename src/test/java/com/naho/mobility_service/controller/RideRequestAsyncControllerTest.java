@@ -0,0 +1,68 @@
+package com.naho.mobility_service.controller;
+
+import com.naho.mobility_service.service.GeocodingService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 워커 없이(workers=0) 용량 2인 접수 큐를 채워서, 접수(202)와 큐가 가득 찼을 때의 거절(429)을 확인합니다.
+ */
+@SpringBootTest(properties = {"mobility-app.matching.cron=-",
+        "mobility-app.ingestion.queue-capacity=2", "mobility-app.ingestion.workers=0"})
+@AutoConfigureMockMvc
+class RideRequestAsyncControllerTest {
+
+    private static final String BODY = """
+            {"region":"DONGTAN","destinationAddess":"동탄역","requestedTime":"2030-01-01T23:00:00"}
+            """;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private GeocodingService geocodingService;
+
+    @Test
+    void acceptsUntilQueueIsFullThenRejectsWithRetryAfter() throws Exception {
+        for (int i = 0; i < 2; i++) {
+            String location = mockMvc.perform(post("/api/requests/async").contentType(MediaType.APPLICATION_JSON).content(BODY))
+                    .andExpect(status().isAccepted())
+                    .andExpect(header().exists(HttpHeaders.LOCATION))
+                    .andExpect(jsonPath("$.status").value("QUEUED"))
+                    .andExpect(jsonPath("$.trackingId").isNotEmpty())
+                    .andReturn().getResponse().getHeader(HttpHeaders.LOCATION);
+
+            // 접수된 요청은 처리되기 전까지 QUEUED로 조회됨
+            mockMvc.perform(get(location))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.status").value("QUEUED"));
+        }
+
+        // 큐가 가득 차면 바로 거절 (대기하거나 처리하지 않음)
+        mockMvc.perform(post("/api/requests/async").contentType(MediaType.APPLICATION_JSON).content(BODY))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"));
+        verify(geocodingService, never()).geocode(anyString());
+    }
+
+    @Test
+    void unknownTrackingIdIsNotFound() throws Exception {
+        mockMvc.perform(get("/api/requests/ingestions/unknown"))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,103 @@
+package com.naho.mobility_service.controller;
+
+import com.naho.mobility_service.domain.GeoPoint;
+import com.naho.mobility_service.service.GeocodingService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {"mobility-app.matching.cron=-", "mobility-app.ingestion.bulk-chunk-size=2",
+        "mobility-app.ingestion.geocode-timeout=500ms"})
+@AutoConfigureMockMvc
+class RideRequestBatchControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private GeocodingService geocodingService;
+
+    @Test
+    void ndjsonItemsAreGeocodedOncePerAddressAndReportedInOrder() throws Exception {
+        when(geocodingService.geocode(anyString())).thenReturn(new GeoPoint(37.2, 127.07));
+        when(geocodingService.geocode("없는 주소")).thenThrow(new IllegalArgumentException("주소를 찾을 수 없습니다."));
+
+        String body = """
+                {"region":"DONGTAN","destinationAddess":"동탄역","requestedTime":"2030-01-01T23:00:00"}
+                {"region":"DONGTAN","destinationAddess":"동탄역","requestedTime":"2030-01-01T23:10:00"}
+                {"destinationAddess":"동탄역","requestedTime":"2030-01-01T23:10:00"}
+                {"region":"NOWHERE","destinationAddess":"동탄역","requestedTime":"2030-01-01T23:10:00"}
+                {"region":"ILSAN","destinationAddess":"동탄역","requestedTime":"2030-01-01T23:10:00"}
+                {"region":"DONGTAN","destinationAddess":"없는 주소","requestedTime":"2030-01-01T23:20:00"}
+                """;
+
+        // 권역을 생략한 항목은 좌표의 권역(DONGTAN)으로 저장되고, 좌표와 다른 권역(ILSAN)을 보낸 항목은 거절됨
+        mockMvc.perform(post("/api/requests/batch").contentType(MediaType.APPLICATION_NDJSON).content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.received").value(6))
+                .andExpect(jsonPath("$.created").value(3))
+                .andExpect(jsonPath("$.items[*].status").value(org.hamcrest.Matchers.contains(
+                        "COMPLETED", "COMPLETED", "COMPLETED", "INVALID", "INVALID", "GEOCODING_FAILED")))
+                .andExpect(jsonPath("$.items[0].rideRequestId").isNumber());
+
+        // 같은 chunk 안의 같은 주소는 한 번만 지오코딩
+        verify(geocodingService, times(1)).geocode(eq("동탄역"));
+    }
+
+    @Test
+    void jsonArrayBodyIsAcceptedAndTruncatedStreamIsReported() throws Exception {
+        when(geocodingService.geocode(anyString())).thenReturn(new GeoPoint(37.66, 126.77));
+
+        String body = """
+                [{"region":"ILSAN","destinationAddess":"일산 호수공원","requestedTime":"2030-01-01T23:00:00"},
+                 {"region":"ILSAN","destinationAddess":"일산 킨텍스","requestedTime":"2030-01-01T23:05:00"},
+                 {"region":"ILSAN","destinationAddess":
+                """;
+
+        mockMvc.perform(post("/api/requests/batch").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(2))
+                .andExpect(jsonPath("$.error").isNotEmpty());
+    }
+
+    @Test
+    void hangingGeocodeFailsOnlyItsItemsAfterTimeout() throws Exception {
+        CountDownLatch hang = new CountDownLatch(1);
+        when(geocodingService.geocode(anyString())).thenReturn(new GeoPoint(37.2, 127.07));
+        when(geocodingService.geocode("응답 없는 주소")).thenAnswer(invocation -> {
+            hang.await(10, TimeUnit.SECONDS);
+            return new GeoPoint(37.2, 127.07);
+        });
+
+        String body = """
+                {"region":"DONGTAN","destinationAddess":"응답 없는 주소","requestedTime":"2030-01-01T23:00:00"}
+                {"region":"DONGTAN","destinationAddess":"동탄역","requestedTime":"2030-01-01T23:10:00"}
+                """;
+
+        try {
+            mockMvc.perform(post("/api/requests/batch").contentType(MediaType.APPLICATION_NDJSON).content(body))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.created").value(1))
+                    .andExpect(jsonPath("$.items[*].status").value(org.hamcrest.Matchers.contains("GEOCODING_FAILED", "COMPLETED")))
+                    .andExpect(jsonPath("$.items[0].message").value(org.hamcrest.Matchers.containsString("500ms")));
+        } finally {
+            hang.countDown();
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.naho.mobility_service.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MatchingWindowSnapshotTest {
+
+    private static final LocalDateTime TIME = LocalDateTime.of(2030, 1, 1, 23, 0);
+
+    @Test
+    void regionsAreContiguousRangesIncludingSkippedRegions() {
+        // DONGTAN(0) 2건, SUWON(2) 3건, INCHEON(5) 1건 (ILSAN, YOUNGIN, BUNDANG은 비어 있음)
+        MatchingWindowSnapshot snapshot = MatchingWindowSnapshot.builder(1)
+                .add(1, Region.DONGTAN, TIME, 37.20, 127.10)
+                .add(2, Region.DONGTAN, TIME, 37.21, 127.11)
+                .add(3, Region.SUWON, TIME, 37.26, 127.02)
+                .add(4, Region.SUWON, TIME, 37.27, 127.03)
+                .add(5, Region.SUWON, TIME, 37.28, 127.04)
+                .add(6, Region.INCHEON, TIME, 37.45, 126.70)
+                .build();
+
+        assertThat(snapshot.size()).isEqualTo(6);
+        assertThat(snapshot.regions()).containsExactly(Region.DONGTAN, Region.SUWON, Region.INCHEON);
+        assertThat(snapshot.from(Region.SUWON)).isEqualTo(2);
+        assertThat(snapshot.to(Region.SUWON)).isEqualTo(5);
+        assertThat(snapshot.size(Region.ILSAN)).isZero();
+        assertThat(snapshot.size(Region.BUNDANG)).isZero();
+        assertThat(snapshot.ids(snapshot.from(Region.INCHEON), snapshot.to(Region.INCHEON))).containsExactly(6L);
+        assertThat(snapshot.lats()[snapshot.from(Region.SUWON)]).isEqualTo(37.26);
+    }
+
+    @Test
+    void averagesRequestedTimesOfARange() {
+        MatchingWindowSnapshot snapshot = MatchingWindowSnapshot.builder(2)
+                .add(1, Region.ILSAN, TIME.minusMinutes(20), 37.66, 126.77)
+                .add(2, Region.ILSAN, TIME.plusMinutes(10), 37.66, 126.77)
+                .add(3, Region.ILSAN, TIME.plusMinutes(25), 37.66, 126.77)
+                .build();
+
+        long average = snapshot.averageEpochSecond(0, snapshot.size());
+
+        assertThat(LocalDateTime.ofEpochSecond(average, 0, ZoneOffset.UTC)).isEqualTo(TIME.plusMinutes(5));
+    }
+
+    @Test
+    void rejectsCandidatesOutOfRegionOrder() {
+        MatchingWindowSnapshot.Builder builder = MatchingWindowSnapshot.builder(2)
+                .add(1, Region.SUWON, TIME, 37.26, 127.02);
+
+        assertThatThrownBy(() -> builder.add(2, Region.DONGTAN, TIME, 37.20, 127.10))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,275 @@
+package com.naho.mobility_service.repository;
+
+import com.naho.mobility_service.domain.MatchedGroup;
+import com.naho.mobility_service.domain.Region;
+import com.naho.mobility_service.domain.RequestStatus;
+import com.naho.mobility_service.domain.RideRequest;
+import com.naho.mobility_service.domain.VirtualStop;
+import com.naho.mobility_service.dto.RideRequestStatusDto;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class RideRequestRepositoryBatchingTest {
+
+    private static final int JDBC_BATCH_SIZE = 50;
+    private static final int VEHICLE_CAPACITY = 15;
+    private static final int STOPS_PER_VEHICLE = 5;
+
+    @Autowired
+    private RideRequestRepository rideRequestRepository;
+
+    @Autowired
+    private MatchedGroupRepository matchedGroupRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+    }
+
+    // 그룹 크기가 커져도 매칭 결과 저장에 실행되는 SQL 문 수는 행 수만큼 늘지 않음 (요청 1건당 문장 수가 줄어듦)
+    // MatchingService와 같은 경로: 요청 INSERT → claim → 차량별 MatchedGroup INSERT → 차량/정류장 배정 UPDATE
+    @ParameterizedTest
+    @ValueSource(ints = {10, 100, 1000, 2500})
+    void statementCountPerRequestFallsAsGroupGrows(int groupSize) {
+        LocalDateTime time = LocalDateTime.of(2030, 1, 1, 23, 0);
+        List<RideRequest> requests = new ArrayList<>(groupSize);
+        for (int i = 0; i < groupSize; i++) {
+            requests.add(new RideRequest(Region.DONGTAN, time, 37.2 + i * 1e-5, 127.1));
+        }
+
+        // 1. INSERT: 시퀀스는 50개씩 할당되고, INSERT는 50건씩 배치로 전송됨
+        statistics.clear();
+        List<Long> ids = rideRequestRepository.saveAll(requests).stream().map(RideRequest::getId).toList();
+        entityManager.flush();
+        long insertStatements = statistics.getPrepareStatementCount();
+
+        // 2. claim: 1000건 단위의 UPDATE ... WHERE id IN (...)
+        statistics.clear();
+        int claimed = rideRequestRepository.claim(ids, "run-1", time);
+        long claimStatements = statistics.getPrepareStatementCount();
+
+        // 3. 그룹 저장: 정원 15명 차량마다 MatchedGroup 하나, 차량마다 정류장 5개 (그룹/정류장 INSERT 모두 50건씩 배치)
+        int vehicles = (int) ceilDiv(groupSize, VEHICLE_CAPACITY);
+        List<MatchedGroup> groups = new ArrayList<>(vehicles);
+        for (int v = 0; v < vehicles; v++) {
+            List<VirtualStop> stops = new ArrayList<>(STOPS_PER_VEHICLE);
+            for (int s = 0; s < STOPS_PER_VEHICLE; s++) {
+                stops.add(new VirtualStop(37.2 + s * 1e-3, 127.1));
+            }
+            groups.add(MatchedGroup.builder()
+                    .region(Region.DONGTAN)
+                    .finalDepartureTime(time)
+                    .passengerCount(Math.min(VEHICLE_CAPACITY, groupSize - v * VEHICLE_CAPACITY))
+                    .virtualStops(stops)
+                    .build());
+        }
+        statistics.clear();
+        matchedGroupRepository.saveAll(groups);
+        matchedGroupRepository.flush();
+        long groupStatements = statistics.getPrepareStatementCount();
+
+        // 4. 배정: 요청마다 그룹/정류장이 달라도 1000건 단위의 CASE UPDATE
+        long[] idArray = new long[groupSize];
+        long[] groupIds = new long[groupSize];
+        int[] stopIndexes = new int[groupSize];
+        for (int i = 0; i < groupSize; i++) {
+            idArray[i] = ids.get(i);
+            groupIds[i] = groups.get(i / VEHICLE_CAPACITY).getId();
+            stopIndexes[i] = i % STOPS_PER_VEHICLE;
+        }
+        statistics.clear();
+        int assigned = rideRequestRepository.assignGroups(idArray, groupIds, stopIndexes, "run-1");
+        long assignStatements = statistics.getPrepareStatementCount();
+
+        long batches = ceilDiv(groupSize, JDBC_BATCH_SIZE);
+        long chunks = ceilDiv(groupSize, RideRequestRepository.BULK_CHUNK_SIZE);
+        assertThat(insertStatements).isLessThanOrEqualTo(2 * batches + 2);
+        assertThat(claimed).isEqualTo(groupSize);
+        assertThat(claimStatements).isEqualTo(chunks);
+        assertThat(groupStatements).isLessThanOrEqualTo(2 * ceilDiv(vehicles, JDBC_BATCH_SIZE)
+                + ceilDiv((long) vehicles * STOPS_PER_VEHICLE, JDBC_BATCH_SIZE) + 2);
+        assertThat(assigned).isEqualTo(groupSize);
+        assertThat(assignStatements).isEqualTo(chunks);
+    }
+
+    // 최소 인원 미달 취소: claim한 요청을 1000건 단위의 UPDATE로 CANCELED_NO_CAPACITY로 바꿈
+    @ParameterizedTest
+    @ValueSource(ints = {5, 1000, 2500})
+    void cancellationUsesOneStatementPerChunk(int groupSize) {
+        LocalDateTime time = LocalDateTime.of(2030, 1, 1, 23, 0);
+        List<RideRequest> requests = new ArrayList<>(groupSize);
+        for (int i = 0; i < groupSize; i++) {
+            requests.add(new RideRequest(Region.ILSAN, time, 37.66, 126.77));
+        }
+        List<Long> ids = rideRequestRepository.saveAll(requests).stream().map(RideRequest::getId).toList();
+        rideRequestRepository.claim(ids, "run-1", time);
+
+        statistics.clear();
+        int canceled = rideRequestRepository.completeClaim(ids, "run-1", RequestStatus.CANCELED_NO_CAPACITY);
+        long cancelStatements = statistics.getPrepareStatementCount();
+        entityManager.clear();
+
+        assertThat(canceled).isEqualTo(groupSize);
+        assertThat(cancelStatements).isEqualTo(ceilDiv(groupSize, RideRequestRepository.BULK_CHUNK_SIZE));
+        assertThat(rideRequestRepository.findAllById(ids)).extracting(RideRequest::getStatus)
+                .containsOnly(RequestStatus.CANCELED_NO_CAPACITY);
+    }
+
+    @Test
+    void assignmentSkipsRequestsThatAreNoLongerClaimedByRun() {
+        int groupSize = 5;
+        LocalDateTime time = LocalDateTime.of(2030, 1, 1, 23, 0);
+        List<RideRequest> requests = new ArrayList<>();
+        for (int i = 0; i < groupSize; i++) {
+            requests.add(new RideRequest(Region.ILSAN, time, 37.66, 126.77));
+        }
+        List<Long> ids = rideRequestRepository.saveAll(requests).stream().map(RideRequest::getId).toList();
+        MatchedGroup group = matchedGroupRepository.save(MatchedGroup.builder()
+                .region(Region.ILSAN)
+                .finalDepartureTime(time)
+                .passengerCount(groupSize)
+                .virtualStops(List.of(new VirtualStop(37.66, 126.77)))
+                .build());
+
+        // run-1의 claim 중 2건이 claim-timeout으로 되돌려진 뒤 run-2가 가져감
+        rideRequestRepository.claim(ids, "run-1", time);
+        rideRequestRepository.releaseStaleClaimsByIds(ids.subList(0, 2), time.plusMinutes(10));
+        rideRequestRepository.claim(ids.subList(0, 2), "run-2", time.plusMinutes(10));
+
+        long[] idArray = ids.stream().mapToLong(Long::longValue).toArray();
+        long[] groupIds = new long[groupSize];
+        Arrays.fill(groupIds, group.getId());
+        int updated = rideRequestRepository.assignGroups(idArray, groupIds, new int[groupSize], "run-1");
+
+        assertThat(updated).isEqualTo(groupSize - 2);
+    }
+
+    @Test
+    void assignedRequestsAreFoundByGroupInStopOrder() {
+        LocalDateTime time = LocalDateTime.of(2030, 1, 1, 23, 0);
+        List<RideRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            requests.add(new RideRequest(Region.BUNDANG, time, 37.35 + i * 0.01, 127.1));
+        }
+        List<Long> ids = rideRequestRepository.saveAll(requests).stream().map(RideRequest::getId).toList();
+
+        MatchedGroup group = matchedGroupRepository.save(MatchedGroup.builder()
+                .region(Region.BUNDANG)
+                .finalDepartureTime(time)
+                .passengerCount(3)
+                .virtualStops(List.of(new VirtualStop(37.35, 127.1), new VirtualStop(37.37, 127.1)))
+                .build());
+
+        // 정류장 1에 첫 번째 요청, 정류장 0에 나머지 두 요청 (claim한 실행의 토큰으로만 배정됨)
+        rideRequestRepository.claim(ids, "run-1", time);
+        long[] idArray = ids.stream().mapToLong(Long::longValue).toArray();
+        long[] groupIds = {group.getId(), group.getId(), group.getId()};
+        assertThat(rideRequestRepository.assignGroups(idArray, groupIds, new int[]{1, 0, 0}, "run-2")).isZero();
+        int updated = rideRequestRepository.assignGroups(idArray, groupIds, new int[]{1, 0, 0}, "run-1");
+        entityManager.clear();
+
+        assertThat(updated).isEqualTo(3);
+        // 그룹 상세 조회와 같은 경로: 정류장 순서, ID 순
+        List<RideRequestStatusDto> members = rideRequestRepository.findStatusesByMatchedGroupId(group.getId());
+        assertThat(members).extracting(RideRequestStatusDto::id).containsExactly(ids.get(1), ids.get(2), ids.get(0));
+        assertThat(members).extracting(RideRequestStatusDto::virtualStopIndex).containsExactly(0, 0, 1);
+        assertThat(members).extracting(RideRequestStatusDto::status).containsOnly(RequestStatus.MATCHED);
+        assertThat(matchedGroupRepository.findWithVirtualStopsById(group.getId()).orElseThrow().getVirtualStops())
+                .containsExactly(new VirtualStop(37.35, 127.1), new VirtualStop(37.37, 127.1));
+    }
+
+    // 요청마다 그룹/정류장이 달라도(정류장마다 1명인 경우) 배정 UPDATE는 1000건당 한 문장
+    @ParameterizedTest
+    @ValueSource(ints = {10, 1000, 2500})
+    void assignmentUsesOneStatementPerChunk(int groupSize) {
+        LocalDateTime time = LocalDateTime.of(2030, 1, 1, 23, 0);
+        List<RideRequest> requests = new ArrayList<>(groupSize);
+        for (int i = 0; i < groupSize; i++) {
+            requests.add(new RideRequest(Region.DONGTAN, time, 37.2 + i * 1e-5, 127.1));
+        }
+        List<Long> ids = rideRequestRepository.saveAll(requests).stream().map(RideRequest::getId).toList();
+        List<MatchedGroup> groups = new ArrayList<>();
+        for (int g = 0; g < 2; g++) {
+            groups.add(MatchedGroup.builder()
+                    .region(Region.DONGTAN)
+                    .finalDepartureTime(time)
+                    .passengerCount(groupSize / 2)
+                    .virtualStops(List.of(new VirtualStop(37.2, 127.1)))
+                    .build());
+        }
+        matchedGroupRepository.saveAll(groups);
+        rideRequestRepository.claim(ids, "run-1", time);
+        entityManager.flush();
+
+        long[] idArray = new long[groupSize];
+        long[] groupIds = new long[groupSize];
+        int[] stopIndexes = new int[groupSize];
+        for (int i = 0; i < groupSize; i++) {
+            idArray[i] = ids.get(i);
+            groupIds[i] = groups.get(i % 2).getId();
+            stopIndexes[i] = i;
+        }
+
+        statistics.clear();
+        int updated = rideRequestRepository.assignGroups(idArray, groupIds, stopIndexes, "run-1");
+        long updateStatements = statistics.getPrepareStatementCount();
+        entityManager.clear();
+
+        assertThat(updated).isEqualTo(groupSize);
+        assertThat(updateStatements).isEqualTo(ceilDiv(groupSize, RideRequestRepository.BULK_CHUNK_SIZE));
+        RideRequest last = rideRequestRepository.findById(ids.get(groupSize - 1)).orElseThrow();
+        assertThat(last.getVirtualStopIndex()).isEqualTo(groupSize - 1);
+        assertThat(last.getMatchedGroup().getId()).isEqualTo(groups.get((groupSize - 1) % 2).getId());
+        assertThat(last.getStatus()).isEqualTo(RequestStatus.MATCHED);
+    }
+
+    @Test
+    void claimedRequestsCanOnlyBeCompletedByTheirOwner() {
+        LocalDateTime time = LocalDateTime.of(2030, 1, 1, 23, 0);
+        List<RideRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            requests.add(new RideRequest(Region.YOUNGIN, time, 37.24, 127.18));
+        }
+        List<Long> ids = rideRequestRepository.saveAll(requests).stream().map(RideRequest::getId).toList();
+        entityManager.flush();
+
+        // 두 실행이 겹쳐도 요청은 먼저 claim한 실행에만 속함
+        assertThat(rideRequestRepository.claim(ids.subList(0, 3), "run-a", time)).isEqualTo(3);
+        assertThat(rideRequestRepository.claim(ids, "run-b", time)).isEqualTo(1);
+        assertThat(rideRequestRepository.completeClaim(ids, "run-b", RequestStatus.CANCELED_NO_CAPACITY)).isEqualTo(1);
+
+        // 실패한 실행의 claim은 PENDING으로 돌아가고, 상태가 바뀔 때마다 version이 올라감
+        assertThat(rideRequestRepository.releaseClaim("run-a")).isEqualTo(3);
+        entityManager.clear();
+        assertThat(rideRequestRepository.findAllById(ids.subList(0, 3)))
+                .allSatisfy(request -> {
+                    assertThat(request.getStatus()).isEqualTo(RequestStatus.PENDING);
+                    assertThat(request.getClaimToken()).isNull();
+                    assertThat(request.getVersion()).isEqualTo(2);
+                });
+    }
+
+    private static long ceilDiv(long value, int divisor) {
+        return (value + divisor - 1) / divisor;
+    }
+}
@@ -0,0 +1,99 @@
+package com.naho.mobility_service.service;
+
+import com.naho.mobility_service.MobilityServiceApplication;
+import com.naho.mobility_service.domain.MatchingNode;
+import com.naho.mobility_service.domain.Region;
+import com.naho.mobility_service.domain.RequestStatus;
+import com.naho.mobility_service.domain.RideRequest;
+import com.naho.mobility_service.repository.MatchingNodeRepository;
+import com.naho.mobility_service.repository.RideRequestRepository;
+import com.naho.mobility_service.util.SyntheticRequestGenerator;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 하트비트를 실제 주기로 보내는 노드가, node-ttl보다 오래 걸리는 매칭(넘겨받기 대기 포함) 동안에도 살아 있는 노드로 보이는지 확인합니다.
+ */
+class ClusterHeartbeatTest {
+
+    private static final Duration NODE_TTL = Duration.ofSeconds(1);
+    private static final Duration TAKEOVER_DELAY = Duration.ofSeconds(3); // node-ttl보다 길게
+
+    private static ConfigurableApplicationContext node;
+
+    @BeforeAll
+    static void startNode() {
+        node = new SpringApplicationBuilder(MobilityServiceApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:cluster-heartbeat;DB_CLOSE_DELAY=-1",
+                        "spring.jpa.hibernate.ddl-auto=update",
+                        "mobility-app.matching.cron=-",
+                        "mobility-app.dataloader.enabled=false",
+                        "mobility-app.cluster.enabled=true",
+                        "mobility-app.cluster.node-id=node-a",
+                        "mobility-app.cluster.heartbeat-interval-ms=200",
+                        "mobility-app.cluster.node-ttl=" + NODE_TTL.toMillis() + "ms",
+                        "mobility-app.cluster.takeover-delay=" + TAKEOVER_DELAY.toMillis() + "ms")
+                .run();
+    }
+
+    @AfterAll
+    static void stopNode() {
+        node.close();
+    }
+
+    @Test
+    void nodeStaysLiveWhileScheduledRunWaitsForTakeover() throws InterruptedException {
+        RideRequestRepository requestRepository = node.getBean(RideRequestRepository.class);
+        MatchingNodeRepository nodeRepository = node.getBean(MatchingNodeRepository.class);
+        List<Long> ids = seed(requestRepository, MatchingService.centralTimeAt(LocalDateTime.now()));
+
+        // node-b는 하트비트 한 번만 남기고 사라진 노드: node-a는 node-b의 권역을 takeover-delay 뒤에 넘겨받아야 함
+        nodeRepository.save(new MatchingNode("node-b", LocalDateTime.now()));
+        ClusterCoordinator coordinator = node.getBean(ClusterCoordinator.class);
+        List<String> liveNodes = coordinator.liveNodes();
+        assertThat(liveNodes).contains("node-b");
+        assertThat(Region.values()).anyMatch(region -> !coordinator.isPreferredOwner(region, liveNodes));
+
+        // 1. 스케줄 실행은 넘겨받기를 기다리지 않고 바로 돌아옴 (스케줄러 스레드를 잡지 않음)
+        long startNanos = System.nanoTime();
+        node.getBean(MatchingService.class).startScheduledMatching();
+        assertThat(Duration.ofNanos(System.nanoTime() - startNanos)).isLessThan(TAKEOVER_DELAY);
+
+        // 2. 넘겨받기까지 끝나는 동안 node-a의 하트비트가 node-ttl 안에 계속 갱신됨
+        Duration timeout = TAKEOVER_DELAY.multipliedBy(5);
+        while (!allMatched(requestRepository, ids)) {
+            assertThat(nodeRepository.findLiveNodeIds(LocalDateTime.now().minus(NODE_TTL))).contains("node-a");
+            assertThat(Duration.ofNanos(System.nanoTime() - startNanos)).isLessThan(timeout);
+            Thread.sleep(100);
+        }
+        assertThat(Duration.ofNanos(System.nanoTime() - startNanos)).isGreaterThan(NODE_TTL);
+        assertThat(nodeRepository.findLiveNodeIds(LocalDateTime.now().minus(NODE_TTL))).containsExactly("node-a");
+    }
+
+    private List<Long> seed(RideRequestRepository repository, LocalDateTime centralTime) {
+        SyntheticRequestGenerator generator = new SyntheticRequestGenerator(7);
+        List<RideRequest> requests = new ArrayList<>();
+        for (Region region : Region.values()) {
+            requests.addAll(SyntheticRequestGenerator.toRideRequests(
+                    generator.generate(region, 20, SyntheticRequestGenerator.Distribution.HOTSPOT, centralTime)));
+        }
+        return repository.saveAll(requests).stream().map(RideRequest::getId).toList();
+    }
+
+    private boolean allMatched(RideRequestRepository repository, List<Long> ids) {
+        return repository.findAllById(ids).stream().allMatch(request -> request.getStatus() == RequestStatus.MATCHED);
+    }
+}
@@ -0,0 +1,149 @@
+package com.naho.mobility_service.service;
+
+import com.naho.mobility_service.domain.MatchedGroup;
+import com.naho.mobility_service.domain.MatchingCandidate;
+import com.naho.mobility_service.domain.Region;
+import com.naho.mobility_service.domain.RequestStatus;
+import com.naho.mobility_service.domain.RideRequest;
+import com.naho.mobility_service.dto.RegionMatchResult;
+import com.naho.mobility_service.repository.MatchedGroupRepository;
+import com.naho.mobility_service.repository.RideRequestRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 같은 매칭 창을 겹쳐 실행해도 claim한 실행만 요청을 처리하는지 확인합니다.
+ */
+@SpringBootTest(properties = "mobility-app.matching.cron=-")
+class ConcurrentMatchingTest {
+
+    @Autowired
+    private MatchingService matchingService;
+
+    @Autowired
+    private RideRequestRepository rideRequestRepository;
+
+    @Autowired
+    private MatchedGroupRepository matchedGroupRepository;
+
+    @Autowired
+    private PendingRequestIndex pendingRequestIndex;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void overlappingRunsMatchEachRequestExactlyOnce() {
+        LocalDateTime centralTime = LocalDateTime.of(2031, 3, 1, 9, 0);
+        List<Long> ids = seed(centralTime, 60);
+
+        // 스케줄 실행과 수동 실행이 같은 창을 동시에 처리
+        List<CompletableFuture<List<RegionMatchResult>>> runs = List.of(
+                CompletableFuture.supplyAsync(() -> matchingService.runConsolidatedMatching(centralTime)),
+                CompletableFuture.supplyAsync(() -> matchingService.runConsolidatedMatching(centralTime)));
+        List<RegionMatchResult> results = runs.stream().map(CompletableFuture::join).flatMap(List::stream).toList();
+
+        assertThat(results).noneMatch(RegionMatchResult::isFailed);
+        assertThat(results.stream().mapToInt(RegionMatchResult::matched).sum()).isEqualTo(ids.size());
+        assertThat(results.stream().mapToInt(RegionMatchResult::canceled).sum()).isZero();
+        assertMatchedExactlyOnce(ids, centralTime);
+    }
+
+    @Test
+    void runWithLargerSnapshotLeavesPartiallyClaimedRegionPending() {
+        LocalDateTime centralTime = LocalDateTime.of(2031, 3, 3, 9, 0);
+        List<Long> ids = seed(centralTime, 60);
+
+        // 실행 A가 스냅샷의 60건을 claim하고 계산 중인 사이에, 늦은 접수 3건이 들어와 실행 B의 스냅샷에만 포함됨
+        transactionTemplate.executeWithoutResult(status ->
+                rideRequestRepository.claim(ids, "run-a", LocalDateTime.now()));
+        List<Long> lateIds = seed(centralTime, 3);
+
+        List<RegionMatchResult> results = matchingService.runConsolidatedMatching(centralTime);
+
+        // B는 3건만 claim할 수 있으므로 인원 미달로 취소하지 않고 PENDING으로 남김
+        assertThat(results).singleElement().satisfies(result -> {
+            assertThat(result.candidates()).isEqualTo(63);
+            assertThat(result.matched()).isZero();
+            assertThat(result.canceled()).isZero();
+        });
+        assertThat(rideRequestRepository.findAllById(lateIds)).extracting(RideRequest::getStatus).containsOnly(RequestStatus.PENDING);
+        assertThat(rideRequestRepository.findAllById(ids)).extracting(RideRequest::getStatus).containsOnly(RequestStatus.CLAIMED);
+
+        // A가 중단되어 claim을 되돌리면, 다음 실행이 63건을 한 창으로 매칭
+        transactionTemplate.executeWithoutResult(status -> rideRequestRepository.releaseClaim("run-a"));
+        matchingService.runConsolidatedMatching(centralTime);
+
+        List<Long> all = new ArrayList<>(ids);
+        all.addAll(lateIds);
+        assertMatchedExactlyOnce(all, centralTime);
+    }
+
+    @Test
+    void lateBookingsForAlreadyMatchedWindowAreMatchedByNextRun() {
+        LocalDateTime firstRun = LocalDateTime.of(2031, 4, 1, 6, 0);
+        LocalDateTime centralTime = MatchingService.centralTimeAt(firstRun);
+        List<Long> onTime = seed(centralTime, 8);
+        matchingService.runScheduledMatching(firstRun);
+        assertThat(rideRequestRepository.findAllById(onTime)).extracting(RideRequest::getStatus).containsOnly(RequestStatus.MATCHED);
+
+        // 첫 실행 뒤에 같은 창으로 접수된 요청: 다음 실행의 중심 시간은 한 시간 뒤지만 이 창도 다시 매칭함
+        List<Long> late = seed(centralTime, 7);
+        List<RegionMatchResult> results = matchingService.runScheduledMatching(firstRun.plusHours(1));
+
+        assertThat(results.stream().mapToInt(RegionMatchResult::matched).sum()).isEqualTo(late.size());
+        assertThat(rideRequestRepository.findAllById(late)).extracting(RideRequest::getStatus).containsOnly(RequestStatus.MATCHED);
+    }
+
+    @Test
+    void staleClaimsAreReleasedAndMatched() {
+        LocalDateTime centralTime = LocalDateTime.of(2031, 3, 2, 9, 0);
+        List<Long> ids = seed(centralTime, 10);
+
+        // 중간에 죽은 실행이 claim만 남겨 둔 상태 (claim-timeout보다 오래됨)
+        transactionTemplate.executeWithoutResult(status ->
+                rideRequestRepository.claim(ids, "dead-run", LocalDateTime.now().minusHours(1)));
+        assertThat(rideRequestRepository.findAllById(ids)).extracting(RideRequest::getStatus).containsOnly(RequestStatus.CLAIMED);
+
+        List<RegionMatchResult> results = matchingService.runConsolidatedMatching(centralTime);
+
+        assertThat(results.stream().mapToInt(RegionMatchResult::matched).sum()).isEqualTo(ids.size());
+        assertMatchedExactlyOnce(ids, centralTime);
+    }
+
+    private List<Long> seed(LocalDateTime centralTime, int count) {
+        List<RideRequest> requests = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            requests.add(new RideRequest(Region.SUWON, centralTime.plusMinutes(i % 20 - 10),
+                    37.263 + (i % 10) * 1e-3, 127.028 + (i / 10) * 1e-3));
+        }
+        return rideRequestRepository.saveAll(requests).stream()
+                .peek(request -> pendingRequestIndex.add(MatchingCandidate.from(request)))
+                .map(RideRequest::getId)
+                .toList();
+    }
+
+    // 모든 요청이 MATCHED이고, 이 창에 배차된 차량들의 인원 합이 요청 수와 같음 (중복 배정 없음)
+    private void assertMatchedExactlyOnce(List<Long> ids, LocalDateTime centralTime) {
+        assertThat(rideRequestRepository.findAllById(ids)).allSatisfy(request -> {
+            assertThat(request.getStatus()).isEqualTo(RequestStatus.MATCHED);
+            assertThat(request.getClaimToken()).isNull();
+        });
+        int passengers = matchedGroupRepository.findAll().stream()
+                .filter(group -> group.getRegion() == Region.SUWON
+                        && !group.getFinalDepartureTime().isBefore(centralTime.minusMinutes(30))
+                        && !group.getFinalDepartureTime().isAfter(centralTime.plusMinutes(30)))
+                .mapToInt(MatchedGroup::getPassengerCount)
+                .sum();
+        assertThat(passengers).isEqualTo(ids.size());
+    }
+}
@@ -0,0 +1,126 @@
+package com.naho.mobility_service.service;
+
+import com.naho.mobility_service.domain.GeoPoint;
+import com.naho.mobility_service.dto.NaverGeocodeDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class GeocodingServiceTest {
+
+    private static final NaverGeocodeDto GANGNAM = new NaverGeocodeDto(List.of(new NaverGeocodeDto.Address("127.0276", "37.4979")));
+
+    private final NaverApiService naverApiService = mock(NaverApiService.class);
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @TempDir
+    private Path tempDir;
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void sendsOriginalAddressAndCachesByNormalizedKey() {
+        when(naverApiService.geocode(anyString())).thenReturn(GANGNAM);
+        GeocodingService service = service(naverApiService, Duration.ofDays(7), "");
+
+        GeoPoint first = service.geocode("  Seoul  Gangnam-gu Teheran-ro 1 ");
+        GeoPoint second = service.geocode("seoul gangnam-gu   teheran-ro 1");
+
+        // 키는 소문자/공백 정규화, API에는 들어온 주소 그대로
+        assertThat(second).isEqualTo(first).isEqualTo(new GeoPoint(37.4979, 127.0276));
+        verify(naverApiService, times(1)).geocode(anyString());
+        verify(naverApiService).geocode("  Seoul  Gangnam-gu Teheran-ro 1 ");
+    }
+
+    @Test
+    void concurrentLookupsOfSameAddressShareOneApiCall() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        when(naverApiService.geocode(anyString())).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return GANGNAM;
+        });
+        GeocodingService service = service(naverApiService, Duration.ofDays(7), "");
+
+        List<CompletableFuture<GeoPoint>> lookups = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            lookups.add(CompletableFuture.supplyAsync(() -> service.geocode("서울 강남구 테헤란로 1"), executor));
+        }
+        Thread.sleep(100); // 모든 조회가 진행 중인 API 호출을 기다리는 상태가 되도록
+        release.countDown();
+
+        assertThat(lookups).allSatisfy(lookup -> assertThat(lookup.join()).isEqualTo(new GeoPoint(37.4979, 127.0276)));
+        verify(naverApiService, times(1)).geocode(anyString());
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "geocode").tag("result", "miss").functionCounter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void expiredEntriesAreLookedUpAgain() throws InterruptedException {
+        when(naverApiService.geocode(anyString())).thenReturn(GANGNAM);
+        GeocodingService service = service(naverApiService, Duration.ofMillis(200), "");
+
+        service.geocode("서울 강남구 테헤란로 1");
+        service.geocode("서울 강남구 테헤란로 1");
+        Thread.sleep(400);
+        service.geocode("서울 강남구 테헤란로 1");
+
+        verify(naverApiService, times(2)).geocode(anyString());
+        assertThat(meterRegistry.get("geocode.cache.hit.ratio").gauge().value()).isCloseTo(1 / 3.0, within(1e-9));
+    }
+
+    @Test
+    void persistedEntriesAreReloadedAndExpiredOnesSkipped() throws IOException {
+        Path file = tempDir.resolve("geocode-cache.tsv");
+        when(naverApiService.geocode(anyString())).thenReturn(GANGNAM);
+        GeocodingService before = service(naverApiService, Duration.ofDays(7), file.toString());
+        before.geocode("서울 강남구 테헤란로 1");
+        before.saveToDisk();
+
+        // TTL이 지난 항목을 하나 덧붙임
+        long expiredAt = System.currentTimeMillis() - Duration.ofDays(8).toMillis();
+        Files.writeString(file, "서울 서초구\t37.48\t127.03\t" + expiredAt + System.lineSeparator(),
+                StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+
+        // 재시작: 새 인스턴스가 파일을 읽으면 API 없이 응답
+        NaverApiService restartedApi = mock(NaverApiService.class);
+        GeocodingService after = service(restartedApi, Duration.ofDays(7), file.toString());
+        after.loadFromDisk();
+
+        assertThat(after.geocode("서울 강남구 테헤란로 1")).isEqualTo(new GeoPoint(37.4979, 127.0276));
+        verifyNoInteractions(restartedApi);
+        assertThat(after.stats().size()).isEqualTo(1);
+    }
+
+    private GeocodingService service(NaverApiService api, Duration ttl, String persistPath) {
+        return new GeocodingService(api, executor, meterRegistry, 1000, ttl, persistPath);
+    }
+}
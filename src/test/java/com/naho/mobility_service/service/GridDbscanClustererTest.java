@@ -0,0 +1,164 @@
+package com.naho.mobility_service.service;
+
+import com.naho.mobility_service.domain.MatchingCandidate;
+import com.naho.mobility_service.domain.Region;
+import com.naho.mobility_service.domain.VirtualStop;
+import com.naho.mobility_service.domain.VirtualStopAssignment;
+import com.naho.mobility_service.util.GeoUtils;
+import com.naho.mobility_service.util.SyntheticRequestGenerator;
+import com.naho.mobility_service.util.SyntheticRequestGenerator.Distribution;
+import org.apache.commons.math3.ml.clustering.Cluster;
+import org.apache.commons.math3.ml.clustering.DBSCANClusterer;
+import org.apache.commons.math3.ml.clustering.DoublePoint;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.assertj.core.api.Assertions.withinPercentage;
+
+class GridDbscanClustererTest {
+
+    private final GridDbscanClusterer clusterer = new GridDbscanClusterer(300, 1);
+
+    @Test
+    void producesSameVirtualStopsAsCommonsMathDbscan() {
+        // 약 2km 간격의 핫스팟마다 0~8명을 ±50m 안에 흩뿌림 (1명짜리 핫스팟은 Noise가 됨)
+        Random random = new Random(42);
+        List<double[]> points = new ArrayList<>();
+        for (int row = 0; row < 10; row++) {
+            for (int col = 0; col < 10; col++) {
+                double centerLat = 37.10 + row * 0.02;
+                double centerLng = 127.00 + col * 0.02;
+                int members = random.nextInt(9);
+                for (int m = 0; m < members; m++) {
+                    points.add(new double[]{
+                            centerLat + (random.nextDouble() - 0.5) * 0.0009,
+                            centerLng + (random.nextDouble() - 0.5) * 0.0011});
+                }
+            }
+        }
+        Collections.shuffle(points, random);
+
+        List<VirtualStop> expected = commonsMathVirtualStops(points);
+
+        double[] lats = points.stream().mapToDouble(p -> p[0]).toArray();
+        double[] lngs = points.stream().mapToDouble(p -> p[1]).toArray();
+        List<VirtualStop> actual = clusterer.createVirtualStops(lats, lngs, 0, points.size());
+
+        assertThat(actual).hasSameSizeAs(expected);
+        for (int i = 0; i < expected.size(); i++) {
+            assertThat(actual.get(i).lat()).isCloseTo(expected.get(i).lat(), within(1e-9));
+            assertThat(actual.get(i).lng()).isCloseTo(expected.get(i).lng(), within(1e-9));
+        }
+    }
+
+    @Test
+    void clustersOnlyTheRequestedRange() {
+        double[] lats = {37.0, 37.2000, 37.2001, 37.5};
+        double[] lngs = {127.0, 127.1000, 127.1001, 127.5};
+
+        List<VirtualStop> stops = clusterer.createVirtualStops(lats, lngs, 1, 3);
+
+        assertThat(stops).hasSize(1);
+        assertThat(stops.get(0).lat()).isCloseTo(37.20005, within(1e-9));
+    }
+
+    @Test
+    void returnsNoStopsForEmptyInput() {
+        assertThat(clusterer.createVirtualStops(new double[0], new double[0], 0, 0)).isEmpty();
+    }
+
+    // 근사 모드(격자 칸으로 모아서 클러스터링)의 정류장이 정확한 모드의 정류장에서 얼마나 벗어나는지 측정
+    // maxDriftMeters: 밀도 조건이 있으면 경계의 좌표가 Noise ↔ 클러스터로 바뀌어 클러스터 반경만큼 멀어질 수 있음
+    @ParameterizedTest
+    @CsvSource({
+            "300, 1, 30, 30", // 운영 설정: 이웃 판정이 바뀌지 않아 정류장이 칸 크기 안에서만 움직임
+            "50, 3, 10, 500"  // 작은 반경 + 밀도 조건: 칸 크기 때문에 이웃 판정이 바뀌기 쉬움
+    })
+    void approximateStopsStayCloseToExactStops(double epsilonMeters, int minPoints, double cellMeters, double maxDriftMeters) {
+        List<MatchingCandidate> candidates = new SyntheticRequestGenerator(11)
+                .generate(Region.DONGTAN, 30_000, Distribution.HOTSPOT, LocalDateTime.of(2030, 1, 1, 23, 0));
+        double[] lats = candidates.stream().mapToDouble(MatchingCandidate::destLat).toArray();
+        double[] lngs = candidates.stream().mapToDouble(MatchingCandidate::destLng).toArray();
+        GridDbscanClusterer exactClusterer = new GridDbscanClusterer(epsilonMeters, minPoints);
+        GridDbscanClusterer approximateClusterer = new GridDbscanClusterer(epsilonMeters, minPoints, 0, cellMeters);
+
+        VirtualStopAssignment exact = exactClusterer.assignVirtualStops(lats, lngs, 0, lats.length);
+        VirtualStopAssignment approximate = approximateClusterer.assignVirtualStops(lats, lngs, 0, lats.length);
+
+        // 좌표마다 정확한 모드에서 배정된 정류장과 근사 모드에서 배정된 정류장 사이의 거리
+        double[] drifts = new double[lats.length];
+        double sum = 0;
+        for (int i = 0; i < lats.length; i++) {
+            VirtualStop expected = exact.virtualStops().get(exact.stopIndexes()[i]);
+            VirtualStop actual = approximate.virtualStops().get(approximate.stopIndexes()[i]);
+            drifts[i] = GeoUtils.haversineMeters(expected.lat(), expected.lng(), actual.lat(), actual.lng());
+            sum += drifts[i];
+        }
+        Arrays.sort(drifts);
+        double mean = sum / drifts.length;
+        double p95 = drifts[(int) (drifts.length * 0.95)];
+        double max = drifts[drifts.length - 1];
+
+        assertThat(approximateClusterer.isApproximate(lats.length)).isTrue();
+        assertThat(mean).isLessThan(cellMeters / 2);
+        assertThat(p95).isLessThan(cellMeters);
+        assertThat(max).isLessThan(maxDriftMeters);
+        assertThat((double) approximate.virtualStops().size()).isCloseTo(exact.virtualStops().size(), withinPercentage(5));
+    }
+
+    @Test
+    void inputsBelowThresholdGetExactStops() {
+        List<MatchingCandidate> candidates = new SyntheticRequestGenerator(5)
+                .generate(Region.DONGTAN, 1000, Distribution.HOTSPOT, LocalDateTime.of(2030, 1, 1, 23, 0));
+        double[] lats = candidates.stream().mapToDouble(MatchingCandidate::destLat).toArray();
+        double[] lngs = candidates.stream().mapToDouble(MatchingCandidate::destLng).toArray();
+        GridDbscanClusterer exactClusterer = new GridDbscanClusterer(300, 1);
+        GridDbscanClusterer thresholdClusterer = new GridDbscanClusterer(300, 1, 1000, 30);
+
+        // 기준(1000건) 미만: 정확한 모드와 같은 정류장, 같은 배정
+        assertSameAssignment(thresholdClusterer.assignVirtualStops(lats, lngs, 0, 999),
+                exactClusterer.assignVirtualStops(lats, lngs, 0, 999));
+        // 기준 이상: 근사 모드로 전환
+        assertSameAssignment(thresholdClusterer.assignVirtualStops(lats, lngs, 0, 1000),
+                thresholdClusterer.assignApproximateVirtualStops(lats, lngs, 0, 1000));
+    }
+
+    private static void assertSameAssignment(VirtualStopAssignment actual, VirtualStopAssignment expected) {
+        assertThat(actual.virtualStops()).isEqualTo(expected.virtualStops());
+        assertThat(actual.stopIndexes()).isEqualTo(expected.stopIndexes());
+        assertThat(actual.clusterCount()).isEqualTo(expected.clusterCount());
+    }
+
+    // 기존 MatchingService 구현(commons-math DBSCAN + removeAll)과 같은 방식으로 정류장을 만듭니다.
+    private List<VirtualStop> commonsMathVirtualStops(List<double[]> coordinates) {
+        List<DoublePoint> points = coordinates.stream().map(DoublePoint::new).toList();
+        List<Cluster<DoublePoint>> clusters = new DBSCANClusterer<DoublePoint>(0.003, 1).cluster(points);
+
+        List<VirtualStop> stops = new ArrayList<>();
+        List<DoublePoint> clustered = new ArrayList<>();
+        for (Cluster<DoublePoint> cluster : clusters) {
+            clustered.addAll(cluster.getPoints());
+            double sumLat = 0;
+            double sumLng = 0;
+            for (DoublePoint point : cluster.getPoints()) {
+                sumLat += point.getPoint()[0];
+                sumLng += point.getPoint()[1];
+            }
+            stops.add(new VirtualStop(sumLat / cluster.getPoints().size(), sumLng / cluster.getPoints().size()));
+        }
+        List<DoublePoint> noise = new ArrayList<>(points);
+        noise.removeAll(clustered);
+        noise.forEach(point -> stops.add(new VirtualStop(point.getPoint()[0], point.getPoint()[1])));
+        return stops;
+    }
+}
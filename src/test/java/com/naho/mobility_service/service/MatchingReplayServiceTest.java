@@ -0,0 +1,71 @@
+package com.naho.mobility_service.service;
+
+import com.naho.mobility_service.domain.MatchingCandidate;
+import com.naho.mobility_service.domain.Region;
+import com.naho.mobility_service.dto.ReplayReport;
+import com.naho.mobility_service.util.RideRequestEventLog;
+import com.naho.mobility_service.util.RideRequestEventLog.Event;
+import com.naho.mobility_service.util.SyntheticRequestGenerator;
+import com.naho.mobility_service.util.SyntheticRequestGenerator.Distribution;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("replay")
+class MatchingReplayServiceTest {
+
+    @Autowired
+    private MatchingReplayService replayService;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void replaysHistoricalDemandInSimulatedTime() {
+        // 1. 과거 두 시간대의 수요: 희망 시간 4시간 전에 접수
+        SyntheticRequestGenerator generator = new SyntheticRequestGenerator(7);
+        LocalDateTime firstCentralTime = LocalDateTime.of(2024, 5, 1, 9, 0);
+        List<Event> events = new ArrayList<>();
+        for (int w = 0; w < 2; w++) {
+            for (Region region : List.of(Region.SUWON, Region.DONGTAN)) {
+                for (MatchingCandidate candidate : generator.generate(region, 200, Distribution.HOTSPOT, firstCentralTime.plusHours(w))) {
+                    events.add(new Event(candidate.requestedTime().minusHours(4), candidate.requestedTime(),
+                            candidate.region(), candidate.lat(), candidate.lng()));
+                }
+            }
+        }
+        // 좌표와 권역이 다른 요청(거절), 매칭 창이 이미 지난 뒤에 접수된 요청(미매칭)
+        events.add(new Event(firstCentralTime.minusHours(4), firstCentralTime, Region.ILSAN, 37.2, 127.07));
+        events.add(new Event(firstCentralTime.minusMinutes(30), firstCentralTime, null, 37.2, 127.07));
+        events.sort(Comparator.comparing(Event::submittedAt));
+
+        Path logPath = dir.resolve("demand.bin");
+        try (RideRequestEventLog.Writer writer = RideRequestEventLog.writer(logPath)) {
+            events.forEach(writer::append);
+        }
+
+        // 2. 리플레이
+        ReplayReport report = replayService.replay(logPath);
+
+        assertThat(report.events()).isEqualTo(events.size());
+        assertThat(report.rejected()).isGreaterThanOrEqualTo(1);
+        assertThat(report.unmatched()).isGreaterThanOrEqualTo(1);
+        assertThat(report.matched() + report.canceled() + report.unmatched() + report.rejected()).isEqualTo(report.events());
+        assertThat(report.matchRate()).isGreaterThan(0.9);
+        assertThat(report.vehicles()).isPositive();
+        assertThat(report.stops()).isGreaterThanOrEqualTo(report.vehicles());
+        assertThat(report.failedRegions()).isZero();
+        assertThat(report.matchingRuns()).isGreaterThan(2);
+    }
+}
@@ -0,0 +1,168 @@
+package com.naho.mobility_service.service;
+
+import com.naho.mobility_service.config.NaverApiClientConfig;
+import com.naho.mobility_service.dto.NaverGeocodeDto;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.retry.Retry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 지연과 오류를 주입하는 로컬 스텁 서버로 지오코딩 클라이언트의 타임아웃, 재시도, 서킷 브레이커, bulkhead를 확인합니다.
+ */
+class NaverApiServiceResilienceTest {
+
+    private static final String OK_BODY = "{\"addresses\":[{\"x\":\"127.0276\",\"y\":\"37.4979\"}]}";
+
+    private final NaverApiClientConfig config = new NaverApiClientConfig();
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    // 스텁 서버가 요청마다 꺼내 쓰는 응답 (비어 있으면 defaultResponse)
+    private final Queue<StubResponse> responses = new ConcurrentLinkedQueue<>();
+    private volatile StubResponse defaultResponse = new StubResponse(200, OK_BODY, 0);
+    private final AtomicInteger hits = new AtomicInteger();
+    private volatile CountDownLatch blocker = new CountDownLatch(0);
+
+    private HttpServer server;
+    private CloseableHttpClient httpClient;
+
+    @BeforeEach
+    void startStub() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/map-geocode/v2/geocode", this::handle);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.start();
+    }
+
+    @AfterEach
+    void stopStub() throws IOException {
+        blocker.countDown();
+        if (httpClient != null) {
+            httpClient.close();
+        }
+        server.stop(0);
+    }
+
+    @Test
+    void slowResponseFailsWithinReadTimeout() {
+        defaultResponse = new StubResponse(200, OK_BODY, 1000);
+        NaverApiService service = service(Duration.ofMillis(200), 1, 10, 1);
+
+        long startNanos = System.nanoTime();
+        assertThatThrownBy(() -> service.geocode("서울 강남구"))
+                .isInstanceOf(ResourceAccessException.class);
+
+        assertThat(Duration.ofNanos(System.nanoTime() - startNanos)).isLessThan(Duration.ofMillis(800));
+    }
+
+    @Test
+    void transientServerErrorsAreRetried() {
+        responses.add(new StubResponse(503, "", 0));
+        responses.add(new StubResponse(503, "", 0));
+        NaverApiService service = service(Duration.ofSeconds(2), 3, 10, 1);
+
+        NaverGeocodeDto result = service.geocode("서울 강남구");
+
+        assertThat(result.addresses()).hasSize(1);
+        assertThat(hits.get()).isEqualTo(3);
+    }
+
+    @Test
+    void circuitOpensAfterRepeatedFailuresAndFailsFast() {
+        defaultResponse = new StubResponse(500, "", 0);
+        int minimumCalls = 4;
+        NaverApiService service = service(Duration.ofSeconds(2), 1, minimumCalls, 1);
+
+        for (int i = 0; i < minimumCalls; i++) {
+            assertThatThrownBy(() -> service.geocode("서울 강남구"))
+                    .isInstanceOf(HttpServerErrorException.class);
+        }
+
+        // 서킷이 열린 뒤에는 스텁 서버까지 가지 않고 바로 실패
+        assertThatThrownBy(() -> service.geocode("서울 강남구"))
+                .isInstanceOf(CallNotPermittedException.class);
+        assertThat(hits.get()).isEqualTo(minimumCalls);
+    }
+
+    @Test
+    void callsOverBulkheadLimitAreRejected() throws Exception {
+        blocker = new CountDownLatch(1);
+        NaverApiService service = service(Duration.ofSeconds(2), 1, 10, 1);
+
+        CompletableFuture<NaverGeocodeDto> inFlight = CompletableFuture.supplyAsync(() -> service.geocode("서울 강남구"));
+        while (hits.get() == 0) {
+            Thread.onSpinWait();
+        }
+
+        assertThatThrownBy(() -> service.geocode("서울 서초구"))
+                .isInstanceOf(BulkheadFullException.class);
+
+        blocker.countDown();
+        assertThat(inFlight.get(5, TimeUnit.SECONDS).addresses()).hasSize(1);
+    }
+
+    private NaverApiService service(Duration readTimeout, int maxAttempts, int minimumCalls, int maxConcurrentCalls) {
+        httpClient = config.naverHttpClient(8, Duration.ofSeconds(1), readTimeout, Duration.ofMillis(500), Duration.ofSeconds(30));
+        Bulkhead bulkhead = config.naverApiBulkhead(meterRegistry, maxConcurrentCalls, Duration.ZERO);
+        Retry retry = config.naverApiRetry(meterRegistry, maxAttempts, Duration.ofMillis(10), 2.0, 0.5);
+        CircuitBreaker circuitBreaker = config.naverApiCircuitBreaker(meterRegistry, 50, Duration.ofSeconds(5),
+                minimumCalls, minimumCalls, Duration.ofMinutes(1));
+        return new NaverApiService(config.restTemplate(httpClient), bulkhead, circuitBreaker, retry,
+                "id", "secret", "http://127.0.0.1:" + server.getAddress().getPort());
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        hits.incrementAndGet();
+        StubResponse response = responses.poll();
+        if (response == null) {
+            response = defaultResponse;
+        }
+        try {
+            blocker.await();
+            Thread.sleep(response.delayMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        byte[] body = response.body().getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        try (exchange; OutputStream out = exchange.getResponseBody()) {
+            exchange.sendResponseHeaders(response.status(), body.length == 0 ? -1 : body.length);
+            if (body.length > 0) {
+                out.write(body);
+            }
+        } catch (IOException e) {
+            // 클라이언트가 타임아웃으로 먼저 연결을 끊은 경우
+        }
+    }
+
+    private record StubResponse(int status, String body, long delayMillis) {
+    }
+}
@@ -0,0 +1,113 @@
+package com.naho.mobility_service.service;
+
+import com.naho.mobility_service.domain.MatchingCandidate;
+import com.naho.mobility_service.domain.MatchingWindowSnapshot;
+import com.naho.mobility_service.domain.Region;
+import com.naho.mobility_service.domain.RequestStatus;
+import com.naho.mobility_service.repository.RideRequestRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PendingRequestIndexTest {
+
+    private static final LocalDateTime NINE = LocalDateTime.of(2031, 5, 1, 9, 0);
+
+    private final RideRequestRepository repository = mock(RideRequestRepository.class);
+    private final PendingRequestIndex index = new PendingRequestIndex(repository);
+
+    @Test
+    void snapshotHoldsCandidatesInRangeByRegionThenId() {
+        index.add(candidate(30, Region.SUWON, NINE.plusMinutes(25)));
+        index.add(candidate(10, Region.SUWON, NINE)); // 시작 경계 포함
+        index.add(candidate(20, Region.SUWON, NINE.plusMinutes(30))); // 끝 경계 포함
+        index.add(candidate(5, Region.DONGTAN, NINE.plusMinutes(12)));
+        index.add(candidate(40, Region.SUWON, NINE.minusSeconds(1))); // 이전 슬롯
+        index.add(candidate(50, Region.SUWON, NINE.plusMinutes(30).plusSeconds(1))); // 같은 슬롯이지만 구간 밖
+
+        MatchingWindowSnapshot snapshot = index.snapshot(NINE, NINE.plusMinutes(30));
+
+        assertThat(snapshot.ids(0, snapshot.size())).containsExactly(5L, 10L, 20L, 30L);
+        assertThat(snapshot.ids(snapshot.from(Region.SUWON), snapshot.to(Region.SUWON))).containsExactly(10L, 20L, 30L);
+        assertThat(snapshot.size(Region.ILSAN)).isZero();
+    }
+
+    @Test
+    void addingSameIdMovesCandidateAndRemoveDropsIt() {
+        index.add(candidate(1, Region.SUWON, NINE));
+        index.add(candidate(1, Region.SUWON, NINE.plusHours(2))); // 희망 시간 변경
+
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(index.snapshot(NINE.minusMinutes(30), NINE.plusMinutes(30)).size()).isZero();
+        assertThat(index.snapshot(NINE.plusHours(2), NINE.plusHours(2)).size()).isEqualTo(1);
+
+        index.remove(1);
+        index.remove(1); // 없는 요청을 지워도 무시
+
+        assertThat(index.size()).isZero();
+        assertThat(index.snapshot(NINE, NINE.plusHours(3)).size()).isZero();
+    }
+
+    @Test
+    void evictBeforeRemovesCandidatesOfEarlierSlotsOnly() {
+        index.add(candidate(1, Region.SUWON, NINE.minusMinutes(15)));
+        index.add(candidate(2, Region.ILSAN, NINE.minusSeconds(1)));
+        index.add(candidate(3, Region.SUWON, NINE.plusMinutes(1))); // 기준 시각과 같은 10분 슬롯
+        index.add(candidate(4, Region.SUWON, NINE.plusHours(1)));
+
+        int evicted = index.evictBefore(NINE.plusMinutes(5));
+
+        assertThat(evicted).isEqualTo(2);
+        MatchingWindowSnapshot snapshot = index.snapshot(NINE.minusHours(1), NINE.plusHours(2));
+        assertThat(snapshot.ids(0, snapshot.size())).containsExactly(3L, 4L);
+    }
+
+    @Test
+    void rebuildReplacesContentWithPendingRequestsFromDb() {
+        index.add(candidate(99, Region.SUWON, NINE)); // DB에는 더 이상 없는 요청
+        doAnswer(invocation -> {
+            Consumer<List<MatchingCandidate>> consumer = invocation.getArgument(4);
+            consumer.accept(List.of(candidate(1, Region.SUWON, NINE), candidate(2, Region.DONGTAN, NINE)));
+            consumer.accept(List.of(candidate(3, Region.SUWON, NINE.plusMinutes(5))));
+            return null;
+        }).when(repository).forEachCandidateChunk(eq(RequestStatus.PENDING), any(), any(), anyInt(), any());
+        assertThat(index.isRebuilt()).isFalse();
+
+        index.rebuild();
+        index.awaitRebuilt(Duration.ZERO); // 이미 끝났으므로 기다리지 않음
+
+        assertThat(index.isRebuilt()).isTrue();
+        MatchingWindowSnapshot snapshot = index.snapshot(NINE, NINE.plusMinutes(10));
+        assertThat(snapshot.ids(0, snapshot.size())).containsExactly(2L, 1L, 3L); // DONGTAN이 SUWON보다 앞 권역
+    }
+
+    @Test
+    void refreshRemovesRequestsThatAreNoLongerOpen() {
+        index.add(candidate(1, Region.SUWON, NINE));
+        index.add(candidate(2, Region.SUWON, NINE));
+        index.add(candidate(3, Region.SUWON, NINE));
+        // 1: 다른 실행이 매칭함, 2: 다른 실행이 claim 중, 3: PENDING
+        when(repository.findIdsByIdInAndStatusIn(anyCollection(), eq(RequestStatus.OPEN))).thenReturn(List.of(2L, 3L));
+
+        index.refresh(List.of(1L, 2L, 3L));
+
+        MatchingWindowSnapshot snapshot = index.snapshot(NINE, NINE);
+        assertThat(snapshot.ids(0, snapshot.size())).containsExactly(2L, 3L);
+    }
+
+    private static MatchingCandidate candidate(long id, Region region, LocalDateTime requestedTime) {
+        return new MatchingCandidate(id, region, requestedTime, region.getCenterLat(), region.getCenterLng());
+    }
+}
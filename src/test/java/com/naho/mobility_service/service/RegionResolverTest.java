@@ -0,0 +1,90 @@
+package com.naho.mobility_service.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.naho.mobility_service.domain.GeoPoint;
+import com.naho.mobility_service.domain.Region;
+import com.naho.mobility_service.domain.RegionZone;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.ClassPathResource;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RegionResolverTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final RegionResolver resolver = new RegionResolver(new ClassPathResource("regions.geojson"), objectMapper, false, 0.01);
+
+    @Test
+    void locatesRegionAndSubRegionAroundEachCenter() {
+        for (Region region : Region.values()) {
+            assertThat(resolver.locate(region.getCenterLat() + 0.005, region.getCenterLng() + 0.005))
+                    .contains(new RegionZone(region, region.name() + "-NE"));
+            assertThat(resolver.locate(region.getCenterLat() - 0.005, region.getCenterLng() - 0.005))
+                    .contains(new RegionZone(region, region.name() + "-SW"));
+        }
+        assertThat(resolver.locate(35.1, 129.0)).isEmpty(); // 부산
+    }
+
+    @Test
+    void assignsMissingRegionAndRejectsMismatch() {
+        GeoPoint dongtan = new GeoPoint(37.2, 127.07);
+
+        assertThat(resolver.resolve(null, dongtan).region()).isEqualTo(Region.DONGTAN);
+        assertThat(resolver.resolve(Region.DONGTAN, dongtan).subRegion()).startsWith("DONGTAN-");
+        assertThatThrownBy(() -> resolver.resolve(Region.ILSAN, dongtan))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        // 경계 밖: 보낸 권역은 그대로 사용하고, 권역을 보내지 않았으면 거절
+        GeoPoint busan = new GeoPoint(35.1, 129.0);
+        assertThat(resolver.resolve(Region.SUWON, busan)).isEqualTo(new RegionZone(Region.SUWON, null));
+        assertThatThrownBy(() -> resolver.resolve(null, busan))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void correctsMismatchWhenConfigured() {
+        RegionResolver correcting = new RegionResolver(new ClassPathResource("regions.geojson"), objectMapper, true, 0.01);
+
+        assertThat(correcting.resolve(Region.ILSAN, new GeoPoint(37.2, 127.07)).region()).isEqualTo(Region.DONGTAN);
+    }
+
+    @Test
+    void holesAndMultiPolygonsAreRespected() {
+        // SUWON: 구멍이 있는 사각형, 구멍 안은 BUNDANG / YOUNGIN: 떨어진 두 사각형
+        String geojson = """
+                {"type": "FeatureCollection", "features": [
+                  {"type": "Feature", "properties": {"region": "SUWON"}, "geometry": {"type": "Polygon", "coordinates": [
+                    [[127.0, 37.0], [127.1, 37.0], [127.1, 37.1], [127.0, 37.1], [127.0, 37.0]],
+                    [[127.04, 37.04], [127.06, 37.04], [127.06, 37.06], [127.04, 37.06], [127.04, 37.04]]]}},
+                  {"type": "Feature", "properties": {"region": "BUNDANG", "subRegion": "hole"}, "geometry": {"type": "Polygon", "coordinates": [
+                    [[127.04, 37.04], [127.06, 37.04], [127.06, 37.06], [127.04, 37.06], [127.04, 37.04]]]}},
+                  {"type": "Feature", "properties": {"region": "YOUNGIN"}, "geometry": {"type": "MultiPolygon", "coordinates": [
+                    [[[127.2, 37.0], [127.3, 37.0], [127.3, 37.1], [127.2, 37.1], [127.2, 37.0]]],
+                    [[[127.5, 37.0], [127.6, 37.0], [127.6, 37.1], [127.5, 37.1], [127.5, 37.0]]]]}}
+                ]}
+                """;
+        RegionResolver custom = new RegionResolver(new ByteArrayResource(geojson.getBytes(StandardCharsets.UTF_8)), objectMapper, false, 0.03);
+
+        assertThat(custom.locate(37.02, 127.02)).contains(new RegionZone(Region.SUWON, null));
+        assertThat(custom.locate(37.05, 127.05)).contains(new RegionZone(Region.BUNDANG, "hole"));
+        assertThat(custom.locate(37.05, 127.25)).contains(new RegionZone(Region.YOUNGIN, null));
+        assertThat(custom.locate(37.05, 127.55)).contains(new RegionZone(Region.YOUNGIN, null));
+        assertThat(custom.locate(37.05, 127.4)).isEmpty();
+    }
+
+    @Test
+    void everyPointInsideServiceAreaIsLocated() {
+        // 조회 속도는 RegionLookupBenchmark(src/jmh)에서 측정
+        Random random = new Random(3);
+        for (int i = 0; i < 10_000; i++) {
+            double lat = 37.0 + random.nextDouble() * 0.8;
+            double lng = 126.5 + random.nextDouble() * 0.9;
+            assertThat(resolver.locate(lat, lng)).as("(%f, %f)", lat, lng).isPresent();
+        }
+    }
+}
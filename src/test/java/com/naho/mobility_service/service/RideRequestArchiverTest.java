@@ -0,0 +1,108 @@
+package com.naho.mobility_service.service;
+
+import com.naho.mobility_service.domain.MatchingCandidate;
+import com.naho.mobility_service.domain.Region;
+import com.naho.mobility_service.domain.RequestStatus;
+import com.naho.mobility_service.domain.RideRequest;
+import com.naho.mobility_service.dto.ArchiveResult;
+import com.naho.mobility_service.dto.MatchedGroupDto;
+import com.naho.mobility_service.repository.MatchedGroupArchiveRepository;
+import com.naho.mobility_service.repository.MatchedGroupRepository;
+import com.naho.mobility_service.repository.RideRequestArchiveRepository;
+import com.naho.mobility_service.repository.RideRequestRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {"mobility-app.matching.cron=-", "mobility-app.archive.chunk-size=2"})
+class RideRequestArchiverTest {
+
+    @Autowired
+    private RideRequestArchiver archiver;
+
+    @Autowired
+    private RideRequestRepository rideRequestRepository;
+
+    @Autowired
+    private RideRequestArchiveRepository rideRequestArchiveRepository;
+
+    @Autowired
+    private MatchedGroupRepository matchedGroupRepository;
+
+    @Autowired
+    private MatchedGroupArchiveRepository matchedGroupArchiveRepository;
+
+    @Autowired
+    private PendingRequestIndex pendingRequestIndex;
+
+    @Autowired
+    private MatchingService matchingService;
+
+    @Autowired
+    private RideQueryService rideQueryService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void finishedRequestsAndGroupsMoveToArchiveInChunks() {
+        // 1. 오래된 매칭 완료 요청 6건 (그룹 하나), 오래된 취소 요청 1건, 오래된 PENDING 요청 1건, 최근 요청 1건
+        LocalDateTime oldTime = LocalDateTime.of(2020, 1, 10, 23, 0);
+        List<RideRequest> matched = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            matched.add(new RideRequest(Region.SUWON, oldTime.plusMinutes(i), 37.263 + i * 1e-4, 127.028));
+        }
+        rideRequestRepository.saveAll(matched).forEach(request -> pendingRequestIndex.add(MatchingCandidate.from(request)));
+        matchingService.runConsolidatedMatching(oldTime);
+        Long groupId = rideQueryService.findRequest(matched.get(0).getId()).orElseThrow().matchedGroupId();
+        assertThat(groupId).isNotNull();
+        MatchedGroupDto hotGroup = rideQueryService.findGroup(groupId).orElseThrow();
+
+        RideRequest canceled = new RideRequest(Region.SUWON, oldTime.minusDays(1), 37.263, 127.028);
+        RideRequest stalePending = new RideRequest(Region.SUWON, oldTime.minusDays(1), 37.263, 127.028);
+        RideRequest recent = new RideRequest(Region.SUWON, oldTime.plusDays(30), 37.263, 127.028);
+        rideRequestRepository.saveAll(List.of(canceled, stalePending, recent));
+        // 취소 결과도 매칭과 같은 claim 경로로 씀
+        List<Long> canceledIds = List.of(canceled.getId(), recent.getId());
+        transactionTemplate.executeWithoutResult(status -> {
+            rideRequestRepository.claim(canceledIds, "archive-test", oldTime);
+            rideRequestRepository.completeClaim(canceledIds, "archive-test", RequestStatus.CANCELED_NO_CAPACITY);
+        });
+
+        // 2. 보관 실행 (chunk-size=2이므로 여러 chunk로 나뉘어 옮겨짐)
+        ArchiveResult result = archiver.archive(oldTime.plusDays(10));
+
+        assertThat(result.requests()).isEqualTo(7);
+        assertThat(result.groups()).isEqualTo(1);
+        assertThat(rideRequestRepository.findAllById(matched.stream().map(RideRequest::getId).toList())).isEmpty();
+        assertThat(rideRequestRepository.existsById(canceled.getId())).isFalse();
+        // 옮긴 7건(매칭 완료 6건 + 취소 1건)이 모두 보관 테이블에 있음
+        List<Long> archivedIds = new ArrayList<>(matched.stream().map(RideRequest::getId).toList());
+        archivedIds.add(canceled.getId());
+        assertThat(rideRequestArchiveRepository.findAllById(archivedIds)).hasSize(7);
+        assertThat(rideRequestArchiveRepository.count()).isEqualTo(7);
+        assertThat(matchedGroupRepository.existsById(groupId)).isFalse();
+        assertThat(matchedGroupArchiveRepository.findWithVirtualStopsById(groupId).orElseThrow().getVirtualStops())
+                .hasSize(hotGroup.stops().size());
+
+        // 끝나지 않은 요청과 보관 기간 안의 요청은 남음
+        assertThat(rideRequestRepository.existsById(stalePending.getId())).isTrue();
+        assertThat(rideRequestRepository.existsById(recent.getId())).isTrue();
+
+        // 3. 옮긴 요청/그룹도 조회 API로 그대로 보임
+        rideQueryService.evictRequests(List.of(matched.get(0).getId(), canceled.getId()));
+        assertThat(rideQueryService.findRequest(matched.get(0).getId()).orElseThrow().status()).isEqualTo(RequestStatus.MATCHED);
+        assertThat(rideQueryService.findRequest(canceled.getId()).orElseThrow().status()).isEqualTo(RequestStatus.CANCELED_NO_CAPACITY);
+        assertThat(matchedGroupArchiveRepository.findById(groupId)).isPresent();
+
+        // 4. 다시 실행해도 옮길 것이 없음
+        assertThat(archiver.archive(oldTime.plusDays(10)).requests()).isZero();
+    }
+}
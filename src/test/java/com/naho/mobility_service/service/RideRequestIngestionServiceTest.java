@@ -0,0 +1,97 @@
+package com.naho.mobility_service.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.naho.mobility_service.domain.GeoPoint;
+import com.naho.mobility_service.domain.IngestionStatus;
+import com.naho.mobility_service.domain.Region;
+import com.naho.mobility_service.domain.RideRequest;
+import com.naho.mobility_service.dto.IngestionStatusDto;
+import com.naho.mobility_service.dto.RideRequestDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RideRequestIngestionServiceTest {
+
+    private static final LocalDateTime TIME = LocalDateTime.of(2030, 1, 1, 23, 0);
+    private static final GeoPoint DONGTAN = new GeoPoint(37.2, 127.07);
+
+    private final RideRequestService rideRequestService = mock(RideRequestService.class);
+    private final GeocodingService geocodingService = mock(GeocodingService.class);
+    private final RegionResolver regionResolver = new RegionResolver(new ClassPathResource("regions.geojson"), new ObjectMapper(), false, 0.01);
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final CountDownLatch hang = new CountDownLatch(1);
+
+    private final RideRequestIngestionService service = new RideRequestIngestionService(rideRequestService, geocodingService,
+            regionResolver, executor, 10, 1, 10, Duration.ofHours(1), Duration.ofMillis(300));
+
+    @AfterEach
+    void stop() {
+        hang.countDown();
+        service.stopWorkers();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void hangingGeocodeFailsOnlyItsOwnRequestAfterTimeout() throws InterruptedException {
+        AtomicLong ids = new AtomicLong();
+        when(rideRequestService.saveRideRequests(anyList())).thenAnswer(invocation -> {
+            List<RideRequest> requests = invocation.getArgument(0);
+            requests.forEach(request -> ReflectionTestUtils.setField(request, "id", ids.incrementAndGet()));
+            return requests;
+        });
+        when(geocodingService.geocode("동탄역")).thenReturn(DONGTAN);
+        when(geocodingService.geocode("응답 없는 주소")).thenAnswer(invocation -> {
+            hang.await();
+            return DONGTAN;
+        });
+
+        // 워커가 시작되기 전에 넣어서 두 요청이 같은 배치로 처리되게 함
+        String hanging = service.submit(new RideRequestDto(Region.DONGTAN, "응답 없는 주소", TIME)).orElseThrow().trackingId();
+        String normal = service.submit(new RideRequestDto(Region.DONGTAN, "동탄역", TIME)).orElseThrow().trackingId();
+        service.startWorkers();
+
+        IngestionStatusDto failed = awaitFinished(hanging);
+        assertThat(failed.status()).isEqualTo(IngestionStatus.GEOCODING_FAILED);
+        assertThat(failed.message()).contains("300ms");
+        IngestionStatusDto completed = awaitFinished(normal);
+        assertThat(completed.status()).isEqualTo(IngestionStatus.COMPLETED);
+        assertThat(completed.rideRequestId()).isEqualTo(1L);
+    }
+
+    @Test
+    void rejectsWhenQueueIsFull() {
+        // 워커를 시작하지 않아 큐가 비워지지 않음
+        for (int i = 0; i < 10; i++) {
+            assertThat(service.submit(new RideRequestDto(Region.DONGTAN, "동탄역", TIME))).isPresent();
+        }
+
+        assertThat(service.submit(new RideRequestDto(Region.DONGTAN, "동탄역", TIME))).isEmpty();
+    }
+
+    // QUEUED/GEOCODING이 아닌 상태가 될 때까지 기다림 (지오코딩 제한 시간보다 충분히 길게)
+    private IngestionStatusDto awaitFinished(String trackingId) throws InterruptedException {
+        for (int i = 0; i < 500; i++) {
+            IngestionStatusDto status = service.getStatus(trackingId).orElseThrow();
+            if (status.status() != IngestionStatus.QUEUED && status.status() != IngestionStatus.GEOCODING) {
+                return status;
+            }
+            Thread.sleep(10);
+        }
+        throw new AssertionError("접수 처리가 끝나지 않았습니다: " + trackingId);
+    }
+}
@@ -0,0 +1,123 @@
+package com.naho.mobility_service.service;
+
+import com.naho.mobility_service.domain.VehicleRoute;
+import com.naho.mobility_service.domain.VirtualStop;
+import com.naho.mobility_service.util.GeoUtils;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RouteSequencerTest {
+
+    private static final double ORIGIN_LAT = 37.5665;
+    private static final double ORIGIN_LNG = 126.9780;
+
+    @Test
+    void routeIsCloseToOptimalForSmallGroups() {
+        RouteSequencer sequencer = new RouteSequencer(100, ORIGIN_LAT, ORIGIN_LNG);
+        Random random = new Random(7);
+
+        for (int trial = 0; trial < 100; trial++) {
+            List<VirtualStop> stops = randomStops(random, 2 + random.nextInt(7));
+            int[] demands = new int[stops.size()];
+            Arrays.fill(demands, 1);
+
+            List<VehicleRoute> routes = sequencer.sequence(stops, demands);
+
+            assertThat(routes).hasSize(1);
+            assertThat(routes.get(0).distanceMeters()).isLessThanOrEqualTo(optimalDistance(stops) * 1.02); // 최적 경로의 2% 이내
+        }
+    }
+
+    @Test
+    void splitsGroupsOverCapacityWithoutLosingPassengers() {
+        int capacity = 15;
+        RouteSequencer sequencer = new RouteSequencer(capacity, ORIGIN_LAT, ORIGIN_LNG);
+        Random random = new Random(11);
+        List<VirtualStop> stops = randomStops(random, 500);
+        int[] demands = new int[stops.size()];
+        for (int s = 0; s < demands.length; s++) {
+            demands[s] = 1 + random.nextInt(s % 50 == 0 ? 40 : 3); // 몇몇 정류장은 한 대에 다 못 탐
+        }
+
+        List<VehicleRoute> routes = sequencer.sequence(stops, demands);
+
+        int total = Arrays.stream(demands).sum();
+        int minimumLoad = total / routes.size();
+        int[] served = new int[stops.size()];
+        for (VehicleRoute route : routes) {
+            assertThat(route.passengerCount()).isBetween(minimumLoad, minimumLoad + 1).isLessThanOrEqualTo(capacity);
+            for (int k = 0; k < route.stopOrder().length; k++) {
+                served[route.stopOrder()[k]] += route.dropOffs()[k];
+            }
+        }
+        assertThat(served).containsExactly(demands);
+        assertThat(routes).hasSize((total + capacity - 1) / capacity);
+    }
+
+    @Test
+    void splitsPassengersEvenlyInsteadOfLeavingTrailingVehicle() {
+        RouteSequencer sequencer = new RouteSequencer(15, ORIGIN_LAT, ORIGIN_LNG);
+        List<VirtualStop> stops = randomStops(new Random(1), 16);
+        int[] demands = new int[stops.size()];
+        Arrays.fill(demands, 1);
+
+        // 16명: 15명 + 1명(최소 인원 미달)이 아니라 8명 + 8명
+        assertThat(sequencer.sequence(stops, demands)).extracting(VehicleRoute::passengerCount).containsExactly(8, 8);
+        // 한 정류장에 16명이 몰려 있어도 같음
+        assertThat(sequencer.sequence(stops.subList(0, 1), new int[]{16})).extracting(VehicleRoute::passengerCount).containsExactly(8, 8);
+    }
+
+    @Test
+    void returnsNoRoutesForEmptyGroup() {
+        assertThat(new RouteSequencer(15, ORIGIN_LAT, ORIGIN_LNG).sequence(List.of(), new int[0])).isEmpty();
+    }
+
+    private static List<VirtualStop> randomStops(Random random, int count) {
+        List<VirtualStop> stops = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            stops.add(new VirtualStop(37.2 + random.nextDouble() * 0.1, 127.0 + random.nextDouble() * 0.1));
+        }
+        return stops;
+    }
+
+    // 모든 방문 순서를 시도해서 구한 최단 거리 (정류장 8개 이하에서만 사용)
+    private static double optimalDistance(List<VirtualStop> stops) {
+        int[] order = new int[stops.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        return permute(stops, order, 0, Double.MAX_VALUE);
+    }
+
+    private static double permute(List<VirtualStop> stops, int[] order, int k, double best) {
+        if (k == order.length) {
+            double length = 0;
+            double lat = ORIGIN_LAT;
+            double lng = ORIGIN_LNG;
+            for (int s : order) {
+                length += GeoUtils.haversineMeters(lat, lng, stops.get(s).lat(), stops.get(s).lng());
+                lat = stops.get(s).lat();
+                lng = stops.get(s).lng();
+            }
+            return Math.min(best, length);
+        }
+        for (int i = k; i < order.length; i++) {
+            swap(order, k, i);
+            best = permute(stops, order, k + 1, best);
+            swap(order, k, i);
+        }
+        return best;
+    }
+
+    private static void swap(int[] order, int i, int j) {
+        int temp = order[i];
+        order[i] = order[j];
+        order[j] = temp;
+    }
+}
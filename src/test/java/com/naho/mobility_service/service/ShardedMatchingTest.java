@@ -0,0 +1,125 @@
+package com.naho.mobility_service.service;
+
+import com.naho.mobility_service.MobilityServiceApplication;
+import com.naho.mobility_service.domain.MatchedGroup;
+import com.naho.mobility_service.domain.Region;
+import com.naho.mobility_service.domain.RequestStatus;
+import com.naho.mobility_service.domain.RideRequest;
+import com.naho.mobility_service.dto.RegionMatchResult;
+import com.naho.mobility_service.repository.MatchedGroupRepository;
+import com.naho.mobility_service.repository.RideRequestRepository;
+import com.naho.mobility_service.util.SyntheticRequestGenerator;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 같은 H2 DB를 공유하는 애플리케이션 인스턴스 3개를 띄워 권역 샤딩 매칭을 확인합니다.
+ */
+class ShardedMatchingTest {
+
+    private static final int REQUESTS_PER_REGION = 20;
+
+    private static final List<ConfigurableApplicationContext> nodes = new ArrayList<>();
+
+    @BeforeAll
+    static void startNodes() {
+        for (String nodeId : List.of("node-a", "node-b", "node-c")) {
+            nodes.add(new SpringApplicationBuilder(MobilityServiceApplication.class)
+                    .web(WebApplicationType.NONE)
+                    .properties(
+                            "spring.datasource.url=jdbc:h2:mem:sharded-matching;DB_CLOSE_DELAY=-1",
+                            "spring.jpa.hibernate.ddl-auto=update",
+                            "mobility-app.matching.cron=-",
+                            "mobility-app.dataloader.enabled=false",
+                            "mobility-app.cluster.enabled=true",
+                            "mobility-app.cluster.node-id=" + nodeId,
+                            "mobility-app.cluster.heartbeat-interval-ms=3600000", // 하트비트는 테스트에서 직접 호출
+                            "mobility-app.cluster.takeover-delay=500ms")
+                    .run());
+        }
+    }
+
+    @AfterAll
+    static void stopNodes() {
+        nodes.forEach(ConfigurableApplicationContext::close);
+    }
+
+    @Test
+    void everyRegionIsMatchedExactlyOnceAcrossNodes() {
+        LocalDateTime centralTime = LocalDateTime.of(2030, 1, 1, 23, 0);
+        List<Long> ids = seed(centralTime);
+        nodes.forEach(node -> node.getBean(ClusterCoordinator.class).heartbeat());
+
+        // 세 노드가 같은 매칭 창을 동시에 실행
+        List<CompletableFuture<List<RegionMatchResult>>> runs = nodes.stream()
+                .map(node -> CompletableFuture.supplyAsync(
+                        () -> node.getBean(MatchingService.class).runConsolidatedMatching(centralTime)))
+                .toList();
+        List<List<RegionMatchResult>> resultsByNode = runs.stream().map(CompletableFuture::join).toList();
+
+        assertMatchedExactlyOnce(ids, centralTime, resultsByNode.stream().flatMap(List::stream).toList());
+        // 권역이 한 노드에 몰리지 않고 나누어 처리됨
+        assertThat(resultsByNode.stream().filter(results -> !results.isEmpty()).count()).isGreaterThan(1);
+    }
+
+    @Test
+    void regionsOfSilentNodeAreTakenOver() {
+        LocalDateTime centralTime = LocalDateTime.of(2030, 1, 2, 23, 0);
+        List<Long> ids = seed(centralTime);
+        nodes.forEach(node -> node.getBean(ClusterCoordinator.class).heartbeat());
+
+        // node-c는 하트비트만 남긴 채 매칭을 실행하지 않음 (매칭 직전에 멈춘 노드)
+        ClusterCoordinator silent = nodes.get(2).getBean(ClusterCoordinator.class);
+        List<String> liveNodes = silent.liveNodes();
+        assertThat(Region.values()).anyMatch(region -> silent.isPreferredOwner(region, liveNodes));
+
+        List<CompletableFuture<List<RegionMatchResult>>> runs = nodes.subList(0, 2).stream()
+                .map(node -> CompletableFuture.supplyAsync(
+                        () -> node.getBean(MatchingService.class).runConsolidatedMatching(centralTime)))
+                .toList();
+
+        assertMatchedExactlyOnce(ids, centralTime, runs.stream().map(CompletableFuture::join).flatMap(List::stream).toList());
+    }
+
+    private List<Long> seed(LocalDateTime centralTime) {
+        RideRequestRepository repository = nodes.get(0).getBean(RideRequestRepository.class);
+        SyntheticRequestGenerator generator = new SyntheticRequestGenerator(centralTime.getDayOfMonth());
+        List<RideRequest> requests = new ArrayList<>();
+        for (Region region : Region.values()) {
+            requests.addAll(SyntheticRequestGenerator.toRideRequests(
+                    generator.generate(region, REQUESTS_PER_REGION, SyntheticRequestGenerator.Distribution.HOTSPOT, centralTime)));
+        }
+        return repository.saveAll(requests).stream().map(RideRequest::getId).toList();
+    }
+
+    private void assertMatchedExactlyOnce(List<Long> ids, LocalDateTime centralTime, List<RegionMatchResult> results) {
+        // 1. 모든 권역이 정확히 한 노드에서 한 번씩 처리됨
+        assertThat(results).noneMatch(RegionMatchResult::isFailed);
+        Map<Region, Long> runsByRegion = results.stream()
+                .collect(Collectors.groupingBy(RegionMatchResult::region, Collectors.counting()));
+        assertThat(runsByRegion).hasSize(Region.values().length).allSatisfy((region, count) -> assertThat(count).isEqualTo(1));
+
+        // 2. 모든 요청이 MATCHED이고, 배차된 차량들의 인원 합이 요청 수와 같음 (중복 배정 없음)
+        RideRequestRepository repository = nodes.get(0).getBean(RideRequestRepository.class);
+        assertThat(repository.findAllById(ids)).extracting(RideRequest::getStatus).containsOnly(RequestStatus.MATCHED);
+        int passengers = nodes.get(0).getBean(MatchedGroupRepository.class).findAll().stream()
+                .filter(group -> !group.getFinalDepartureTime().isBefore(centralTime.minusMinutes(30))
+                        && !group.getFinalDepartureTime().isAfter(centralTime.plusMinutes(30)))
+                .mapToInt(MatchedGroup::getPassengerCount)
+                .sum();
+        assertThat(passengers).isEqualTo(ids.size());
+    }
+}
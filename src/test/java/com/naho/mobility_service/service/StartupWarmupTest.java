@@ -0,0 +1,66 @@
+package com.naho.mobility_service.service;
+
+import com.naho.mobility_service.domain.MatchingCandidate;
+import com.naho.mobility_service.domain.Region;
+import com.naho.mobility_service.repository.RideRequestRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+
+class StartupWarmupTest {
+
+    private final RideRequestRepository repository = mock(RideRequestRepository.class);
+    private final PendingRequestIndex index = new PendingRequestIndex(repository);
+    private final StartupWarmup warmup = new StartupWarmup(mock(GeocodingService.class), index,
+            new GridDbscanClusterer(200, 1), new RouteSequencer(15, 37.5665, 126.9780), true);
+
+    @Test
+    void failedBackgroundRebuildDoesNotBlockMatchingAndIsRetried() throws InterruptedException {
+        // 1. 백그라운드 재구성이 DB 오류로 실패
+        doThrow(new IllegalStateException("DB 연결 실패"))
+                .when(repository).forEachCandidateChunk(any(), any(), any(), anyInt(), any());
+        warmup.onApplicationReady();
+        awaitFailure();
+
+        // 2. 매칭은 timeout(5분)까지 기다리지 않고 다시 시도한 재구성의 실패로 바로 끝남
+        long startNanos = System.nanoTime();
+        assertThatThrownBy(() -> index.awaitRebuilt(Duration.ofMinutes(5)))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(Duration.ofNanos(System.nanoTime() - startNanos)).isLessThan(Duration.ofSeconds(5));
+        assertThat(index.isRebuilt()).isFalse();
+
+        // 3. DB가 돌아오면 다음 매칭 실행이 재구성에 성공
+        MatchingCandidate candidate = new MatchingCandidate(1L, Region.SUWON, LocalDateTime.now().plusHours(3), 37.263, 127.028);
+        doAnswer(invocation -> {
+            Consumer<List<MatchingCandidate>> consumer = invocation.getArgument(4);
+            consumer.accept(List.of(candidate));
+            return null;
+        }).when(repository).forEachCandidateChunk(any(), any(), any(), anyInt(), any());
+
+        index.awaitRebuilt(Duration.ofMinutes(5));
+        assertThat(index.isRebuilt()).isTrue();
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    // 가상 스레드의 재구성이 실패로 끝날 때까지 기다림
+    private void awaitFailure() throws InterruptedException {
+        for (int i = 0; i < 500; i++) {
+            if (index.isRebuildFailed()) {
+                return;
+            }
+            Thread.sleep(10);
+        }
+        throw new AssertionError("백그라운드 재구성이 끝나지 않았습니다.");
+    }
+}
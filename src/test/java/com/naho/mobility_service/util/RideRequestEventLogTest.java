@@ -0,0 +1,81 @@
+package com.naho.mobility_service.util;
+
+import com.naho.mobility_service.domain.Region;
+import com.naho.mobility_service.util.RideRequestEventLog.Event;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RideRequestEventLogTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void binaryAndCsvLogsReadBackAcrossMappedSegments() throws IOException {
+        List<Event> events = events(500);
+        Path binary = dir.resolve("demand.bin");
+        try (RideRequestEventLog.Writer writer = RideRequestEventLog.writer(binary)) {
+            events.forEach(writer::append);
+        }
+        StringBuilder csv = new StringBuilder("submitted_at,requested_time,region,lat,lng\n");
+        for (Event event : events) {
+            csv.append(event.submittedAt()).append(',').append(event.requestedTime()).append(',')
+                    .append(event.region() == null ? "" : event.region().name()).append(',')
+                    .append(event.lat()).append(',').append(event.lng()).append("\r\n");
+        }
+        Path csvPath = Files.writeString(dir.resolve("demand.csv"), csv);
+
+        // 작은 segment로 읽어서 레코드/줄이 매핑 구간 경계에 걸치는 경우도 확인
+        for (long segmentBytes : new long[]{1000, 1 << 20}) {
+            assertThat(readAll(binary, segmentBytes)).containsExactlyElementsOf(events);
+            assertThat(readAll(csvPath, segmentBytes)).containsExactlyElementsOf(events);
+        }
+        try (RideRequestEventLog log = RideRequestEventLog.open(binary)) {
+            assertThat(log.isBinary()).isTrue();
+        }
+    }
+
+    @Test
+    void rejectsUnsortedAndMalformedLogs() throws IOException {
+        Path unsorted = Files.writeString(dir.resolve("unsorted.csv"), """
+                2024-05-01T05:00,2024-05-01T09:00,SUWON,37.26,127.02
+                2024-05-01T04:00,2024-05-01T09:00,SUWON,37.26,127.02
+                """);
+        Path malformed = Files.writeString(dir.resolve("malformed.csv"), "2024-05-01T05:00,2024-05-01T09:00,SUWON\n");
+
+        assertThatThrownBy(() -> readAll(unsorted, 1 << 20)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> readAll(malformed, 1 << 20)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static List<Event> events(int count) {
+        List<Event> events = new ArrayList<>(count);
+        LocalDateTime start = LocalDateTime.of(2024, 5, 1, 5, 0);
+        Region[] regions = Region.values();
+        for (int i = 0; i < count; i++) {
+            LocalDateTime submittedAt = start.plusSeconds(i * 7L);
+            Region region = i % 10 == 0 ? null : regions[i % regions.length];
+            events.add(new Event(submittedAt, submittedAt.plusHours(4), region, 37.0 + i * 1e-4, 127.0 - i * 1e-4));
+        }
+        return events;
+    }
+
+    private static List<Event> readAll(Path path, long segmentBytes) {
+        List<Event> events = new ArrayList<>();
+        try (RideRequestEventLog log = RideRequestEventLog.open(path, segmentBytes)) {
+            while (log.hasNext()) {
+                events.add(log.next());
+            }
+        }
+        return events;
+    }
+}